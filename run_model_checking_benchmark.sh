@@ -0,0 +1,9 @@
+#!/bin/bash
+
+mvn compile
+
+for i in {1..10}
+do
+	echo "Starting benchmark run $i"
+	mvn exec:java -Dexec.mainClass="de.rwth.i2.attestor.phases.modelChecking.benchmark.ModelCheckingBenchmarkRunner" > /dev/null 2>&1
+done
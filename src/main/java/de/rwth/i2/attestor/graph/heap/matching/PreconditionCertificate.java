@@ -0,0 +1,186 @@
+package de.rwth.i2.attestor.graph.heap.matching;
+
+import de.rwth.i2.attestor.graph.SelectorLabel;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.TIntIntMap;
+import gnu.trove.map.hash.TIntIntHashMap;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An isomorphism invariant of heap configurations that is compatible with {@link PreconditionChecker}, i.e.
+ * heap configurations that match each other always have equal certificates.
+ * <br>
+ * Certificates are computed by color refinement: Every node is initially colored by its type, whether it is
+ * external and the variables attached to it. Afterwards, every node is repeatedly recolored by the colors of its
+ * neighbours with respect to selectors and nonterminal edges until the number of colors does not increase anymore.
+ * The certificate is the resulting multiset of colors. Distinct heap configurations sharing a certificate are rare,
+ * but possible. Hence, a matching has to be confirmed by a {@link PreconditionChecker}.
+ */
+public final class PreconditionCertificate {
+
+    private static final int MAX_ROUNDS = 8;
+
+    private final int numberOfNodes;
+    private final int numberOfNonterminalEdges;
+    private final int numberOfVariables;
+    private final long hash;
+
+    private PreconditionCertificate(int numberOfNodes, int numberOfNonterminalEdges, int numberOfVariables,
+                                    long hash) {
+
+        this.numberOfNodes = numberOfNodes;
+        this.numberOfNonterminalEdges = numberOfNonterminalEdges;
+        this.numberOfVariables = numberOfVariables;
+        this.hash = hash;
+    }
+
+    /**
+     * @param heap A heap configuration.
+     * @return The certificate of the given heap configuration.
+     */
+    public static PreconditionCertificate of(HeapConfiguration heap) {
+
+        TIntArrayList nodes = heap.nodes();
+        int size = nodes.size();
+        TIntIntMap nodeIndex = new TIntIntHashMap(size);
+        for (int i = 0; i < size; i++) {
+            nodeIndex.put(nodes.get(i), i);
+        }
+
+        long[] colors = new long[size];
+        for (int i = 0; i < size; i++) {
+            int node = nodes.get(i);
+            long color = mix(heap.nodeTypeOf(node).toString().hashCode(), heap.isExternalNode(node) ? 1 : 0);
+            long variables = 0;
+            TIntArrayList attachedVariables = heap.attachedVariablesOf(node);
+            for (int v = 0; v < attachedVariables.size(); v++) {
+                variables += mix(heap.nameOf(attachedVariables.get(v)).hashCode(), 0);
+            }
+            colors[i] = mix(color, variables);
+        }
+
+        TIntArrayList ntEdges = heap.nonterminalEdges();
+        long[] edgeLabels = new long[ntEdges.size()];
+        int[][] tentacles = new int[ntEdges.size()][];
+        for (int e = 0; e < ntEdges.size(); e++) {
+            int edge = ntEdges.get(e);
+            edgeLabels[e] = mix(heap.labelOf(edge).getLabel().hashCode(), heap.labelOf(edge).getRank());
+            TIntArrayList attachedNodes = heap.attachedNodesOf(edge);
+            tentacles[e] = new int[attachedNodes.size()];
+            for (int t = 0; t < attachedNodes.size(); t++) {
+                tentacles[e][t] = nodeIndex.get(attachedNodes.get(t));
+            }
+        }
+
+        int[][] selectorTargets = new int[size][];
+        long[][] selectorLabels = new long[size][];
+        for (int i = 0; i < size; i++) {
+            int node = nodes.get(i);
+            List<SelectorLabel> selectors = heap.selectorLabelsOf(node);
+            selectorTargets[i] = new int[selectors.size()];
+            selectorLabels[i] = new long[selectors.size()];
+            for (int s = 0; s < selectors.size(); s++) {
+                SelectorLabel selector = selectors.get(s);
+                selectorTargets[i][s] = nodeIndex.get(heap.selectorTargetOf(node, selector));
+                selectorLabels[i][s] = selector.getLabel().hashCode();
+            }
+        }
+
+        long[] edgeColors = new long[ntEdges.size()];
+        int numberOfColors = countDistinct(colors);
+        for (int round = 0; round < MAX_ROUNDS; round++) {
+
+            long[] neighbourhoods = new long[size];
+            for (int i = 0; i < size; i++) {
+                for (int s = 0; s < selectorTargets[i].length; s++) {
+                    int target = selectorTargets[i][s];
+                    neighbourhoods[i] += mix(mix(selectorLabels[i][s], colors[target]), 1);
+                    neighbourhoods[target] += mix(mix(selectorLabels[i][s], colors[i]), 2);
+                }
+            }
+            for (int e = 0; e < tentacles.length; e++) {
+                long edgeColor = edgeLabels[e];
+                for (int node : tentacles[e]) {
+                    edgeColor = mix(edgeColor, colors[node]);
+                }
+                edgeColors[e] = edgeColor;
+                for (int t = 0; t < tentacles[e].length; t++) {
+                    neighbourhoods[tentacles[e][t]] += mix(mix(edgeColor, t), 3);
+                }
+            }
+
+            for (int i = 0; i < size; i++) {
+                colors[i] = mix(colors[i], neighbourhoods[i]);
+            }
+
+            int newNumberOfColors = countDistinct(colors);
+            if (newNumberOfColors == numberOfColors) {
+                break;
+            }
+            numberOfColors = newNumberOfColors;
+        }
+
+        long hash = mix(size, ntEdges.size());
+        long[] sortedColors = colors.clone();
+        Arrays.sort(sortedColors);
+        for (long color : sortedColors) {
+            hash = mix(hash, color);
+        }
+        long[] sortedEdgeColors = edgeColors.clone();
+        Arrays.sort(sortedEdgeColors);
+        for (long edgeColor : sortedEdgeColors) {
+            hash = mix(hash, edgeColor);
+        }
+
+        return new PreconditionCertificate(size, ntEdges.size(), heap.countVariableEdges(), hash);
+    }
+
+    private static int countDistinct(long[] colors) {
+
+        if (colors.length == 0) {
+            return 0;
+        }
+        long[] sorted = colors.clone();
+        Arrays.sort(sorted);
+        int result = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] != sorted[i - 1]) {
+                ++result;
+            }
+        }
+        return result;
+    }
+
+    private static long mix(long first, long second) {
+
+        long z = first * 0x9E3779B97F4A7C15L + second;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    @Override
+    public boolean equals(Object other) {
+
+        if (this == other) {
+            return true;
+        }
+        if (other == null || other.getClass() != PreconditionCertificate.class) {
+            return false;
+        }
+        PreconditionCertificate certificate = (PreconditionCertificate) other;
+        return hash == certificate.hash
+                && numberOfNodes == certificate.numberOfNodes
+                && numberOfNonterminalEdges == certificate.numberOfNonterminalEdges
+                && numberOfVariables == certificate.numberOfVariables;
+    }
+}
@@ -4,7 +4,7 @@ import de.rwth.i2.attestor.stateSpaceGeneration.Program;
 import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
 import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
 import de.rwth.i2.attestor.stateSpaceGeneration.StateSpaceExporter;
-import gnu.trove.iterator.TIntIterator;
+import de.rwth.i2.attestor.stateSpaceGeneration.TransitionRelation;
 import gnu.trove.map.TIntIntMap;
 import gnu.trove.map.hash.TIntIntHashMap;
 import gnu.trove.set.TIntSet;
@@ -103,25 +103,15 @@ public class JsonStateSpaceExporter implements StateSpaceExporter {
 
     private void computeNumberOfIncomingEdges() {
 
+        TransitionRelation controlFlow = stateSpace.getControlFlowTransitions();
+        TransitionRelation materialization = stateSpace.getMaterializationTransitions();
         for (ProgramState s : states) {
             int id = s.getStateSpaceId();
-            TIntIterator iterator = stateSpace.getControlFlowSuccessorsIdsOf(id).iterator();
-            while (iterator.hasNext()) {
-                int successorId = iterator.next();
-                if (incomingEdgesOfStates.containsKey(successorId)) {
-                    incomingEdgesOfStates.put(successorId, incomingEdgesOfStates.get(successorId) + 1);
-                } else {
-                    incomingEdgesOfStates.put(successorId, 1);
-                }
+            for (int i = controlFlow.begin(id); i < controlFlow.end(id); i++) {
+                incomingEdgesOfStates.adjustOrPutValue(controlFlow.target(i), 1, 1);
             }
-            iterator = stateSpace.getMaterializationSuccessorsIdsOf(id).iterator();
-            while (iterator.hasNext()) {
-                int successorId = iterator.next();
-                if (incomingEdgesOfStates.containsKey(successorId)) {
-                    incomingEdgesOfStates.put(successorId, incomingEdgesOfStates.get(successorId) + 1);
-                } else {
-                    incomingEdgesOfStates.put(successorId, 1);
-                }
+            for (int i = materialization.begin(id); i < materialization.end(id); i++) {
+                incomingEdgesOfStates.adjustOrPutValue(materialization.target(i), 1, 1);
             }
         }
     }
@@ -156,11 +146,12 @@ public class JsonStateSpaceExporter implements StateSpaceExporter {
 
     private void addStateSpaceEdges(JSONWriter jsonWriter) {
 
+        TransitionRelation controlFlow = stateSpace.getControlFlowTransitions();
+        TransitionRelation materialization = stateSpace.getMaterializationTransitions();
         for (ProgramState predecessorState : states) {
             int source = predecessorState.getStateSpaceId();
-            TIntIterator successorIterator = stateSpace.getControlFlowSuccessorsIdsOf(source).iterator();
-            while (successorIterator.hasNext()) {
-                int target = successorIterator.next();
+            for (int i = controlFlow.begin(source); i < controlFlow.end(source); i++) {
+                int target = controlFlow.target(i);
                 String label = "";
                 String type = "execution";
 
@@ -171,9 +162,8 @@ public class JsonStateSpaceExporter implements StateSpaceExporter {
                         .key("label").value(label)
                         .endObject().endObject();
             }
-            successorIterator = stateSpace.getMaterializationSuccessorsIdsOf(source).iterator();
-            while (successorIterator.hasNext()) {
-                int target = successorIterator.next();
+            for (int i = materialization.begin(source); i < materialization.end(source); i++) {
+                int target = materialization.target(i);
                 String label = "";
                 String type = "materialization";
 
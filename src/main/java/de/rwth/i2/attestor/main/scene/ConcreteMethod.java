@@ -82,6 +82,10 @@ class ConcreteMethod implements Method {
     @Override
     public MethodExecutor getMethodExecutor() {
 
+        MethodExecutor overlaidExecutor = MethodExecutorOverlay.lookup(this);
+        if (overlaidExecutor != null) {
+            return overlaidExecutor;
+        }
         assert executor != null;
         return executor;
     }
@@ -35,13 +35,13 @@ public class DefaultScene implements Scene {
     private long totalNumberOfStates = 0;
 
     @Override
-    public Type getType(String name) {
+    public synchronized Type getType(String name) {
 
         return typeFactory.get(name);
     }
 
     @Override
-    public SelectorLabel getSelectorLabel(String name) {
+    public synchronized SelectorLabel getSelectorLabel(String name) {
 
         if (options.isIndexedMode()) {
             SelectorLabel sel = basicSelectorLabelFactory.get(name);
@@ -52,7 +52,7 @@ public class DefaultScene implements Scene {
     }
 
     @Override
-    public Nonterminal getNonterminal(String name) {
+    public synchronized Nonterminal getNonterminal(String name) {
 
         // note that we *never* return IndexedNonterminal here as these are created using a
         // BasicNonterminal which is obtained using this method.
@@ -67,7 +67,7 @@ public class DefaultScene implements Scene {
     }
 
     @Override
-    public Nonterminal createNonterminal(String label, int rank, boolean[] isReductionTentacle) {
+    public synchronized Nonterminal createNonterminal(String label, int rank, boolean[] isReductionTentacle) {
 
         // note that we *never* return IndexedNonterminal here as these are created using a
         // BasicNonterminal which is obtained using this method.
@@ -142,13 +142,13 @@ public class DefaultScene implements Scene {
     }
 
     @Override
-    public void addNumberOfGeneratedStates(int states) {
+    public synchronized void addNumberOfGeneratedStates(int states) {
 
         totalNumberOfStates += states;
     }
 
     @Override
-    public long getNumberOfGeneratedStates() {
+    public synchronized long getNumberOfGeneratedStates() {
 
         return totalNumberOfStates;
     }
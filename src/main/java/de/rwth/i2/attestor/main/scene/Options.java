@@ -50,10 +50,87 @@ public class Options {
 
     private boolean canonicalEnabled = false;
 
+    /**
+     * If enabled, states within basic blocks of procedure state spaces are not stored.
+     */
+    private boolean straightLineCompressionEnabled = false;
+
+    /**
+     * If enabled, states of procedure state spaces that are subsumed by more abstract states are discarded
+     * during state space generation.
+     */
+    private boolean stateSubsumptionEnabled = false;
+
     private int maxStateSpace = 5000;
 
     private int maxHeap = 50;
 
+    /**
+     * The maximal number of explored states per state space that are kept in memory.
+     * Further explored states are written to disk. A value of 0 keeps all states in memory.
+     */
+    private int maxResidentStates = 0;
+
+    /**
+     * The file to which contracts computed so far are saved periodically. If null, no checkpoints are written.
+     */
+    private String checkpointPath = null;
+
+    private int checkpointInterval = 300;
+
+    /**
+     * If enabled, the contracts stored in the checkpoint file are restored before the analysis starts.
+     */
+    private boolean resumeEnabled = false;
+
+    /**
+     * The maximal percentage of the JVM heap that may be used before state space generation is aborted.
+     * A value of 0 disables this limit.
+     */
+    private int memoryBudget = 0;
+
+    /**
+     * The maximal time in seconds of the whole analysis. A value of 0 disables this limit.
+     */
+    private int timeBudget = 0;
+
+    /**
+     * The maximal time in seconds of a single state space generation. A value of 0 disables this limit.
+     */
+    private int callTimeBudget = 0;
+
+    /**
+     * The number of threads executing procedure calls of the interprocedural analysis concurrently.
+     */
+    private int analysisThreads = 1;
+
+    /**
+     * The number of threads checking LTL formulae concurrently.
+     */
+    private int modelCheckingThreads = 1;
+
+    /**
+     * The number of threads generating counterexamples for violated LTL formulae concurrently.
+     */
+    private int counterexampleThreads = 1;
+
+    /**
+     * If enabled, the top-level state space is repeatedly model checked while it is generated and the analysis
+     * stops as soon as a violated LTL formula is found.
+     */
+    private boolean onTheFlyModelCheckingEnabled = false;
+
+    /**
+     * If enabled, LTL formulae are checked by translating their negation into Buchi automata and searching
+     * the product with the state space for accepting cycles instead of building proof structures.
+     */
+    private boolean automataModelCheckingEnabled = false;
+
+    /**
+     * The file in which contracts are stored across several runs or null if contracts are not stored.
+     */
+    private String contractDatabasePath = null;
+
     // -----------------------------------------------------------------------------------
 
     public void setPostProcessingEnabled(boolean enabled) {
@@ -111,6 +188,16 @@ public class Options {
     }
 
 
+    public void setStraightLineCompressionEnabled(boolean straightLineCompressionEnabled) {
+        this.straightLineCompressionEnabled = straightLineCompressionEnabled;
+    }
+
+
+    public void setStateSubsumptionEnabled(boolean stateSubsumptionEnabled) {
+        this.stateSubsumptionEnabled = stateSubsumptionEnabled;
+    }
+
+
     public void setMaxStateSpace(int maxStateSpace) {
         this.maxStateSpace = maxStateSpace;
     }
@@ -121,6 +208,71 @@ public class Options {
     }
 
 
+    public void setMaxResidentStates(int maxResidentStates) {
+        this.maxResidentStates = maxResidentStates;
+    }
+
+
+    public void setCheckpointPath(String checkpointPath) {
+        this.checkpointPath = checkpointPath;
+    }
+
+
+    public void setCheckpointInterval(int checkpointInterval) {
+        this.checkpointInterval = checkpointInterval;
+    }
+
+
+    public void setResumeEnabled(boolean resumeEnabled) {
+        this.resumeEnabled = resumeEnabled;
+    }
+
+
+    public void setMemoryBudget(int memoryBudget) {
+        this.memoryBudget = memoryBudget;
+    }
+
+
+    public void setTimeBudget(int timeBudget) {
+        this.timeBudget = timeBudget;
+    }
+
+
+    public void setCallTimeBudget(int callTimeBudget) {
+        this.callTimeBudget = callTimeBudget;
+    }
+
+
+    public void setAnalysisThreads(int analysisThreads) {
+        this.analysisThreads = analysisThreads;
+    }
+
+
+    public void setModelCheckingThreads(int modelCheckingThreads) {
+        this.modelCheckingThreads = modelCheckingThreads;
+    }
+
+
+    public void setCounterexampleThreads(int counterexampleThreads) {
+        this.counterexampleThreads = counterexampleThreads;
+    }
+
+
+    public void setOnTheFlyModelCheckingEnabled(boolean onTheFlyModelCheckingEnabled) {
+        this.onTheFlyModelCheckingEnabled = onTheFlyModelCheckingEnabled;
+    }
+
+
+    public void setAutomataModelCheckingEnabled(boolean automataModelCheckingEnabled) {
+        this.automataModelCheckingEnabled = automataModelCheckingEnabled;
+    }
+
+
+    public void setContractDatabasePath(String contractDatabasePath) {
+        this.contractDatabasePath = contractDatabasePath;
+    }
+
+
     public int getMaxStateSpace() {
         return maxStateSpace;
     }
@@ -129,6 +281,98 @@ public class Options {
         return maxHeap;
     }
 
+    public int getMaxResidentStates() {
+        return maxResidentStates;
+    }
+
+    public boolean isStateSpillingEnabled() {
+        return maxResidentStates > 0;
+    }
+
+    public String getCheckpointPath() {
+        return checkpointPath;
+    }
+
+    /**
+     * @return The minimal time between two checkpoints in seconds.
+     */
+    public int getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    public boolean isCheckpointEnabled() {
+        return checkpointPath != null;
+    }
+
+    public boolean isResumeEnabled() {
+        return resumeEnabled && checkpointPath != null;
+    }
+
+    /**
+     * @return The maximal percentage of the JVM heap that may be in use.
+     */
+    public int getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    /**
+     * @return The maximal time of the whole analysis in seconds.
+     */
+    public int getTimeBudget() {
+        return timeBudget;
+    }
+
+    /**
+     * @return The maximal time of a single state space generation in seconds.
+     */
+    public int getCallTimeBudget() {
+        return callTimeBudget;
+    }
+
+    public boolean isBudgetEnabled() {
+        return memoryBudget > 0 || timeBudget > 0 || callTimeBudget > 0;
+    }
+
+    public int getAnalysisThreads() {
+        return analysisThreads;
+    }
+
+    /**
+     * @return True if procedure calls are executed concurrently. This is not supported if states are spilled,
+     * because all state spaces share a single spill file.
+     */
+    public boolean isParallelAnalysisEnabled() {
+        return analysisThreads > 1 && !isStateSpillingEnabled();
+    }
+
+    public int getModelCheckingThreads() {
+        return modelCheckingThreads;
+    }
+
+    public int getCounterexampleThreads() {
+        return counterexampleThreads;
+    }
+
+    /**
+     * @return True if the top-level state space is model checked during its generation. This is not supported if
+     * states are spilled, because checking partial state spaces requires all of their states.
+     */
+    public boolean isOnTheFlyModelCheckingEnabled() {
+        return onTheFlyModelCheckingEnabled && !isStateSpillingEnabled();
+    }
+
+    public boolean isAutomataModelCheckingEnabled() {
+        return automataModelCheckingEnabled;
+    }
+
+    public String getContractDatabasePath() {
+        return contractDatabasePath;
+    }
+
+    public boolean isContractDatabaseEnabled() {
+        return contractDatabasePath != null;
+    }
+
     public boolean isRemoveDeadVariables() {
 
         return removeDeadVariables;
@@ -181,4 +425,12 @@ public class Options {
     public boolean isAdmissibleAbstractionEnabled() {
         return admissibleAbstractionEnabled;
     }
+
+    public boolean isStraightLineCompressionEnabled() {
+        return straightLineCompressionEnabled && !canonicalEnabled;
+    }
+
+    public boolean isStateSubsumptionEnabled() {
+        return stateSubsumptionEnabled && admissibleAbstractionEnabled;
+    }
 }
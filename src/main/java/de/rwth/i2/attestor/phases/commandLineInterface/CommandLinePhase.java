@@ -154,12 +154,57 @@ public class CommandLinePhase extends AbstractPhase
             case "no-garbage-collector":
                 noGarbageCollector();
                 break;
+            case "straight-line-compression":
+                straightLineCompression();
+                break;
+            case "state-subsumption":
+                stateSubsumption();
+                break;
             case "max-state-space":
                 maxStateSpace(option);
                 break;
             case "max-heap":
                 maxHeap(option);
                 break;
+            case "spill-states":
+                spillStates(option);
+                break;
+            case "checkpoint":
+                checkpoint(option);
+                break;
+            case "checkpoint-interval":
+                checkpointInterval(option);
+                break;
+            case "resume":
+                resume();
+                break;
+            case "memory-budget":
+                memoryBudget(option);
+                break;
+            case "time-budget":
+                timeBudget(option);
+                break;
+            case "call-time-budget":
+                callTimeBudget(option);
+                break;
+            case "analysis-threads":
+                analysisThreads(option);
+                break;
+            case "model-checking-threads":
+                modelCheckingThreads(option);
+                break;
+            case "counterexample-threads":
+                counterexampleThreads(option);
+                break;
+            case "on-the-fly-model-checking":
+                onTheFlyModelChecking();
+                break;
+            case "automata-model-checking":
+                automataModelChecking();
+                break;
+            case "contract-database":
+                contractDatabase(option);
+                break;
             case "export":
                 export(option);
                 break;
@@ -369,6 +414,18 @@ public class CommandLinePhase extends AbstractPhase
         scene().options().setGarbageCollectionEnabled(false);
     }
 
+    private void straightLineCompression() {
+
+        logger.info("enabled straight-line compression of procedure state spaces");
+        scene().options().setStraightLineCompressionEnabled(true);
+    }
+
+    private void stateSubsumption() {
+
+        logger.info("enabled subsumption checks during state space generation");
+        scene().options().setStateSubsumptionEnabled(true);
+    }
+
     private void maxStateSpace(Option option) {
 
         int size = Integer.valueOf(option.getValue());
@@ -383,6 +440,94 @@ public class CommandLinePhase extends AbstractPhase
         scene().options().setMaxHeap(size);
     }
 
+    private void spillStates(Option option) {
+
+        int size = Integer.valueOf(option.getValue());
+        logger.info("maximal number of resident states per state space: " + size);
+        scene().options().setMaxResidentStates(size);
+    }
+
+    private void checkpoint(Option option) {
+
+        String path = option.getValue();
+        logger.info("checkpoints will be saved in " + path);
+        scene().options().setCheckpointPath(path);
+    }
+
+    private void checkpointInterval(Option option) {
+
+        int seconds = Integer.valueOf(option.getValue());
+        logger.info("checkpoint interval: " + seconds + "s");
+        scene().options().setCheckpointInterval(seconds);
+    }
+
+    private void resume() {
+
+        logger.info("enabled resuming from last checkpoint");
+        scene().options().setResumeEnabled(true);
+    }
+
+    private void memoryBudget(Option option) {
+
+        int percent = Integer.valueOf(option.getValue());
+        logger.info("memory budget: " + percent + "% of the maximal heap size");
+        scene().options().setMemoryBudget(percent);
+    }
+
+    private void timeBudget(Option option) {
+
+        int seconds = Integer.valueOf(option.getValue());
+        logger.info("time budget: " + seconds + "s");
+        scene().options().setTimeBudget(seconds);
+    }
+
+    private void callTimeBudget(Option option) {
+
+        int seconds = Integer.valueOf(option.getValue());
+        logger.info("time budget per procedure call: " + seconds + "s");
+        scene().options().setCallTimeBudget(seconds);
+    }
+
+    private void analysisThreads(Option option) {
+
+        int threads = Integer.valueOf(option.getValue());
+        logger.info("number of threads executing procedure calls: " + threads);
+        scene().options().setAnalysisThreads(threads);
+    }
+
+    private void modelCheckingThreads(Option option) {
+
+        int threads = Integer.valueOf(option.getValue());
+        logger.info("number of threads checking LTL formulae: " + threads);
+        scene().options().setModelCheckingThreads(threads);
+    }
+
+    private void counterexampleThreads(Option option) {
+
+        int threads = Integer.valueOf(option.getValue());
+        logger.info("number of threads generating counterexamples: " + threads);
+        scene().options().setCounterexampleThreads(threads);
+    }
+
+    private void onTheFlyModelChecking() {
+
+        logger.info("enabled model checking during state space generation");
+        scene().options().setOnTheFlyModelCheckingEnabled(true);
+    }
+
+    private void automataModelChecking() {
+
+        logger.info("enabled automata-based model checking");
+        scene().options().setAutomataModelCheckingEnabled(true);
+    }
+
+    private void contractDatabase(Option option) {
+
+        String path = option.getValue();
+        logger.info("contracts will be stored in " + path);
+        scene().options().setContractDatabasePath(path);
+    }
+
     private void export(Option option) {
 
         String exportPath = option.getValue();
@@ -418,6 +418,31 @@ public class CommandLineReader {
                         .build()
         );
 
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("straight-line-compression")
+                        .desc("Program states that are located inside a basic block, i.e. a maximal sequence of " +
+                                "statements without branching, joins and procedure calls, are not stored in the " +
+                                "state spaces of procedure calls if they require no materialization. " +
+                                "Instead, the next statement is executed right away. " +
+                                "This reduces the size of generated state spaces and the required memory. " +
+                                "States of the top-level state space are always stored since they may be observed " +
+                                "by LTL specifications. " +
+                                "This option has no effect if --canonical is set.")
+                        .build()
+        );
+
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("state-subsumption")
+                        .desc("Program states that are subsumed by a more abstract state at the same program " +
+                                "location are discarded while state spaces are generated. " +
+                                "Transitions to discarded states are redirected to the subsuming state. " +
+                                "This option only has an effect if admissible abstraction is enabled and " +
+                                "is ignored if --spill-states is set.")
+                        .build()
+        );
+
         commandLineOptions.addOption(
                 Option.builder("ms")
                         .longOpt("max-state-space")
@@ -430,6 +455,155 @@ public class CommandLineReader {
         );
 
 
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("spill-states")
+                        .hasArg()
+                        .argName("integer")
+                        .desc("Determines the maximal number of explored program states per state space that are " +
+                                "kept in memory. Further explored states are written to a temporary file and " +
+                                "loaded again on demand. " +
+                                "By default, all program states are kept in memory.")
+                        .build()
+        );
+
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("checkpoint")
+                        .hasArg()
+                        .argName("file")
+                        .desc("Periodically saves all contracts computed by the interprocedural analysis " +
+                                "to the given file such that an interrupted analysis can be continued " +
+                                "using --resume. " +
+                                "Checkpoints are not supported in indexed mode or if grammar refinement is enabled.")
+                        .build()
+        );
+
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("checkpoint-interval")
+                        .hasArg()
+                        .argName("seconds")
+                        .desc("Determines the minimal time between two checkpoints written due to --checkpoint. " +
+                                "By default, a checkpoint is written every 300 seconds.")
+                        .build()
+        );
+
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("resume")
+                        .desc("Restores the contracts stored in the file determined by --checkpoint before " +
+                                "the analysis starts. All restored contracts are checked again, but procedure calls " +
+                                "covered by them are not analyzed from scratch.")
+                        .build()
+        );
+
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("memory-budget")
+                        .hasArg()
+                        .argName("percent")
+                        .desc("Aborts the state space generation of a procedure call whenever more than the " +
+                                "given percentage of the maximal JVM heap is in use. " +
+                                "The analysis continues with all other procedure calls; " +
+                                "model checking then yields unknown results.")
+                        .build()
+        );
+
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("time-budget")
+                        .hasArg()
+                        .argName("seconds")
+                        .desc("Aborts all state space generations once the whole analysis took longer than " +
+                                "the given number of seconds. " +
+                                "Model checking then yields unknown results.")
+                        .build()
+        );
+
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("call-time-budget")
+                        .hasArg()
+                        .argName("seconds")
+                        .desc("Aborts the state space generation of a procedure call that took longer than " +
+                                "the given number of seconds. " +
+                                "The analysis continues with all other procedure calls; " +
+                                "model checking then yields unknown results.")
+                        .build()
+        );
+
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("analysis-threads")
+                        .hasArg()
+                        .argName("integer")
+                        .desc("Determines the number of threads that execute independent procedure calls of " +
+                                "the interprocedural analysis concurrently. " +
+                                "The computed contracts do not depend on this number. " +
+                                "By default, all procedure calls are executed sequentially. " +
+                                "This option is ignored if --spill-states is set.")
+                        .build()
+        );
+
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("model-checking-threads")
+                        .hasArg()
+                        .argName("integer")
+                        .desc("Determines the number of threads that check the provided LTL formulae concurrently. " +
+                                "Results are reported in the order in which the formulae were provided. " +
+                                "By default, all formulae are checked sequentially.")
+                        .build()
+        );
+
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("counterexample-threads")
+                        .hasArg()
+                        .argName("integer")
+                        .desc("Determines the number of threads that generate counterexamples for violated " +
+                                "LTL formulae concurrently. " +
+                                "Counterexamples are reported in the order in which the formulae were provided. " +
+                                "By default, all counterexamples are generated sequentially.")
+                        .build()
+        );
+
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("on-the-fly-model-checking")
+                        .desc("Repeatedly checks the provided LTL formulae against the top-level state space " +
+                                "while it is generated. As soon as a formula is violated, the analysis stops and " +
+                                "the violation is reported together with a counterexample for the state space " +
+                                "generated so far. All other formulae then yield unknown results. " +
+                                "This option is ignored if --spill-states is set.")
+                        .build()
+        );
+
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("automata-model-checking")
+                        .desc("Checks the provided LTL formulae by translating their negation into Buchi automata " +
+                                "and searching the product with the state space for accepting cycles by a nested " +
+                                "depth-first search instead of building tableau proof structures.")
+                        .build()
+        );
+
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("contract-database")
+                        .hasArg()
+                        .argName("file")
+                        .desc("Stores all contracts computed by the interprocedural analysis in the given file " +
+                                "and restores them in later runs. Contracts of a method are only restored if " +
+                                "neither the method nor any method it may call, the grammar or the abstraction " +
+                                "changed. Procedure calls covered by restored contracts are not analyzed again. " +
+                                "LTL formulae satisfied in a previous run are only checked again if the " +
+                                "top-level method or any method it may call changed. The contract database is not supported in indexed mode or if grammar " +
+                                "refinement is enabled.")
+                        .build()
+        );
+
         commandLineOptions.addOption(
                 Option.builder("mh")
                         .longOpt("max-heap")
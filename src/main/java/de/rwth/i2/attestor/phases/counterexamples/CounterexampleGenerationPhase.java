@@ -29,6 +29,10 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class CounterexampleGenerationPhase extends AbstractPhase implements CounterexampleTransformer {
 
@@ -55,6 +59,7 @@ public class CounterexampleGenerationPhase extends AbstractPhase implements Coun
 
         modelCheckingResults = getPhase(ModelCheckingResultsTransformer.class);
         grammar = getPhase(GrammarTransformer.class).getGrammar();
+        Map<LTLFormula, CounterexampleTrace> tracesToCheck = new LinkedHashMap<>();
         for (Map.Entry<LTLFormula, ModelCheckingResult> result : modelCheckingResults.getLTLResults().entrySet()) {
             if (result.getValue() == ModelCheckingResult.UNSATISFIED) {
                 LTLFormula formula = result.getKey();
@@ -70,9 +75,32 @@ public class CounterexampleGenerationPhase extends AbstractPhase implements Coun
                     continue;
                 }
 
+                tracesToCheck.put(formula, trace);
+            }
+        }
+
+        // every counterexample is generated with its own method executors, hence traces are checked independently
+        ExecutorService executor = null;
+        Map<LTLFormula, Future<ProgramState>> inputs = new LinkedHashMap<>();
+        int threads = Math.min(scene().options().getCounterexampleThreads(), tracesToCheck.size());
+        if (threads > 1) {
+            executor = Executors.newFixedThreadPool(threads);
+            for (Map.Entry<LTLFormula, CounterexampleTrace> trace : tracesToCheck.entrySet()) {
+                inputs.put(trace.getKey(), executor.submit(() -> checkCounterexample(trace.getValue())));
+            }
+        }
+
+        try {
+            for (Map.Entry<LTLFormula, CounterexampleTrace> trace : tracesToCheck.entrySet()) {
+                LTLFormula formula = trace.getKey();
+                Future<ProgramState> input = inputs.remove(formula);
                 try {
 
-                    checkCounterexample(formula, trace);
+                    ProgramState badInput = input == null
+                            ? checkCounterexample(trace.getValue())
+                            : awaitCounterexample(input);
+                    counterexamples.put(formula, badInput);
+                    logger.info("detected concrete counterexample.");
                 } catch (Exception e) {
                     allCounterexamplesDetected = false;
                     logger.error("Could not construct a non-spurious counterexample for formula:");
@@ -80,10 +108,20 @@ public class CounterexampleGenerationPhase extends AbstractPhase implements Coun
                     logger.error("Cause: " + e.getMessage());
                 }
             }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
         }
     }
 
-    private void checkCounterexample(LTLFormula formula, CounterexampleTrace trace) {
+    /**
+     * Generates a concrete input leading to the given trace.
+     * This method may be executed concurrently for different traces.
+     *
+     * @return The concrete input.
+     */
+    private ProgramState checkCounterexample(CounterexampleTrace trace) {
 
         Program program = getPhase(ProgramTransformer.class).getProgram();
 
@@ -104,9 +142,22 @@ public class CounterexampleGenerationPhase extends AbstractPhase implements Coun
                 .build();
 
         ProgramState badInput = generator.generate();
-        badInput = determineConcreteInput(badInput);
-        counterexamples.put(formula, badInput);
-        logger.info("detected concrete counterexample.");
+        return determineConcreteInput(badInput);
+    }
+
+    private static ProgramState awaitCounterexample(Future<ProgramState> input) {
+
+        try {
+            return input.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Failed to await counterexample generation (" + e.getMessage() + ").");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Failed to generate counterexample (" + e.getCause() + ").");
+        }
     }
 
     private ProgramState determineConcreteInput(ProgramState badInput) {
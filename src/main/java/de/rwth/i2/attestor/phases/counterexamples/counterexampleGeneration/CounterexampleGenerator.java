@@ -9,6 +9,7 @@ import de.rwth.i2.attestor.phases.symbolicExecution.utilStrategies.NoPostProcess
 import de.rwth.i2.attestor.procedures.AbstractMethodExecutor;
 import de.rwth.i2.attestor.procedures.Method;
 import de.rwth.i2.attestor.procedures.MethodExecutor;
+import de.rwth.i2.attestor.procedures.MethodExecutorOverlay;
 import de.rwth.i2.attestor.procedures.ScopeExtractor;
 import de.rwth.i2.attestor.stateSpaceGeneration.*;
 
@@ -30,7 +31,6 @@ public class CounterexampleGenerator {
     private TraceBasedStateExplorationStrategy topLevelExplorationStrategy;
 
     private final Stack<Predicate<ProgramState>> requiredFinalStatesStack = new Stack<>();
-    private final Map<Method, MethodExecutor> originalExecutors = new LinkedHashMap<>();
 
     public static Builder builder() {
         return new Builder();
@@ -46,9 +46,8 @@ public class CounterexampleGenerator {
                 state -> stateSubsumptionStrategy.subsumes(state, trace.getFinalState())
         );
 
-        decorateMethodExecutioners();
-
-        Collection<ProgramState> finalStates = determineFinalStates();
+        // the shared methods are left untouched such that several counterexamples may be generated concurrently
+        Collection<ProgramState> finalStates = decorateMethodExecutioners().apply(this::determineFinalStates);
 
         if(finalStates.size() != 1) {
             throw new IllegalStateException("Failed to determine a unique counterexample input " +
@@ -57,40 +56,31 @@ public class CounterexampleGenerator {
                     " final states)");
         }
 
-        ProgramState result = extractCounterexampleInput(finalStates.iterator().next());
-
-        restoreOriginalMethodExecutioners();
-
-        return result;
+        return extractCounterexampleInput(finalStates.iterator().next());
     }
 
-    private void decorateMethodExecutioners() {
+    private MethodExecutorOverlay decorateMethodExecutioners() {
 
+        MethodExecutorOverlay overlay = new MethodExecutorOverlay();
         for(Method method : availableMethods) {
-            decorateMethodExecutioner(method);
+            overlay.put(method, decorateMethodExecutioner(method));
         }
+        return overlay;
     }
 
-    private void decorateMethodExecutioner(Method method) {
+    private CounterexampleMethodExecutor decorateMethodExecutioner(Method method) {
 
         MethodExecutor executor = method.getMethodExecutor();
-        originalExecutors.put(method, executor);
 
         assert executor instanceof AbstractMethodExecutor;
         AbstractMethodExecutor abstractExecutor = (AbstractMethodExecutor) executor;
 
-        CounterexampleMethodExecutor newExecutor = new CounterexampleMethodExecutor(
+        return new CounterexampleMethodExecutor(
                 scopeExtractorFactory.apply(method),
                 new CounterexampleContractCollection(abstractExecutor.getContractCollection()),
                 new CounterexampleContractGenerator(getFinalStatesComputer(method)),
                 canonicalizationStrategy
         );
-        method.setMethodExecution(newExecutor);
-    }
-
-    private void restoreOriginalMethodExecutioners() {
-
-        originalExecutors.forEach(Method::setMethodExecution);
     }
 
     private Collection<ProgramState> determineFinalStates() {
@@ -2,6 +2,7 @@ package de.rwth.i2.attestor.phases.counterexamples.counterexampleGeneration;
 
 import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
 import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
+import de.rwth.i2.attestor.stateSpaceGeneration.TransitionRelation;
 import gnu.trove.list.array.TIntArrayList;
 import gnu.trove.set.TIntSet;
 import gnu.trove.set.hash.TIntHashSet;
@@ -235,4 +236,36 @@ public class CounterexampleStateSpace implements StateSpace {
         return getState(stateId).satisfiesAP(expectedAP);
     }
 
+    @Override
+    public boolean satisfiesAP(int stateId, int propositionId) {
+
+        return getState(stateId).getAPLabel().contains(propositionId);
+    }
+
+    @Override
+    public void freeze() {
+        // transitions are not stored explicitly
+    }
+
+    @Override
+    public TransitionRelation getControlFlowTransitions() {
+        return TransitionRelation.of(lastUsedId, this::getControlFlowSuccessorsIdsOf);
+    }
+
+    @Override
+    public TransitionRelation getMaterializationTransitions() {
+        return TransitionRelation.of(lastUsedId, this::getMaterializationSuccessorsIdsOf);
+    }
+
+    @Override
+    public TransitionRelation getArtificialInfPathsTransitions() {
+        return TransitionRelation.of(lastUsedId, this::getArtificialInfPathsSuccessorsIdsOf);
+    }
+
+    @Override
+    public TransitionRelation getObservableTransitions() {
+        return TransitionRelation.ofObservableSuccessors(getMaterializationTransitions(),
+                getControlFlowTransitions(), getArtificialInfPathsTransitions());
+    }
+
 }
@@ -4,10 +4,9 @@ import de.rwth.i2.attestor.LTLFormula;
 import de.rwth.i2.attestor.main.AbstractPhase;
 import de.rwth.i2.attestor.main.scene.Scene;
 import de.rwth.i2.attestor.phases.communication.ModelCheckingSettings;
-import de.rwth.i2.attestor.phases.modelChecking.modelChecker.FailureTrace;
-import de.rwth.i2.attestor.phases.modelChecking.modelChecker.ModelCheckingResult;
-import de.rwth.i2.attestor.phases.modelChecking.modelChecker.ModelCheckingTrace;
-import de.rwth.i2.attestor.phases.modelChecking.modelChecker.ProofStructure;
+import de.rwth.i2.attestor.phases.modelChecking.modelChecker.*;
+import de.rwth.i2.attestor.phases.symbolicExecution.recursive.ContractDatabase;
+import de.rwth.i2.attestor.phases.transformers.ContractDatabaseTransformer;
 import de.rwth.i2.attestor.phases.transformers.MCSettingsTransformer;
 import de.rwth.i2.attestor.phases.transformers.ModelCheckingResultsTransformer;
 import de.rwth.i2.attestor.phases.transformers.StateSpaceTransformer;
@@ -17,6 +16,10 @@ import org.apache.logging.log4j.Level;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class ModelCheckingPhase extends AbstractPhase implements ModelCheckingResultsTransformer {
 
@@ -48,37 +51,123 @@ public class ModelCheckingPhase extends AbstractPhase implements ModelCheckingRe
         }
 
         StateSpace stateSpace = getPhase(StateSpaceTransformer.class).getStateSpace();
+        ContractDatabase contractDatabase = getPhase(ContractDatabaseTransformer.class).getContractDatabase();
+        boolean hasNewResults = false;
+
+        AutomataModelChecker automataModelChecker = scene().options().isAutomataModelCheckingEnabled()
+                ? new AutomataModelChecker()
+                : null;
+
+        // proofs only read the state space; freezing it computes its transition relations once for all formulae
+        stateSpace.freeze();
+
+        ExecutorService executor = null;
+        Map<LTLFormula, Future<ModelCheckingProof>> proofs = new LinkedHashMap<>();
+        int threads = Math.min(scene().options().getModelCheckingThreads(), formulae.size());
+        if (threads > 1) {
+            executor = Executors.newFixedThreadPool(threads);
+            for (LTLFormula formula : formulae) {
+                if (contractDatabase == null || !contractDatabase.isSatisfied(formula.getFormulaString())) {
+                    proofs.put(formula, executor.submit(() -> prove(stateSpace, formula, automataModelChecker)));
+                }
+            }
+        }
+
+        try {
+            for (LTLFormula formula : formulae) {
+                hasNewResults |= checkFormula(stateSpace, formula, contractDatabase, automataModelChecker,
+                        proofs.remove(formula));
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
 
-        for (LTLFormula formula : formulae) {
-
-            String formulaString = formula.getFormulaString();
-            logger.info("Checking formula: " + formulaString + "...");
-            ProofStructure proofStructure = new ProofStructure();
-            proofStructure.build(stateSpace, formula);
-            if (proofStructure.isSuccessful()) {
-
-                if(stateSpace.containsAbortedStates()) {
-                    allSatisfied = false;
-                    formulaResults.put(formula, ModelCheckingResult.UNKNOWN);
-                    logger.info("done. It is unknown whether the formula is satisfied.");
-                } else {
-                    formulaResults.put(formula, ModelCheckingResult.SATISFIED);
-                    logger.info("done. Formula is satisfied.");
-                    numberSatFormulae++;
+        if (hasNewResults) {
+            contractDatabase.save();
+        }
+    }
+
+    /**
+     * Determines whether the given formula is satisfied and stores the result.
+     *
+     * @param automataModelChecker The model checker used instead of proof structures or null if proof structures
+     *                             are used.
+     * @param proof The proof of the formula that is computed concurrently or null if it is computed by this method.
+     * @return True if the formula is satisfied and has been added to the contract database.
+     */
+    private boolean checkFormula(StateSpace stateSpace, LTLFormula formula, ContractDatabase contractDatabase,
+                                 AutomataModelChecker automataModelChecker, Future<ModelCheckingProof> proof) {
+
+        String formulaString = formula.getFormulaString();
+        if (contractDatabase != null && contractDatabase.isSatisfied(formulaString)) {
+            formulaResults.put(formula, ModelCheckingResult.SATISFIED);
+            logger.info("Formula " + formulaString + " is satisfied according to the contract database.");
+            numberSatFormulae++;
+            return false;
+        }
+
+        logger.info("Checking formula: " + formulaString + "...");
+        ModelCheckingProof builtProof = proof == null
+                ? prove(stateSpace, formula, automataModelChecker)
+                : awaitProof(proof);
+
+        if (builtProof.isSuccessful()) {
+
+            if(stateSpace.containsAbortedStates()) {
+                allSatisfied = false;
+                formulaResults.put(formula, ModelCheckingResult.UNKNOWN);
+                logger.info("done. It is unknown whether the formula is satisfied.");
+            } else {
+                formulaResults.put(formula, ModelCheckingResult.SATISFIED);
+                logger.info("done. Formula is satisfied.");
+                numberSatFormulae++;
+                if (contractDatabase != null) {
+                    contractDatabase.addSatisfied(formulaString);
+                    return true;
                 }
+            }
+
+        } else {
+            logger.info("Formula is violated: " + formulaString);
+            allSatisfied = false;
+            formulaResults.put(formula, ModelCheckingResult.UNSATISFIED);
 
+            if (scene().options().isIndexedMode()) {
+                logger.warn("Counterexample generation for indexed grammars is not supported yet.");
             } else {
-                logger.info("Formula is violated: " + formulaString);
-                allSatisfied = false;
-                formulaResults.put(formula, ModelCheckingResult.UNSATISFIED);
+                // failure traces load states and are thus extracted by a single thread
+                FailureTrace failureTrace = builtProof.getFailureTrace();
+                traces.put(formula, failureTrace);
+            }
+        }
+        return false;
+    }
 
-                if (scene().options().isIndexedMode()) {
-                    logger.warn("Counterexample generation for indexed grammars is not supported yet.");
-                } else {
-                    FailureTrace failureTrace = proofStructure.getFailureTrace();
-                    traces.put(formula, failureTrace);
-                }
+    private static ModelCheckingProof prove(StateSpace stateSpace, LTLFormula formula,
+                                            AutomataModelChecker automataModelChecker) {
+
+        if (automataModelChecker != null) {
+            return automataModelChecker.check(stateSpace, formula);
+        }
+        ProofStructure proofStructure = new ProofStructure();
+        proofStructure.build(stateSpace, formula);
+        return proofStructure;
+    }
+
+    private static ModelCheckingProof awaitProof(Future<ModelCheckingProof> proof) {
+
+        try {
+            return proof.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Failed to await model checking (" + e.getMessage() + ").");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
             }
+            throw new IllegalStateException("Failed to check formula (" + e.getCause() + ").");
         }
     }
 
@@ -0,0 +1,214 @@
+package de.rwth.i2.attestor.phases.modelChecking.benchmark;
+
+import de.rwth.i2.attestor.LTLFormula;
+import de.rwth.i2.attestor.grammar.confluence.benchmark.StartStopTimer;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.main.scene.DefaultScene;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.phases.modelChecking.modelChecker.AutomataModelChecker;
+import de.rwth.i2.attestor.phases.modelChecking.modelChecker.ModelCheckingProof;
+import de.rwth.i2.attestor.phases.modelChecking.modelChecker.ProofStructure;
+import de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl.InternalStateSpace;
+import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
+import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/**
+ * Compares the time needed to model check by proof structures and by the {@link AutomataModelChecker} for the kinds
+ * of state spaces used by the model checking tests, i.e. chains ending in a final state, rings and chains of diamonds
+ * formed by materialization steps, scaled to large numbers of states.
+ * State spaces are frozen before they are checked such that both model checkers use the same transition relations.
+ */
+public class ModelCheckingBenchmarkRunner {
+
+    static int[] sizes = new int[] {
+            1000,
+            10000,
+            100000
+    };
+
+    static String[] formulae = new String[] {
+            "G { dll }",
+            "({ dll } U { terminated })",
+            "G F { dll }",
+            "F { tree }",
+            "G ({ dll } -> X F { dll })"
+    };
+
+    static JSONArray runAllModelChecking() {
+
+        SceneObject sceneObject = new SceneObject(new DefaultScene()) {};
+        JSONArray result = new JSONArray();
+
+        for (int size : sizes) {
+            runBenchmarkForStateSpace(result, "chain", createChain(sceneObject, size));
+            runBenchmarkForStateSpace(result, "ring", createRing(sceneObject, size));
+            runBenchmarkForStateSpace(result, "diamonds", createDiamonds(sceneObject, size));
+        }
+        return result;
+    }
+
+    static void runBenchmarkForStateSpace(JSONArray result, String name, StateSpace stateSpace) {
+
+        stateSpace.freeze();
+        for (String formulaString : formulae) {
+            LTLFormula formula;
+            try {
+                formula = new LTLFormula(formulaString);
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to parse formula " + formulaString
+                        + " (" + e.getMessage() + ").");
+            }
+            formula.toPNF();
+
+            JSONObject benchmarkResult = new JSONObject();
+            benchmarkResult.put("stateSpace", name);
+            benchmarkResult.put("numberOfStates", stateSpace.size());
+            benchmarkResult.put("formula", formulaString);
+            JSONObject proofStructureResult = runProofStructure(stateSpace, formula);
+            JSONObject automataResult = runAutomataModelChecker(stateSpace, formula);
+            if (proofStructureResult.getBoolean("successful") != automataResult.getBoolean("successful")) {
+                throw new IllegalStateException("Model checkers disagree on formula " + formulaString
+                        + " for state space " + name + ".");
+            }
+            benchmarkResult.put("proofStructure", proofStructureResult);
+            benchmarkResult.put("automata", automataResult);
+            result.put(benchmarkResult);
+        }
+    }
+
+    static JSONObject runProofStructure(StateSpace stateSpace, LTLFormula formula) {
+
+        StartStopTimer timer = new StartStopTimer();
+        timer.startTimer();
+        ProofStructure proofStructure = new ProofStructure();
+        proofStructure.build(stateSpace, formula);
+        timer.stopTimer();
+
+        JSONObject result = new JSONObject();
+        result.put("successful", proofStructure.isSuccessful());
+        result.put("runtime", timer.getRuntime());
+        result.put("numberOfAssertions", proofStructure.size());
+        return result;
+    }
+
+    static JSONObject runAutomataModelChecker(StateSpace stateSpace, LTLFormula formula) {
+
+        // every run translates the formula again, because translated automata are cached per model checker
+        StartStopTimer timer = new StartStopTimer();
+        timer.startTimer();
+        ModelCheckingProof proof = new AutomataModelChecker().check(stateSpace, formula);
+        timer.stopTimer();
+
+        JSONObject result = new JSONObject();
+        result.put("successful", proof.isSuccessful());
+        result.put("runtime", timer.getRuntime());
+        return result;
+    }
+
+    /**
+     * @return A chain of states labeled with dll whose last state is final.
+     */
+    static StateSpace createChain(SceneObject sceneObject, int size) {
+
+        StateSpace stateSpace = new InternalStateSpace(size);
+        ProgramState previous = createState(sceneObject, "{ dll }", 0);
+        stateSpace.addInitialState(previous);
+        for (int i = 1; i < size; i++) {
+            ProgramState state = createState(sceneObject, "{ dll }", i);
+            stateSpace.addState(state);
+            stateSpace.addControlFlowTransition(previous, state);
+            previous = state;
+        }
+        stateSpace.setFinal(previous);
+        stateSpace.addArtificialInfPathsTransition(previous);
+        return stateSpace;
+    }
+
+    /**
+     * @return A ring of states in which every other state is labeled with dll and the remaining ones with sll.
+     */
+    static StateSpace createRing(SceneObject sceneObject, int size) {
+
+        StateSpace stateSpace = new InternalStateSpace(size);
+        ProgramState first = createState(sceneObject, "{ dll }", 0);
+        stateSpace.addInitialState(first);
+        ProgramState previous = first;
+        for (int i = 1; i < size; i++) {
+            ProgramState state = createState(sceneObject, i % 2 == 0 ? "{ dll }" : "{ sll }", i);
+            stateSpace.addState(state);
+            stateSpace.addControlFlowTransition(previous, state);
+            previous = state;
+        }
+        stateSpace.addControlFlowTransition(previous, first);
+        return stateSpace;
+    }
+
+    /**
+     * @return A chain of states labeled with dll, where every state is materialized into two states that
+     * lead to the next state of the chain. The last state of the chain is final.
+     */
+    static StateSpace createDiamonds(SceneObject sceneObject, int size) {
+
+        StateSpace stateSpace = new InternalStateSpace(size);
+        ProgramState previous = createState(sceneObject, "{ dll }", 0);
+        stateSpace.addInitialState(previous);
+        for (int i = 3; i < size; i += 3) {
+            ProgramState left = createState(sceneObject, "{ sll }", i - 2);
+            ProgramState right = createState(sceneObject, "{ tree }", i - 1);
+            ProgramState next = createState(sceneObject, "{ dll }", i);
+            stateSpace.addState(left);
+            stateSpace.addState(right);
+            stateSpace.addState(next);
+            stateSpace.addMaterializationTransition(previous, left);
+            stateSpace.addMaterializationTransition(previous, right);
+            stateSpace.addControlFlowTransition(left, next);
+            stateSpace.addControlFlowTransition(right, next);
+            previous = next;
+        }
+        stateSpace.setFinal(previous);
+        stateSpace.addArtificialInfPathsTransition(previous);
+        return stateSpace;
+    }
+
+    private static ProgramState createState(SceneObject sceneObject, String ap, int programCounter) {
+
+        HeapConfiguration heap = sceneObject.scene().createHeapConfiguration();
+        ProgramState state = sceneObject.scene().createProgramState(heap);
+        state.addAP(ap);
+        state.setProgramCounter(programCounter);
+        return state;
+    }
+
+    static String getDateTime() {
+        String pattern = "yyyy-MM-dd_HH_mm_ss_SSS";
+        SimpleDateFormat simpleDateFormat = new SimpleDateFormat(pattern);
+        return simpleDateFormat.format(new Date());
+    }
+
+    public static void main(String[] args) {
+
+        JSONArray result = runAllModelChecking();
+
+        // Output to file
+        try {
+            new File("reports/model_checking").mkdirs();
+
+            BufferedWriter writer = Files.newBufferedWriter(
+                    Paths.get("reports/model_checking/modelChecking__" + getDateTime() + ".json"));
+            result.write(writer);
+            writer.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -18,6 +18,10 @@ public class Assertion {
 
     final int progState;
     final LinkedList<Node> formulae;
+    // The closure of the checked formula if formulae are given by ids instead of syntax tree nodes
+    private final FormulaClosure closure;
+    // The ids of the formulae within the closure; used by proof structures instead of the list of nodes
+    final int[] formulaIds;
     // The previous assertion or null if the assertion is the root
     final Assertion parent;
     // specifies, if the assertions is known to hold
@@ -35,11 +39,35 @@ public class Assertion {
 
         this.progState = progState;
         this.formulae = new LinkedList<>();
+        this.closure = null;
+        this.formulaIds = null;
         isTrue = false;
         this.isContainedInTrace = false;
         this.parent = parent;
     }
 
+    /**
+     * This constructor returns a new assertion whose formulae are given by their ids within the closure of
+     * the checked formula. Such assertions are never modified.
+     *
+     * @param progState,          the id of the program state
+     * @param parent,             the previous assertion or null if the assertion is the root
+     * @param closure,            the closure of the checked formula
+     * @param formulaIds,         the ordered ids of the formulae
+     * @param isContainedInTrace, true if the assertion belongs to a potential failure trace
+     */
+    Assertion(int progState, Assertion parent, FormulaClosure closure, int[] formulaIds,
+              boolean isContainedInTrace) {
+
+        this.progState = progState;
+        this.formulae = new LinkedList<>();
+        this.closure = closure;
+        this.formulaIds = formulaIds;
+        this.isTrue = false;
+        this.isContainedInTrace = isContainedInTrace;
+        this.parent = parent;
+    }
+
     public Assertion(int progState, Assertion parent, LTLFormula formula) {
 
         this(progState, parent);
@@ -58,6 +86,8 @@ public class Assertion {
 
         this.progState = assertion.getProgramState();
         this.formulae = new LinkedList<>(assertion.getFormulae());
+        this.closure = assertion.closure;
+        this.formulaIds = assertion.formulaIds;
         this.isTrue = assertion.isTrue();
         this.isContainedInTrace = assertion.isContainedInTrace;
         this.parent = assertion.parent;
@@ -73,6 +103,17 @@ public class Assertion {
         this.isContainedInTrace = true;
     }
 
+    /**
+     * @param formulaIds, the ordered ids of the formulae within the closure of this assertion
+     * @return a copy of this assertion with the given formulae
+     */
+    Assertion withFormulae(int[] formulaIds) {
+
+        Assertion result = new Assertion(progState, parent, closure, formulaIds, isContainedInTrace);
+        result.isTrue = isTrue;
+        return result;
+    }
+
     LinkedList<Node> getFormulae() {
 
         return this.formulae;
@@ -131,6 +172,9 @@ public class Assertion {
 
     public String stateIDAndFormulaeToString() {
 
+        if (closure != null) {
+            return this.progState + closure.toString(formulaIds);
+        }
         return this.progState + this.formulae.toString();
 
 
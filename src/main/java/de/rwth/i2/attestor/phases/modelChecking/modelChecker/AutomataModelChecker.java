@@ -0,0 +1,48 @@
+package de.rwth.i2.attestor.phases.modelChecking.modelChecker;
+
+import de.rwth.i2.attestor.LTLFormula;
+import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Automata-theoretic LTL model checking as an alternative to proof structures.
+ * Every formula is negated and translated into a Buchi automaton. The formula is satisfied if and only if
+ * the product of the state space and this automaton has no accepting cycle, which is checked by
+ * a {@link NestedDepthFirstSearch}.
+ * Translated automata are cached per formula such that a formula is translated once even if it is checked against
+ * several state spaces. Instances may be shared by several threads.
+ */
+public class AutomataModelChecker {
+
+    private static final Logger logger = LogManager.getLogger("AutomataModelChecker");
+
+    private final Map<String, BuchiAutomaton> automata = new ConcurrentHashMap<>();
+
+    /**
+     * Checks the given formula against the given state space.
+     * The state space should be frozen beforehand; otherwise, its transitions are copied for every check.
+     *
+     * @param stateSpace The (labelled) state space.
+     * @param formula    The LTL formula to check.
+     * @return The result of the check including a failure trace in case the formula is violated.
+     */
+    public ModelCheckingProof check(StateSpace stateSpace, LTLFormula formula) {
+
+        BuchiAutomaton automaton = automata.computeIfAbsent(formula.getFormulaString(), f -> translate(formula));
+        NestedDepthFirstSearch search = new NestedDepthFirstSearch(stateSpace, automaton);
+        search.run();
+        return search;
+    }
+
+    private static BuchiAutomaton translate(LTLFormula formula) {
+
+        BuchiAutomaton automaton = BuchiAutomaton.ofNegation(formula);
+        logger.trace("Translated negation of " + formula.getFormulaString() + " into a Buchi automaton with "
+                + automaton.size() + " states and " + automaton.getNumberOfAcceptanceSets() + " acceptance sets.");
+        return automaton;
+    }
+}
@@ -0,0 +1,449 @@
+package de.rwth.i2.attestor.phases.modelChecking.modelChecker;
+
+import de.rwth.i2.attestor.LTLFormula;
+import de.rwth.i2.attestor.generated.node.*;
+import de.rwth.i2.attestor.stateSpaceGeneration.AtomicPropositionLabel;
+import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
+
+import java.util.*;
+
+/**
+ * A generalized Buchi automaton accepting exactly the paths that violate an LTL formula.
+ * The automaton is obtained by converting the negation of the formula into positive normal form and translating
+ * it with the on-the-fly tableau construction
+ * (see Simple On-the-fly Automatic Verification of Linear Temporal Logic, Gerth, Peled, Vardi, Wolper, 1995).
+ * <br>
+ * States of the automaton are labeled, i.e. a state may only be entered by a program state that satisfies
+ * all atomic propositions in its positive labels and none of the atomic propositions in its negative labels.
+ * Every until subformula yields one acceptance set.
+ */
+final class BuchiAutomaton {
+
+    private final int[] initialStates;
+    private final int[][] successors;
+    private final int[][] positiveLabels;
+    private final int[][] negativeLabels;
+    private final boolean[][] acceptanceSets;
+
+    private BuchiAutomaton(int[] initialStates, int[][] successors, int[][] positiveLabels,
+                           int[][] negativeLabels, boolean[][] acceptanceSets) {
+
+        this.initialStates = initialStates;
+        this.successors = successors;
+        this.positiveLabels = positiveLabels;
+        this.negativeLabels = negativeLabels;
+        this.acceptanceSets = acceptanceSets;
+    }
+
+    /**
+     * Translates the negation of the given formula.
+     *
+     * @param formula The LTL formula whose violating paths are accepted by the automaton.
+     * @return The generalized Buchi automaton of the negated formula.
+     */
+    static BuchiAutomaton ofNegation(LTLFormula formula) {
+
+        Subformula negation = Subformula.of(formula.getASTRoot().getPLtlform(), true);
+        return new Translation(negation).toAutomaton();
+    }
+
+    int size() {
+
+        return successors.length;
+    }
+
+    int[] getInitialStates() {
+
+        return initialStates;
+    }
+
+    int[] getSuccessors(int state) {
+
+        return successors[state];
+    }
+
+    /**
+     * @return The number of acceptance sets, which is at least one.
+     */
+    int getNumberOfAcceptanceSets() {
+
+        return acceptanceSets.length;
+    }
+
+    boolean isAccepting(int acceptanceSet, int state) {
+
+        return acceptanceSets[acceptanceSet][state];
+    }
+
+    /**
+     * @return True if the program state with the given id may enter the given state of the automaton.
+     */
+    boolean matches(int state, StateSpace stateSpace, int stateId) {
+
+        for (int proposition : positiveLabels[state]) {
+            if (!stateSpace.satisfiesAP(stateId, proposition)) {
+                return false;
+            }
+        }
+        for (int proposition : negativeLabels[state]) {
+            if (stateSpace.satisfiesAP(stateId, proposition)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * An LTL formula in positive normal form that is independent of the parsed syntax tree.
+     * Subformulae are compared structurally such that equal subformulae are identified during the translation.
+     */
+    static final class Subformula {
+
+        enum Kind {TRUE, FALSE, PROPOSITION, NEGATED_PROPOSITION, AND, OR, NEXT, UNTIL, RELEASE}
+
+        final Kind kind;
+        final int proposition;
+        final Subformula left;
+        final Subformula right;
+        private final int hashCode;
+
+        private Subformula(Kind kind, int proposition, Subformula left, Subformula right) {
+
+            this.kind = kind;
+            this.proposition = proposition;
+            this.left = left;
+            this.right = right;
+            this.hashCode = Objects.hash(kind, proposition, left, right);
+        }
+
+        /**
+         * Converts a node of a formula into positive normal form. Eventually, globally and implication are
+         * expressed by until, release and disjunction, respectively.
+         *
+         * @param node   The node to convert.
+         * @param negate True if the negation of the node is converted.
+         * @return The (possibly negated) subformula in positive normal form.
+         */
+        static Subformula of(Node node, boolean negate) {
+
+            if (node instanceof ATermLtlform) {
+                return of(((ATermLtlform) node).getTerm(), negate);
+            } else if (node instanceof AStateformLtlform) {
+                return of(((AStateformLtlform) node).getStateform(), negate);
+            } else if (node instanceof ATrueTerm) {
+                return constant(!negate);
+            } else if (node instanceof AFalseTerm) {
+                return constant(negate);
+            } else if (node instanceof AAtomicpropTerm) {
+                int proposition = AtomicPropositionLabel.idOf(node.toString().trim());
+                return new Subformula(negate ? Kind.NEGATED_PROPOSITION : Kind.PROPOSITION, proposition, null, null);
+            } else if (node instanceof ANegStateform) {
+                return of(((ANegStateform) node).getLtlform(), !negate);
+            } else if (node instanceof AAndStateform) {
+                AAndStateform and = (AAndStateform) node;
+                return binary(negate ? Kind.OR : Kind.AND, and.getLeftform(), and.getRightform(), negate);
+            } else if (node instanceof AOrStateform) {
+                AOrStateform or = (AOrStateform) node;
+                return binary(negate ? Kind.AND : Kind.OR, or.getLeftform(), or.getRightform(), negate);
+            } else if (node instanceof AUntilLtlform) {
+                AUntilLtlform until = (AUntilLtlform) node;
+                return binary(negate ? Kind.RELEASE : Kind.UNTIL, until.getLeftform(), until.getRightform(), negate);
+            } else if (node instanceof AReleaseLtlform) {
+                AReleaseLtlform release = (AReleaseLtlform) node;
+                return binary(negate ? Kind.UNTIL : Kind.RELEASE, release.getLeftform(), release.getRightform(),
+                        negate);
+            } else if (node instanceof ANextLtlform) {
+                return new Subformula(Kind.NEXT, -1, of(((ANextLtlform) node).getLtlform(), negate), null);
+            } else if (node instanceof AFinallyLtlform) {
+                // F a = true U a and !F a = false R !a
+                Subformula argument = of(((AFinallyLtlform) node).getLtlform(), negate);
+                return new Subformula(negate ? Kind.RELEASE : Kind.UNTIL, -1, constant(!negate), argument);
+            } else if (node instanceof AGloballyLtlform) {
+                // G a = false R a and !G a = true U !a
+                Subformula argument = of(((AGloballyLtlform) node).getLtlform(), negate);
+                return new Subformula(negate ? Kind.UNTIL : Kind.RELEASE, -1, constant(negate), argument);
+            } else if (node instanceof AImpliesLtlform) {
+                // (a -> b) = (!a | b) and !(a -> b) = (a & !b)
+                AImpliesLtlform implies = (AImpliesLtlform) node;
+                return new Subformula(negate ? Kind.AND : Kind.OR, -1, of(implies.getLeftform(), !negate),
+                        of(implies.getRightform(), negate));
+            }
+            throw new IllegalArgumentException("Unsupported LTL subformula: " + node);
+        }
+
+        private static Subformula constant(boolean value) {
+
+            return new Subformula(value ? Kind.TRUE : Kind.FALSE, -1, null, null);
+        }
+
+        private static Subformula binary(Kind kind, Node left, Node right, boolean negate) {
+
+            return new Subformula(kind, -1, of(left, negate), of(right, negate));
+        }
+
+        Subformula negatedLiteral() {
+
+            switch (kind) {
+                case TRUE:
+                    return constant(false);
+                case FALSE:
+                    return constant(true);
+                case PROPOSITION:
+                    return new Subformula(Kind.NEGATED_PROPOSITION, proposition, null, null);
+                case NEGATED_PROPOSITION:
+                    return new Subformula(Kind.PROPOSITION, proposition, null, null);
+                default:
+                    throw new IllegalStateException("Failed to negate non-literal subformula " + kind + ".");
+            }
+        }
+
+        boolean isLiteral() {
+
+            return kind == Kind.TRUE || kind == Kind.FALSE
+                    || kind == Kind.PROPOSITION || kind == Kind.NEGATED_PROPOSITION;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Subformula)) {
+                return false;
+            }
+            Subformula subformula = (Subformula) other;
+            return hashCode == subformula.hashCode
+                    && kind == subformula.kind
+                    && proposition == subformula.proposition
+                    && Objects.equals(left, subformula.left)
+                    && Objects.equals(right, subformula.right);
+        }
+
+        @Override
+        public int hashCode() {
+
+            return hashCode;
+        }
+    }
+
+    /**
+     * Expands the nodes of the tableau construction. Every fully expanded node becomes a state of the automaton.
+     */
+    private static final class Translation {
+
+        private static final int INIT = -1;
+
+        private final Subformula formula;
+        private final List<TableauNode> states = new ArrayList<>();
+        private final Map<TableauNode, TableauNode> statesByFormulae = new HashMap<>();
+
+        Translation(Subformula formula) {
+
+            this.formula = formula;
+        }
+
+        BuchiAutomaton toAutomaton() {
+
+            TableauNode init = new TableauNode();
+            init.incoming.add(INIT);
+            init.pending.add(formula);
+            expand(init);
+
+            int size = states.size();
+            List<Subformula> untils = new ArrayList<>();
+            for (TableauNode state : states) {
+                for (Subformula subformula : state.old) {
+                    if (subformula.kind == Subformula.Kind.UNTIL && !untils.contains(subformula)) {
+                        untils.add(subformula);
+                    }
+                }
+            }
+
+            boolean[][] acceptanceSets = new boolean[Math.max(1, untils.size())][size];
+            if (untils.isEmpty()) {
+                Arrays.fill(acceptanceSets[0], true);
+            }
+            for (int set = 0; set < untils.size(); set++) {
+                Subformula until = untils.get(set);
+                for (int q = 0; q < size; q++) {
+                    Set<Subformula> old = states.get(q).old;
+                    acceptanceSets[set][q] = !old.contains(until) || old.contains(until.right);
+                }
+            }
+
+            List<List<Integer>> successorLists = new ArrayList<>(size);
+            for (int q = 0; q < size; q++) {
+                successorLists.add(new ArrayList<>());
+            }
+            List<Integer> initialStates = new ArrayList<>();
+            int[][] positiveLabels = new int[size][];
+            int[][] negativeLabels = new int[size][];
+            for (int q = 0; q < size; q++) {
+                TableauNode state = states.get(q);
+                for (int predecessor : state.incoming) {
+                    if (predecessor == INIT) {
+                        initialStates.add(q);
+                    } else {
+                        successorLists.get(predecessor).add(q);
+                    }
+                }
+                positiveLabels[q] = propositionsOf(state.old, Subformula.Kind.PROPOSITION);
+                negativeLabels[q] = propositionsOf(state.old, Subformula.Kind.NEGATED_PROPOSITION);
+            }
+
+            int[][] successors = new int[size][];
+            for (int q = 0; q < size; q++) {
+                successors[q] = toArray(successorLists.get(q));
+            }
+            return new BuchiAutomaton(toArray(initialStates), successors, positiveLabels, negativeLabels,
+                    acceptanceSets);
+        }
+
+        private void expand(TableauNode node) {
+
+            if (node.pending.isEmpty()) {
+                TableauNode present = statesByFormulae.get(node);
+                if (present != null) {
+                    present.incoming.addAll(node.incoming);
+                    return;
+                }
+                node.id = states.size();
+                states.add(node);
+                statesByFormulae.put(node, node);
+
+                TableauNode successor = new TableauNode();
+                successor.incoming.add(node.id);
+                successor.pending.addAll(node.next);
+                expand(successor);
+                return;
+            }
+
+            Iterator<Subformula> iterator = node.pending.iterator();
+            Subformula current = iterator.next();
+            iterator.remove();
+
+            if (current.isLiteral()) {
+                if (current.kind != Subformula.Kind.FALSE && !node.old.contains(current.negatedLiteral())) {
+                    node.old.add(current);
+                    expand(node);
+                }
+                return;
+            }
+
+            switch (current.kind) {
+                case AND:
+                    node.old.add(current);
+                    node.addPending(current.left);
+                    node.addPending(current.right);
+                    expand(node);
+                    break;
+                case NEXT:
+                    node.old.add(current);
+                    node.next.add(current.left);
+                    expand(node);
+                    break;
+                case OR:
+                    split(node, current, Collections.singletonList(current.left), false,
+                            Collections.singletonList(current.right));
+                    break;
+                case UNTIL:
+                    split(node, current, Collections.singletonList(current.left), true,
+                            Collections.singletonList(current.right));
+                    break;
+                case RELEASE:
+                    split(node, current, Collections.singletonList(current.right), true,
+                            Arrays.asList(current.left, current.right));
+                    break;
+                default:
+                    throw new IllegalStateException("Failed to expand subformula " + current.kind + ".");
+            }
+        }
+
+        private void split(TableauNode node, Subformula current, List<Subformula> firstPending,
+                           boolean firstKeepsCurrent, List<Subformula> secondPending) {
+
+            TableauNode first = node.copy();
+            first.old.add(current);
+            firstPending.forEach(first::addPending);
+            if (firstKeepsCurrent) {
+                first.next.add(current);
+            }
+
+            TableauNode second = node.copy();
+            second.old.add(current);
+            secondPending.forEach(second::addPending);
+
+            expand(first);
+            expand(second);
+        }
+
+        private static int[] propositionsOf(Set<Subformula> formulae, Subformula.Kind kind) {
+
+            List<Integer> result = new ArrayList<>();
+            for (Subformula subformula : formulae) {
+                if (subformula.kind == kind) {
+                    result.add(subformula.proposition);
+                }
+            }
+            return toArray(result);
+        }
+
+        private static int[] toArray(List<Integer> list) {
+
+            int[] result = new int[list.size()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = list.get(i);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * A node of the tableau construction. Fully expanded nodes are identified by their old and next formulae.
+     */
+    private static final class TableauNode {
+
+        int id = -1;
+        final Set<Integer> incoming = new LinkedHashSet<>();
+        final Set<Subformula> pending = new LinkedHashSet<>();
+        final Set<Subformula> old = new HashSet<>();
+        final Set<Subformula> next = new HashSet<>();
+
+        void addPending(Subformula subformula) {
+
+            if (!old.contains(subformula)) {
+                pending.add(subformula);
+            }
+        }
+
+        TableauNode copy() {
+
+            TableauNode result = new TableauNode();
+            result.incoming.addAll(incoming);
+            result.pending.addAll(pending);
+            result.old.addAll(old);
+            result.next.addAll(next);
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof TableauNode)) {
+                return false;
+            }
+            TableauNode node = (TableauNode) other;
+            return old.equals(node.old) && next.equals(node.next);
+        }
+
+        @Override
+        public int hashCode() {
+
+            return Objects.hash(old, next);
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package de.rwth.i2.attestor.phases.modelChecking.modelChecker;
+
+import de.rwth.i2.attestor.LTLFormula;
+import de.rwth.i2.attestor.generated.node.*;
+import de.rwth.i2.attestor.stateSpaceGeneration.AtomicPropositionLabel;
+
+import java.util.*;
+
+/**
+ * The closure of an LTL formula in positive normal form, i.e. all subformulae that may occur in an assertion
+ * of a proof structure (cf. the Fischer-Ladner closure). Every subformula is identified by an int and the
+ * tableau rule applicable to it is precomputed as int tables. Hence, proof structures are built without
+ * traversing the syntax tree of the formula.
+ * <br>
+ * Subformulae are identified by the nodes of the syntax tree they originate from, exactly as by the
+ * {@link TableauRulesSwitch}. Nodes that merely wrap a term or state formula share the rule of the wrapped node.
+ * Additionally, every until and release subformula has its own next subformula that is added when unrolling it.
+ */
+final class FormulaClosure {
+
+    enum Rule {TRUE, FALSE, PROPOSITION, NEGATED_PROPOSITION, AND, OR, UNTIL, RELEASE, NEXT}
+
+    private static final int[] NO_FORMULAE = new int[0];
+
+    private final int root;
+
+    // indexed by the ids of subformulae
+    private Rule[] rules = new Rule[16];
+    // operands of conjunctions, disjunctions, untils and releases; the left operand is the argument of a next
+    private int[] left = new int[16];
+    private int[] right = new int[16];
+    // the next subformula used to unroll an until or release
+    private int[] unrolled = new int[16];
+    // the id of the atomic proposition of a (negated) proposition
+    private int[] propositions = new int[16];
+    private final List<Node> nodes = new ArrayList<>();
+
+    // only used during the construction
+    private final Map<Node, Integer> ids = new IdentityHashMap<>();
+    private final Deque<Node> unprocessed = new ArrayDeque<>();
+
+    /**
+     * Computes the closure of the given formula.
+     * Atomic propositions that are not known at this point are never satisfied.
+     *
+     * @param formula The LTL formula in positive normal form (see {@link LTLFormula#toPNF()}).
+     * @throws IllegalArgumentException If the formula is not in positive normal form.
+     */
+    FormulaClosure(LTLFormula formula) {
+
+        root = idOf(formula.getASTRoot().getPLtlform());
+        while (!unprocessed.isEmpty()) {
+            Node node = unprocessed.pop();
+            process(ids.get(node), node);
+        }
+        ids.clear();
+    }
+
+    /**
+     * @return The id of the whole formula.
+     */
+    int getRoot() {
+
+        return root;
+    }
+
+    Rule getRule(int formula) {
+
+        return rules[formula];
+    }
+
+    /**
+     * @return The left operand of a binary subformula or the argument of a next subformula.
+     */
+    int getLeft(int formula) {
+
+        return left[formula];
+    }
+
+    int getRight(int formula) {
+
+        return right[formula];
+    }
+
+    /**
+     * @return The next subformula that is added when unrolling an until or release subformula.
+     */
+    int getUnrolled(int formula) {
+
+        return unrolled[formula];
+    }
+
+    int getProposition(int formula) {
+
+        return propositions[formula];
+    }
+
+    /**
+     * Copies the given formulae without the first ones and adds further formulae in the order determined by
+     * {@link Assertion#addFormula(Node)}, i.e. next formulae are appended, all other formulae are prepended,
+     * and formulae that are already contained are skipped.
+     *
+     * @param formulae The formulae to copy.
+     * @param removed  The number of formulae to remove from the front.
+     * @param added    The formulae to add.
+     * @return The resulting formulae.
+     */
+    int[] successorFormulae(int[] formulae, int removed, int... added) {
+
+        int kept = formulae.length - removed;
+        int[] buffer = new int[added.length + kept + added.length];
+        int head = added.length;
+        int tail = head + kept;
+        System.arraycopy(formulae, removed, buffer, head, kept);
+
+        for (int formula : added) {
+            if (contains(buffer, head, tail, formula)) {
+                continue;
+            }
+            if (rules[formula] == Rule.NEXT) {
+                buffer[tail++] = formula;
+            } else {
+                buffer[--head] = formula;
+            }
+        }
+        return Arrays.copyOfRange(buffer, head, tail);
+    }
+
+    /**
+     * @return The successor formulae obtained by applying the next rule to formulae that are all next subformulae.
+     */
+    int[] nextFormulae(int[] formulae) {
+
+        int[] arguments = new int[formulae.length];
+        for (int i = 0; i < formulae.length; i++) {
+            arguments[i] = left[formulae[i]];
+        }
+        return successorFormulae(NO_FORMULAE, 0, arguments);
+    }
+
+    String toString(int[] formulae) {
+
+        StringJoiner result = new StringJoiner(", ", "[", "]");
+        for (int formula : formulae) {
+            result.add(toString(formula));
+        }
+        return result.toString();
+    }
+
+    private String toString(int formula) {
+
+        Node node = nodes.get(formula);
+        if (node == null) {
+            return "X " + toString(left[formula]);
+        }
+        return node.toString();
+    }
+
+    private static boolean contains(int[] buffer, int from, int to, int formula) {
+
+        for (int i = from; i < to; i++) {
+            if (buffer[i] == formula) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int idOf(Node node) {
+
+        Integer id = ids.get(node);
+        if (id == null) {
+            id = newId(node);
+            ids.put(node, id);
+            unprocessed.push(node);
+        }
+        return id;
+    }
+
+    private int newId(Node node) {
+
+        int id = nodes.size();
+        nodes.add(node);
+        if (id == rules.length) {
+            int capacity = 2 * id;
+            rules = Arrays.copyOf(rules, capacity);
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+            unrolled = Arrays.copyOf(unrolled, capacity);
+            propositions = Arrays.copyOf(propositions, capacity);
+        }
+        return id;
+    }
+
+    private void process(int id, Node node) {
+
+        // wrapped terms and state formulae are handled by the rule of the wrapped node
+        Node wrapped = node;
+        while (wrapped instanceof ATermLtlform || wrapped instanceof AStateformLtlform) {
+            wrapped = wrapped instanceof ATermLtlform
+                    ? ((ATermLtlform) wrapped).getTerm()
+                    : ((AStateformLtlform) wrapped).getStateform();
+        }
+
+        if (wrapped instanceof ATrueTerm) {
+            rules[id] = Rule.TRUE;
+        } else if (wrapped instanceof AFalseTerm) {
+            rules[id] = Rule.FALSE;
+        } else if (wrapped instanceof AAtomicpropTerm) {
+            rules[id] = Rule.PROPOSITION;
+            propositions[id] = AtomicPropositionLabel.lookup(wrapped.toString().trim());
+        } else if (wrapped instanceof ANegStateform) {
+            processNegation(id, (ANegStateform) wrapped);
+        } else if (wrapped instanceof AAndStateform) {
+            AAndStateform and = (AAndStateform) wrapped;
+            processBinary(id, Rule.AND, and.getLeftform(), and.getRightform());
+        } else if (wrapped instanceof AOrStateform) {
+            AOrStateform or = (AOrStateform) wrapped;
+            processBinary(id, Rule.OR, or.getLeftform(), or.getRightform());
+        } else if (wrapped instanceof AUntilLtlform) {
+            AUntilLtlform until = (AUntilLtlform) wrapped;
+            processBinary(id, Rule.UNTIL, until.getLeftform(), until.getRightform());
+            int next = newUnrolledNext(id);
+            unrolled[id] = next;
+        } else if (wrapped instanceof AReleaseLtlform) {
+            AReleaseLtlform release = (AReleaseLtlform) wrapped;
+            processBinary(id, Rule.RELEASE, release.getLeftform(), release.getRightform());
+            int next = newUnrolledNext(id);
+            unrolled[id] = next;
+        } else if (wrapped instanceof ANextLtlform) {
+            int argument = idOf(((ANextLtlform) wrapped).getLtlform());
+            rules[id] = Rule.NEXT;
+            left[id] = argument;
+        } else if (wrapped instanceof AFinallyLtlform || wrapped instanceof AGloballyLtlform
+                || wrapped instanceof AImpliesLtlform) {
+            // subformulae are identified by nodes, hence these operators cannot be rewritten here
+            throw new IllegalArgumentException("LTL formula is not in positive normal form, convert it by "
+                    + "LTLFormula.toPNF() first: " + wrapped);
+        } else {
+            throw new IllegalArgumentException("Unsupported LTL subformula: " + node);
+        }
+    }
+
+    private void processNegation(int id, ANegStateform negation) {
+
+        // Because of PNF we know that the negated LTL formula is a term
+        if (!(negation.getLtlform() instanceof ATermLtlform)) {
+            throw new IllegalArgumentException("LTL formula is not in positive normal form: " + negation);
+        }
+
+        PTerm term = ((ATermLtlform) negation.getLtlform()).getTerm();
+        if (term instanceof ATrueTerm) {
+            rules[id] = Rule.FALSE;
+        } else if (term instanceof AFalseTerm) {
+            rules[id] = Rule.TRUE;
+        } else {
+            rules[id] = Rule.NEGATED_PROPOSITION;
+            propositions[id] = AtomicPropositionLabel.lookup(negation.getLtlform().toString().trim());
+        }
+    }
+
+    private void processBinary(int id, Rule rule, Node leftOperand, Node rightOperand) {
+
+        // ids are determined first, because new ids may grow the tables
+        int leftId = idOf(leftOperand);
+        int rightId = idOf(rightOperand);
+        rules[id] = rule;
+        left[id] = leftId;
+        right[id] = rightId;
+    }
+
+    private int newUnrolledNext(int id) {
+
+        int next = newId(null);
+        rules[next] = Rule.NEXT;
+        left[next] = id;
+        return next;
+    }
+}
@@ -0,0 +1,17 @@
+package de.rwth.i2.attestor.phases.modelChecking.modelChecker;
+
+/**
+ * The outcome of checking a single LTL formula against a state space.
+ */
+public interface ModelCheckingProof {
+
+    /**
+     * @return True if the formula is satisfied by all paths of the state space.
+     */
+    boolean isSuccessful();
+
+    /**
+     * @return A path violating the formula or null if the formula is satisfied.
+     */
+    FailureTrace getFailureTrace();
+}
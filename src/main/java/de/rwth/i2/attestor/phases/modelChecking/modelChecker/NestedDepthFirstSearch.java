@@ -0,0 +1,219 @@
+package de.rwth.i2.attestor.phases.modelChecking.modelChecker;
+
+import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
+import de.rwth.i2.attestor.stateSpaceGeneration.TransitionRelation;
+import gnu.trove.iterator.TIntIterator;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.list.array.TLongArrayList;
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks the emptiness of the product of a state space and a Buchi automaton accepting all violating paths
+ * (see Memory-efficient algorithms for the verification of temporal properties,
+ * Courcoubetis, Vardi, Wolper, Yannakakis, 1992).
+ * <br>
+ * The generalized acceptance condition of the automaton is handled by a counter that is part of every product state.
+ * An outer (blue) depth-first search explores the product and, in post-order, starts an inner (red) search from
+ * every accepting product state to find a cycle back to it. Such a cycle is an infinite path violating the formula.
+ * Both searches are iterative and product states are encoded as longs such that only the visited sets grow with
+ * the size of the product.
+ * <br>
+ * Successors in the state space are the observable successors shared with proof structures,
+ * i.e. materialization steps are skipped.
+ */
+public class NestedDepthFirstSearch implements ModelCheckingProof {
+
+    private final StateSpace stateSpace;
+    private final BuchiAutomaton automaton;
+    private final TransitionRelation observableTransitions;
+
+    private final long automatonSize;
+    private final int acceptanceSets;
+
+    private final TLongSet blueVisited = new TLongHashSet();
+    private final TLongSet redVisited = new TLongHashSet();
+
+    private FailureTrace failureTrace = null;
+
+    NestedDepthFirstSearch(StateSpace stateSpace, BuchiAutomaton automaton) {
+
+        this.stateSpace = stateSpace;
+        this.automaton = automaton;
+        this.observableTransitions = stateSpace.getObservableTransitions();
+        this.automatonSize = automaton.size();
+        this.acceptanceSets = automaton.getNumberOfAcceptanceSets();
+    }
+
+    /**
+     * Searches for an accepting cycle in the product.
+     */
+    void run() {
+
+        TIntIterator initialStatesIterator = stateSpace.getInitialStateIds().iterator();
+        while (initialStatesIterator.hasNext()) {
+            int stateId = initialStatesIterator.next();
+            for (int q : automaton.getInitialStates()) {
+                if (automaton.matches(q, stateSpace, stateId)) {
+                    long initial = encode(stateId, q, 0);
+                    if (!blueVisited.contains(initial) && searchBlue(initial)) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean isSuccessful() {
+
+        return failureTrace == null;
+    }
+
+    @Override
+    public FailureTrace getFailureTrace() {
+
+        return failureTrace;
+    }
+
+    private boolean searchBlue(long initial) {
+
+        TLongArrayList path = new TLongArrayList();
+        List<long[]> successorStack = new ArrayList<>();
+        TIntArrayList nextSuccessor = new TIntArrayList();
+
+        blueVisited.add(initial);
+        path.add(initial);
+        successorStack.add(successorsOf(initial));
+        nextSuccessor.add(0);
+
+        while (!path.isEmpty()) {
+            int top = path.size() - 1;
+            long[] successors = successorStack.get(top);
+            int index = nextSuccessor.get(top);
+            if (index < successors.length) {
+                nextSuccessor.set(top, index + 1);
+                long successor = successors[index];
+                if (blueVisited.add(successor)) {
+                    path.add(successor);
+                    successorStack.add(successorsOf(successor));
+                    nextSuccessor.add(0);
+                }
+            } else {
+                long seed = path.get(top);
+                if (isAccepting(seed)) {
+                    TLongArrayList cycle = searchRed(seed);
+                    if (cycle != null) {
+                        failureTrace = toFailureTrace(path, cycle);
+                        return true;
+                    }
+                }
+                path.removeAt(top);
+                successorStack.remove(top);
+                nextSuccessor.removeAt(top);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The path from the seed back to the seed (excluding the seed at both ends)
+     * or null if the seed does not lie on a cycle of unvisited product states.
+     */
+    private TLongArrayList searchRed(long seed) {
+
+        TLongArrayList path = new TLongArrayList();
+        List<long[]> successorStack = new ArrayList<>();
+        TIntArrayList nextSuccessor = new TIntArrayList();
+
+        redVisited.add(seed);
+        path.add(seed);
+        successorStack.add(successorsOf(seed));
+        nextSuccessor.add(0);
+
+        while (!path.isEmpty()) {
+            int top = path.size() - 1;
+            long[] successors = successorStack.get(top);
+            int index = nextSuccessor.get(top);
+            if (index < successors.length) {
+                nextSuccessor.set(top, index + 1);
+                long successor = successors[index];
+                if (successor == seed) {
+                    path.removeAt(0);
+                    return path;
+                }
+                if (redVisited.add(successor)) {
+                    path.add(successor);
+                    successorStack.add(successorsOf(successor));
+                    nextSuccessor.add(0);
+                }
+            } else {
+                path.removeAt(top);
+                successorStack.remove(top);
+                nextSuccessor.removeAt(top);
+            }
+        }
+        return null;
+    }
+
+    private long[] successorsOf(long productState) {
+
+        int stateId = stateIdOf(productState);
+        int q = automatonStateOf(productState);
+        int counter = counterOf(productState);
+        int nextCounter = automaton.isAccepting(counter, q) ? (counter + 1) % acceptanceSets : counter;
+
+        TLongArrayList result = new TLongArrayList();
+        for (int s = observableTransitions.begin(stateId); s < observableTransitions.end(stateId); s++) {
+            int successor = observableTransitions.target(s);
+            for (int nextQ : automaton.getSuccessors(q)) {
+                if (automaton.matches(nextQ, stateSpace, successor)) {
+                    result.add(encode(successor, nextQ, nextCounter));
+                }
+            }
+        }
+        return result.toArray();
+    }
+
+    private boolean isAccepting(long productState) {
+
+        return counterOf(productState) == 0 && automaton.isAccepting(0, automatonStateOf(productState));
+    }
+
+    private FailureTrace toFailureTrace(TLongArrayList prefix, TLongArrayList cycle) {
+
+        Assertion last = null;
+        for (int i = 0; i < prefix.size(); i++) {
+            last = new Assertion(stateIdOf(prefix.get(i)), last);
+        }
+        for (int i = 0; i < cycle.size(); i++) {
+            last = new Assertion(stateIdOf(cycle.get(i)), last);
+        }
+        // close the cycle by returning to the seed
+        last = new Assertion(stateIdOf(prefix.get(prefix.size() - 1)), last);
+        return new FailureTrace(last, stateSpace);
+    }
+
+    private long encode(int stateId, int q, int counter) {
+
+        return (stateId * automatonSize + q) * acceptanceSets + counter;
+    }
+
+    private int stateIdOf(long productState) {
+
+        return (int) (productState / acceptanceSets / automatonSize);
+    }
+
+    private int automatonStateOf(long productState) {
+
+        return (int) ((productState / acceptanceSets) % automatonSize);
+    }
+
+    private int counterOf(long productState) {
+
+        return (int) (productState % acceptanceSets);
+    }
+}
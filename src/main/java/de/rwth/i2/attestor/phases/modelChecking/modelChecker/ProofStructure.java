@@ -1,22 +1,17 @@
 package de.rwth.i2.attestor.phases.modelChecking.modelChecker;
 
 import de.rwth.i2.attestor.LTLFormula;
-import de.rwth.i2.attestor.generated.node.ANextLtlform;
-import de.rwth.i2.attestor.generated.node.AReleaseLtlform;
-import de.rwth.i2.attestor.generated.node.Node;
-import de.rwth.i2.attestor.generated.node.Start;
 import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
+import de.rwth.i2.attestor.stateSpaceGeneration.TransitionRelation;
 import gnu.trove.iterator.TIntIterator;
 import gnu.trove.iterator.TIntObjectIterator;
-import gnu.trove.list.array.TIntArrayList;
 import gnu.trove.map.TIntObjectMap;
 import gnu.trove.map.hash.TIntObjectHashMap;
-import gnu.trove.set.TIntSet;
-import gnu.trove.set.hash.TIntHashSet;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.*;
+import java.util.function.IntPredicate;
 
 /**
  * The proof structure is generated by the tableau method for model checking
@@ -25,23 +20,30 @@ import java.util.*;
  * @author christina
  */
 
-public class ProofStructure {
+public class ProofStructure implements ModelCheckingProof {
 
     private static final Logger logger = LogManager.getLogger("proofStructure.java");
 
     final TIntObjectMap<Set<Assertion>> stateIdToVertices;
 
     final HashMap<Assertion, HashSet<SuccState>> edges;
+    private final ProofStructureComponents components;
+
+    // Maps the state and formulae of every assertion to the first assertion added with them
+    private final Map<AssertionKey, Assertion> assertionIndex;
     boolean successful = true;
 
     Assertion originOfFailure = null;
     boolean buildFullStructure = false;
     private StateSpace stateSpace;
+    private IntPredicate isExplored;
 
     public ProofStructure() {
 
         this.stateIdToVertices = new TIntObjectHashMap<>();
         this.edges = new LinkedHashMap<>();
+        this.components = new ProofStructureComponents();
+        this.assertionIndex = new HashMap<>();
     }
 
     void setBuildFullStructure() {
@@ -60,229 +62,237 @@ public class ProofStructure {
         } else {
             assertionsOfId.add(assertion);
         }
+        assertionIndex.putIfAbsent(keyOf(assertion), assertion);
+    }
+
+    private AssertionKey keyOf(Assertion assertion) {
+
+        int[] formulae = assertion.formulaIds.clone();
+        Arrays.sort(formulae);
+        return new AssertionKey(assertion.getProgramState(), formulae);
     }
 
     /**
      * This method builds the proof structure according to the tableau method (as depicted in
      * Jonathan's PhD thesis).
      * It sets the successful variable to false, if a failing leaf or cycle is detected.
+     * The proof structure is built in depth-first order such that cycles are detected by tracking its strongly
+     * connected components with Gabow's path-based algorithm.
      *
      * @param statespace, the (labelled) state space we want to check the formula for
-     * @param formula,    the ltl formula to check
+     * @param formula,    the ltl formula to check in positive normal form
      */
     public void build(StateSpace statespace, LTLFormula formula) {
 
+        buildPartial(statespace, formula, statespace.getObservableTransitions(), stateId -> true);
+    }
+
+    /**
+     * Builds the proof structure for a state space that is still being generated.
+     * The successors and atomic propositions of states that have not been explored yet may still change.
+     * Assertions about such states are thus neither evaluated nor expanded, i.e. they are leaves that
+     * neither succeed nor fail.
+     *
+     * @param statespace,            the (labelled) state space generated so far
+     * @param formula,               the ltl formula to check in positive normal form
+     * @param observableTransitions, a snapshot of the observable transitions of the state space
+     *                               (see {@link TransitionRelation#ofObservableSuccessors})
+     * @param isExplored,            determines whether the state with a given id has been explored
+     */
+    public void buildPartial(StateSpace statespace, LTLFormula formula, TransitionRelation observableTransitions,
+                             IntPredicate isExplored) {
+
         this.stateSpace = statespace;
+        this.isExplored = isExplored;
 
         logger.trace("Building proof structure for formula " + formula.toString());
 
-        // The queue holding the vertices that have still to be processed
-        LinkedList<Assertion> vertexQueue = new LinkedList<>();
+        // Precompute the tableau rules of all subformulae
+        FormulaClosure closure = new FormulaClosure(formula);
+        int[] initialFormulae = {closure.getRoot()};
 
-        // Initialise the switch
-        TableauRulesSwitch rulesSwitch = new TableauRulesSwitch(statespace);
+        // The vertices on the current search path together with their unexplored successors
+        Deque<Frame> searchPath = new ArrayDeque<>();
 
         TIntIterator initialStatesIterator = statespace.getInitialStateIds().iterator();
         while (initialStatesIterator.hasNext()) {
-            //for(ProgramState initial : statespace.getInitialStates()){
             int stateId = initialStatesIterator.next();
-            Assertion initialAssertion = new Assertion(stateId, null, formula);
+            Assertion initialAssertion = new Assertion(stateId, null, closure, initialFormulae, false);
             this.stateIdToVertices.putIfAbsent(stateId, new LinkedHashSet<>());
 
-            addAssertion(initialAssertion);
-            vertexQueue.add(initialAssertion);
-        }
-
-        // Process vertices until no unprocessed ones remain
-        while (!vertexQueue.isEmpty()) {
-
-            Assertion currentVertex = vertexQueue.poll();
-
-            // Do a tableau step
-            if (!currentVertex.getFormulae().isEmpty()) {
-                Node currentSubformula = currentVertex.getFirstFormula();
+            if (!discover(initialAssertion, closure, observableTransitions, searchPath)) {
+                return;
+            }
 
-                if (isNextForm(currentSubformula)) {
-                    // Apply next tableau rule to all remaining formula in the current vertice's formula set
-                    // Note that due to the insertion order we know that all contained formulae are next formulae
+            // Explore the successors of vertices in depth-first order until the search path is empty
+            while (!searchPath.isEmpty()) {
 
-                    // First collect the successor formula of each contained next formula
-                    HashSet<Node> nextSuccessors = new LinkedHashSet<>();
-                    for (Node nextFormula : currentVertex.getFormulae()) {
-                        nextFormula.apply(rulesSwitch);
+                Frame frame = searchPath.peek();
+                Assertion currentVertex = frame.vertex;
 
-                        assert (rulesSwitch.getOut(nextFormula) instanceof Node);
-                        Node successorNode = (Node) rulesSwitch.getOut(nextFormula);
-                        nextSuccessors.add(successorNode);
+                if (frame.position == frame.end) {
+                    searchPath.pop();
+                    components.pop(currentVertex);
+                } else if (frame.ruleSuccessors != null) {
+                    if (!discover(frame.ruleSuccessors[frame.position++], closure, observableTransitions,
+                            searchPath)) {
+                        return;
                     }
-
-                    // Generate an assertion for each successor state of the current state in the state space
-                    // with formula set equal to the next successor formulae generated before
-                    int currentState = currentVertex.getProgramState();
-                    TIntSet successors = new TIntHashSet(100);
-                    // Collect the "real" successor states (i.e. skipping materialisation steps)
-                    TIntArrayList materializationSuccessorIds = statespace.getMaterializationSuccessorsIdsOf(currentState);
-                    if (!materializationSuccessorIds.isEmpty()) {
-                        TIntIterator matStateIterator = materializationSuccessorIds.iterator();
-                        while (matStateIterator.hasNext()) {
-                            //for(ProgramState matState : statespace.getMaterializationSuccessorsIdsOf(currentState)){
-                            // Every materialisation state is followed by a control flow state
-                            int matState = matStateIterator.next();
-                            TIntArrayList controlFlowSuccessorIds = statespace.getControlFlowSuccessorsIdsOf(matState);
-                            assert (!controlFlowSuccessorIds.isEmpty());
-                            successors.addAll(controlFlowSuccessorIds);
+                } else {
+                    // Generate an assertion for the next successor state of the current state in the state space
+                    // with formula set equal to the next successor formulae
+                    // The "real" successor states (i.e. skipping materialisation steps) are precomputed
+                    int succState = observableTransitions.target(frame.position++);
+                    Assertion newAssertion =
+                            new Assertion(succState, currentVertex, closure, frame.nextFormulae, true);
+
+                    // Check if we have already seen an equal assertion before
+                    Assertion presentAssertion = assertionIndex.get(keyOf(newAssertion));
+                    if (presentAssertion == null) {
+                        this.addEdge(currentVertex, new SuccState(newAssertion, frame.subformula));
+                        if (!discover(newAssertion, closure, observableTransitions, searchPath)) {
+                            return;
                         }
-                    } else {
-                        successors.addAll(statespace.getControlFlowSuccessorsIdsOf(currentState));
-                        // In case the state is final
-                        successors.addAll(statespace.getArtificialInfPathsSuccessorsIdsOf(currentState));
+                        continue;
                     }
-                    TIntIterator successorIterator = successors.iterator();
-                    while (successorIterator.hasNext()) {
-                        int succState = successorIterator.next();
-                        Assertion newAssertion = new Assertion(succState, currentVertex, true);
+                    this.addEdge(currentVertex, new SuccState(presentAssertion, frame.subformula));
 
-                        for (Node succFormula : nextSuccessors) {
-                            newAssertion.addFormula(succFormula);
-                        }
+                    // we detected a potential cycle, check if it is a real and in that case an unharmful one
+                    // (containing a release operator)
+                    boolean isReal = components.addEdgeToPresentAssertion(currentVertex, presentAssertion);
 
-                        // Check if we have already seen an equal assertion before
-                        boolean formulaePresent = true;
-                        Set<Assertion> presentAssertions = getVerticesForState(newAssertion.getProgramState());
-                        // Note that formulaePresent is finally true, iff we found an equal assertion
-                        if (presentAssertions.isEmpty()) {
-                            formulaePresent = false;
-                        } else {
-                            for (Assertion presentAssertion : presentAssertions) {
-                                // Initialise for current iteration
-                                formulaePresent = true;
-                                if (newAssertion.getFormulae().size() == presentAssertion.getFormulae().size()) {
-                                    for (Node ASTnode : newAssertion.getFormulae()) {
-                                        if (!presentAssertion.getFormulae().contains(ASTnode)) {
-                                            formulaePresent = false;
-                                            break;
-                                        }
-                                    }
-                                } else {
-                                    formulaePresent = false;
-                                }
-                                if (formulaePresent) {
-                                    newAssertion = presentAssertion;
-                                    break;
-                                }
-                            }
-                        }
+                    if (isReal && !containsRelease(closure, presentAssertion.formulaIds)) {
+                        this.successful = false;
 
-                        this.addEdge(currentVertex, new SuccState(newAssertion, currentSubformula));
-
-                        addAssertion(newAssertion);
-                        // Process the assertion further only in case it is not one, that was already processed
-                        if (!formulaePresent) {
-                            vertexQueue.add(newAssertion);
-                        } else {
-                            // we detected a potential cycle, check if it is a real and in that case an unharmful one (containing a release
-                            // operator)
-
-                            // Real cycle?
-                            boolean isReal = false;
-                            // First collect all successors
-                            HashSet<Assertion> seen = new LinkedHashSet<>();
-                            LinkedList<Assertion> queue = new LinkedList<>();
-                            queue.add(newAssertion);
-                            seen.add(newAssertion);
-                            while (!queue.isEmpty() && !isReal) {
-                                Assertion curAssertion = queue.pop();
-                                for (Assertion succAssertion : this.getSuccessors(curAssertion)) {
-                                    if (succAssertion.equals(newAssertion)) {
-                                        isReal = true;
-                                        break;
-                                    }
-
-                                    if (!seen.contains(succAssertion)) {
-                                        queue.add(succAssertion);
-                                    }
-                                    seen.add(succAssertion);
-                                }
-
-                            }
-
-                            if (isReal) {
-                                // Contains a release operator?
-                                boolean containsReleaseOp = false;
-                                for (Node current : newAssertion.getFormulae()) {
-                                    if (current instanceof AReleaseLtlform) {
-                                        containsReleaseOp = true;
-                                    }
-                                }
-                                if (!containsReleaseOp) {
-                                    this.successful = false;
-
-                                    if (this.originOfFailure == null) {
-                                        this.originOfFailure = newAssertion;
-                                    }
-                                    // Optimisation: abort proof structure generation, as we already know that it is not successful!
-                                    if (!buildFullStructure) {
-                                        return;
-                                    }
-                                }
-                            }
+                        if (this.originOfFailure == null) {
+                            this.originOfFailure = presentAssertion;
                         }
-                    }
-                } else {
-                    rulesSwitch.setIn(currentSubformula, currentVertex);
-                    currentSubformula.apply(rulesSwitch);
-
-                    // Retrieve the generated assertions
-                    @SuppressWarnings("unchecked") Set<Assertion> successors = (Set<Assertion>) rulesSwitch.getOut(currentSubformula);
-                    // This means that the current vertex is not (yet) successful
-                    if (successors != null) {
-                        HashSet<SuccState> successorStates = new LinkedHashSet<>();
-                        for (Assertion assertion : successors) {
-                            successorStates.add(new SuccState(assertion, currentSubformula));
+                        // Optimisation: abort proof structure generation, as we already know that it is not
+                        // successful!
+                        if (!buildFullStructure) {
+                            return;
                         }
+                    }
+                }
+            }
+        }
+    }
 
-                        for (Assertion succ : successors) {
-                            addAssertion(succ);
-                        }
-                        vertexQueue.addAll(successors);
+    /**
+     * Adds a fresh vertex to the proof structure, does a tableau step and pushes the vertex together with
+     * its successors onto the search path.
+     *
+     * @return false if the vertex is a failing leaf and the construction should stop
+     */
+    private boolean discover(Assertion vertex, FormulaClosure closure, TransitionRelation observableTransitions,
+                             Deque<Frame> searchPath) {
 
-                        this.addEdges(currentVertex, successorStates);
+        addAssertion(vertex);
+        components.push(vertex);
+        Frame frame = new Frame(vertex);
+        searchPath.push(frame);
 
+        if (!isExplored.test(vertex.getProgramState())) {
+            // the assertion is undetermined until the state has been explored
+            return true;
+        }
 
-                    }
+        int[] formulae = vertex.formulaIds;
+        if (formulae.length == 0) {
+            this.successful = false;
+            if (this.originOfFailure == null) {
+                this.originOfFailure = vertex;
+            }
+            // Optimisation: abort proof structure generation, as we already know that it is not successful!
+            return buildFullStructure;
+        }
 
+        int currentSubformula = formulae[0];
+        frame.subformula = currentSubformula;
+        if (closure.getRule(currentSubformula) == FormulaClosure.Rule.NEXT) {
+            // Apply next tableau rule to all remaining formula in the current vertice's formula set
+            // Note that due to the insertion order we know that all contained formulae are next formulae
+            frame.nextFormulae = closure.nextFormulae(formulae);
+            int currentState = vertex.getProgramState();
+            frame.position = observableTransitions.begin(currentState);
+            frame.end = observableTransitions.end(currentState);
+        } else {
+            Assertion[] successors = applyRule(closure, vertex, stateSpace);
 
+            // This means that the current vertex is not (yet) successful
+            if (successors != null) {
+                HashSet<SuccState> successorStates = new LinkedHashSet<>();
+                for (Assertion assertion : successors) {
+                    successorStates.add(new SuccState(assertion, currentSubformula));
                 }
-            } else {
-                this.successful = false;
-                if (this.originOfFailure == null) {
-                    this.originOfFailure = currentVertex;
-                }
-                // Optimisation: abort proof structure generation, as we already know that it is not successful!
-                if (!buildFullStructure) {
-                    return;
-                }
+                this.addEdges(vertex, successorStates);
+                frame.ruleSuccessors = successors;
+                frame.end = successors.length;
             }
-
-
         }
+        return true;
     }
 
     /**
-     * This method collects all vertices, whose program state component is equal to
-     * the input program state.
+     * Applies the tableau rule of the first formula of the given assertion, which is not a next formula.
+     * This corresponds to applying the {@link TableauRulesSwitch} to the first formula.
      *
-     * @param programState, the state that the vertices are checked for
-     * @return a set containing all assertions with program state component 'state',
-     * if none exist an empty set is returned.
+     * @return the generated assertions or null if the given assertion is known to hold
      */
-    private Set<Assertion> getVerticesForState(int programState) {
+    private static Assertion[] applyRule(FormulaClosure closure, Assertion current, StateSpace statespace) {
+
+        int[] formulae = current.formulaIds;
+        int first = formulae[0];
+        int left = closure.getLeft(first);
+        int right = closure.getRight(first);
+        switch (closure.getRule(first)) {
+            case TRUE:
+                current.setTrue();
+                return null;
+            case FALSE:
+                return new Assertion[]{current.withFormulae(closure.successorFormulae(formulae, 1))};
+            case PROPOSITION:
+                if (statespace.satisfiesAP(current.getProgramState(), closure.getProposition(first))) {
+                    current.setTrue();
+                    return null;
+                }
+                return new Assertion[]{current.withFormulae(closure.successorFormulae(formulae, 1))};
+            case NEGATED_PROPOSITION:
+                if (!statespace.satisfiesAP(current.getProgramState(), closure.getProposition(first))) {
+                    current.setTrue();
+                    return null;
+                }
+                return new Assertion[]{current.withFormulae(closure.successorFormulae(formulae, 1))};
+            case AND:
+                return new Assertion[]{
+                        current.withFormulae(closure.successorFormulae(formulae, 1, left)),
+                        current.withFormulae(closure.successorFormulae(formulae, 1, right))
+                };
+            case OR:
+                return new Assertion[]{current.withFormulae(closure.successorFormulae(formulae, 1, left, right))};
+            case UNTIL:
+                return new Assertion[]{
+                        current.withFormulae(closure.successorFormulae(formulae, 1, left, right)),
+                        current.withFormulae(closure.successorFormulae(formulae, 1, right, closure.getUnrolled(first)))
+                };
+            case RELEASE:
+                return new Assertion[]{
+                        current.withFormulae(closure.successorFormulae(formulae, 1, right)),
+                        current.withFormulae(closure.successorFormulae(formulae, 1, left, closure.getUnrolled(first)))
+                };
+            default:
+                throw new IllegalStateException("Failed to apply tableau rule " + closure.getRule(first) + ".");
+        }
+    }
 
-        Set<Assertion> result = stateIdToVertices.get(programState);
-        if (result == null) {
-            return Collections.emptySet();
+    private static boolean containsRelease(FormulaClosure closure, int[] formulae) {
+
+        for (int formula : formulae) {
+            if (closure.getRule(formula) == FormulaClosure.Rule.RELEASE) {
+                return true;
+            }
         }
-        return result;
+        return false;
     }
 
     private void addEdges(Assertion currentVertex, HashSet<SuccState> successorStates) {
@@ -307,25 +317,7 @@ public class ProofStructure {
 
     }
 
-    /**
-     * This method checks whether the outermost operator of the formula is a next-operator.
-     *
-     * @param formula, the formula the outermost operator should be checked for
-     * @return true, in case the outermost operator is a next-operator
-     * false, in all other cases
-     */
-    private boolean isNextForm(Node formula) {
-
-        if (formula instanceof ANextLtlform) {
-            return true;
-        } else if (formula instanceof Start) {
-            Start helper = (Start) formula;
-            return helper.getPLtlform() instanceof ANextLtlform;
-        }
-
-        return false;
-    }
-
+    @Override
     public boolean isSuccessful() {
 
         return this.successful;
@@ -375,6 +367,7 @@ public class ProofStructure {
         return successors;
     }
 
+    @Override
     public FailureTrace getFailureTrace() {
 
         if (isSuccessful()) { // proof was successful, no counterexample exists
@@ -386,6 +379,65 @@ public class ProofStructure {
         return new FailureTrace(this.originOfFailure, stateSpace);
     }
 
+    /**
+     * Identifies assertions with equal program states and equal sets of formulae.
+     * Formulae are represented by the sorted ids of their subformulae.
+     */
+    private static final class AssertionKey {
+
+        final int programState;
+        final int[] formulae;
+        final int hash;
+
+        private AssertionKey(int programState, int[] formulae) {
+
+            this.programState = programState;
+            this.formulae = formulae;
+            this.hash = 31 * programState + Arrays.hashCode(formulae);
+        }
+
+        @Override
+        public int hashCode() {
+
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+
+            if (this == other) {
+                return true;
+            }
+            if (other == null || other.getClass() != AssertionKey.class) {
+                return false;
+            }
+            AssertionKey key = (AssertionKey) other;
+            return hash == key.hash
+                    && programState == key.programState
+                    && Arrays.equals(formulae, key.formulae);
+        }
+    }
+
+    /**
+     * A vertex on the search path of the depth-first construction together with the position of its next
+     * unexplored successor. Successors are either the assertions obtained from a tableau rule or, for the next
+     * rule, the observable transitions of the state of the vertex.
+     */
+    private static final class Frame {
+
+        final Assertion vertex;
+        Assertion[] ruleSuccessors = null;
+        int[] nextFormulae = null;
+        int subformula;
+        int position = 0;
+        int end = 0;
+
+        private Frame(Assertion vertex) {
+
+            this.vertex = vertex;
+        }
+    }
+
     /**
      * This class models the edges of the proof structure. I.e. it holds a successor assertion
      * together with the edge label, that carries the type of applied tableau rule.
@@ -395,10 +447,11 @@ public class ProofStructure {
     class SuccState {
 
         final Assertion assertion;
-        final Node type;
+        // the id of the subformula whose tableau rule has been applied
+        final int type;
 
         // TODO: check if we need succstates instead of assertions only
-        private SuccState(Assertion assertion, Node type) {
+        private SuccState(Assertion assertion, int type) {
 
             this.assertion = assertion;
             this.type = type;
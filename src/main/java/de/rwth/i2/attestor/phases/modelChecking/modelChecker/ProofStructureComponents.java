@@ -0,0 +1,92 @@
+package de.rwth.i2.attestor.phases.modelChecking.modelChecker;
+
+import gnu.trove.impl.Constants;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.TObjectIntMap;
+import gnu.trove.map.hash.TObjectIntHashMap;
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
+
+/**
+ * Maintains the strongly connected components of a proof structure while it is built in depth-first order.
+ * <br>
+ * Components are computed by Gabow's path-based algorithm: Assertions are numbered in the order in which
+ * they are {@link #push(Assertion) discovered}. A stack holds all discovered assertions whose component has
+ * not been completed yet and a second stack holds the boundaries between the components on the current
+ * search path. An edge to an assertion on the first stack closes a cycle and merges all components above
+ * this assertion by popping boundaries. A component is completed once the search {@link #pop(Assertion) leaves}
+ * its first assertion. Hence, every assertion is pushed and popped exactly once and every edge is handled
+ * in constant amortized time.
+ */
+class ProofStructureComponents {
+
+    private static final int ON_STACK = -1;
+
+    // the discovery index of every assertion
+    private final TObjectIntMap<Assertion> preorder =
+            new TObjectIntHashMap<>(Constants.DEFAULT_CAPACITY, Constants.DEFAULT_LOAD_FACTOR, -1);
+    // the discovery index of the first assertion of the component of every assertion, or ON_STACK
+    private final TIntArrayList components = new TIntArrayList();
+    private final TIntArrayList stack = new TIntArrayList();
+    private final TIntArrayList boundaries = new TIntArrayList();
+    // the first assertions of all components that contain a cycle
+    private final TIntSet cyclicComponents = new TIntHashSet();
+
+    /**
+     * Registers an assertion whose successors are explored next.
+     *
+     * @param assertion A fresh assertion.
+     */
+    void push(Assertion assertion) {
+
+        int index = components.size();
+        preorder.put(assertion, index);
+        components.add(ON_STACK);
+        stack.add(index);
+        boundaries.add(index);
+    }
+
+    /**
+     * Completes the component of the given assertion if all of its successors have been explored and the
+     * assertion is the first assertion of its component.
+     *
+     * @param assertion The assertion whose successors have been explored, i.e. the most recently pushed
+     *                  assertion that has not been popped yet.
+     */
+    void pop(Assertion assertion) {
+
+        int index = preorder.get(assertion);
+        if (boundaries.get(boundaries.size() - 1) != index) {
+            return;
+        }
+        boundaries.removeAt(boundaries.size() - 1);
+        while (!stack.isEmpty() && stack.get(stack.size() - 1) >= index) {
+            components.set(stack.removeAt(stack.size() - 1), index);
+        }
+    }
+
+    /**
+     * Updates the components after an edge from source to an already discovered target assertion
+     * has been added to the proof structure.
+     *
+     * @param source The source of the added edge, i.e. the assertion whose successors are explored.
+     * @param target The target of the added edge.
+     * @return true if and only if target lies on a cycle of the proof structure.
+     */
+    boolean addEdgeToPresentAssertion(Assertion source, Assertion target) {
+
+        int targetIndex = preorder.get(target);
+        int component = components.get(targetIndex);
+        if (component != ON_STACK) {
+            // the component of target is complete and thus cannot become part of a larger cycle
+            return cyclicComponents.contains(component);
+        }
+
+        // target reaches source, which closes a cycle through all components above target
+        while (boundaries.get(boundaries.size() - 1) > targetIndex) {
+            boundaries.removeAt(boundaries.size() - 1);
+        }
+        cyclicComponents.add(boundaries.get(boundaries.size() - 1));
+        return true;
+    }
+}
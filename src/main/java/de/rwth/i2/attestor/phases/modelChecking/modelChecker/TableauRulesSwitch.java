@@ -3,10 +3,13 @@ package de.rwth.i2.attestor.phases.modelChecking.modelChecker;
 import com.google.common.collect.HashBiMap;
 import de.rwth.i2.attestor.generated.analysis.AnalysisAdapter;
 import de.rwth.i2.attestor.generated.node.*;
+import de.rwth.i2.attestor.stateSpaceGeneration.AtomicPropositionLabel;
 import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
 
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
 
 /**
  * This class implements the tableau rules for the model checking.
@@ -24,12 +27,20 @@ public class TableauRulesSwitch extends AnalysisAdapter {
 
     final StateSpace stateSpace;
 
+    // Caches the ids of the atomic propositions corresponding to subformulae
+    private final Map<Node, Integer> propositionIds = new IdentityHashMap<>();
+
     public TableauRulesSwitch(StateSpace stateSpace) {
 
         additionalNextFormulae = HashBiMap.create();
         this.stateSpace = stateSpace;
     }
 
+    private int propositionIdOf(Node node) {
+
+        return propositionIds.computeIfAbsent(node, n -> AtomicPropositionLabel.lookup(n.toString().trim()));
+    }
+
     /**
      * Care! This case should never happen, because we initialise the proof structure with the
      * successor node of the AST start node!
@@ -73,8 +84,7 @@ public class TableauRulesSwitch extends AnalysisAdapter {
 
         Assertion current = (Assertion) this.getIn(node);
 
-        String expectedAP = node.toString().trim();
-        if (stateSpace.satisfiesAP(current.getProgramState(), expectedAP)) {
+        if (stateSpace.satisfiesAP(current.getProgramState(), propositionIdOf(node))) {
             //if(current.getProgramState().satisfiesAP(expectedAP)){
             current.setTrue();
             this.setOut(node, null);
@@ -115,11 +125,10 @@ public class TableauRulesSwitch extends AnalysisAdapter {
 
         ATermLtlform term = (ATermLtlform) node.getLtlform();
 
-        String negExpectedAP = node.getLtlform().toString().trim();
-        //String negExpectedAP = node.getAtomicprop().toString().trim();
         if (term.getTerm() instanceof ATrueTerm) {
             removeFormulaAndSetOut(node);
-        } else if (term.getTerm() instanceof AFalseTerm || !stateSpace.satisfiesAP(current.getProgramState(), negExpectedAP)) {
+        } else if (term.getTerm() instanceof AFalseTerm
+                || !stateSpace.satisfiesAP(current.getProgramState(), propositionIdOf(node.getLtlform()))) {
             //if(term.getTerm() instanceof AFalseTerm || !current.getProgramState().satisfiesAP(negExpectedAP)){
             current.setTrue();
             this.setOut(node, null);
@@ -7,12 +7,14 @@ import de.rwth.i2.attestor.grammar.canonicalization.CanonicalizationStrategyBuil
 import de.rwth.i2.attestor.grammar.materialization.strategies.MaterializationStrategy;
 import de.rwth.i2.attestor.grammar.materialization.strategies.MaterializationStrategyBuilder;
 import de.rwth.i2.attestor.main.AbstractPhase;
+import de.rwth.i2.attestor.main.scene.Options;
 import de.rwth.i2.attestor.main.scene.Scene;
 import de.rwth.i2.attestor.phases.symbolicExecution.utilStrategies.*;
 import de.rwth.i2.attestor.phases.transformers.GrammarTransformer;
 import de.rwth.i2.attestor.phases.transformers.StateLabelingStrategyBuilderTransformer;
 import de.rwth.i2.attestor.refinement.BundledStateRefinementStrategy;
 import de.rwth.i2.attestor.refinement.garbageCollection.GarbageCollector;
+import de.rwth.i2.attestor.stateSpaceGeneration.AbortStrategy;
 import de.rwth.i2.attestor.stateSpaceGeneration.StateLabelingStrategy;
 import de.rwth.i2.attestor.stateSpaceGeneration.StateMaterializationStrategy;
 import de.rwth.i2.attestor.stateSpaceGeneration.StateRefinementStrategy;
@@ -142,14 +144,26 @@ public class AbstractionPreprocessingPhase extends AbstractPhase {
 
         int stateSpaceBound = scene().options().getMaxStateSpace();
         int stateBound = scene().options().getMaxHeap();
-        scene().strategies().setAbortStrategy(
-                new StateSpaceBoundedAbortStrategy(stateSpaceBound, stateBound)
-        );
+        AbortStrategy abortStrategy = new StateSpaceBoundedAbortStrategy(stateSpaceBound, stateBound);
         logger.debug("Setup abort criterion: #states > "
                 + stateSpaceBound
                 + " or one state is larger than "
                 + stateBound
                 + " nodes.");
+
+        Options options = scene().options();
+        if (options.isBudgetEnabled()) {
+            abortStrategy = new BudgetAbortStrategy(
+                    abortStrategy,
+                    options.getMemoryBudget() / 100.0,
+                    options.getCallTimeBudget() * 1000L,
+                    options.getTimeBudget() * 1000L
+            );
+            logger.debug("Setup budget: " + options.getMemoryBudget() + "% heap usage, "
+                    + options.getCallTimeBudget() + "s per procedure call, "
+                    + options.getTimeBudget() + "s in total.");
+        }
+        scene().strategies().setAbortStrategy(abortStrategy);
     }
 
     private void setupStateLabeling() {
@@ -5,16 +5,24 @@ import de.rwth.i2.attestor.procedures.Contract;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 
+/**
+ * A contract whose postconditions may be extended concurrently to reading them.
+ * Readers always obtain an immutable snapshot of the postconditions such that procedure calls analyzed in parallel
+ * may apply a contract while another call adds further postconditions to it.
+ */
 public class InternalContract implements Contract {
 
     private final HeapConfiguration precondition;
     private final Collection<HeapConfiguration> postconditions;
+    private volatile Collection<HeapConfiguration> snapshot;
 
     public InternalContract(HeapConfiguration precondition, Collection<HeapConfiguration> postconditions) {
 
         this.precondition = precondition;
         this.postconditions = postconditions;
+        this.snapshot = Collections.unmodifiableList(new ArrayList<>(postconditions));
     }
 
     public InternalContract(HeapConfiguration precondition) {
@@ -23,9 +31,11 @@ public class InternalContract implements Contract {
     }
 
     @Override
-    public void addPostconditions(Collection<HeapConfiguration> postconditions) {
+    public synchronized void addPostconditions(Collection<HeapConfiguration> postconditions) {
 
-        this.postconditions.addAll(postconditions);
+        if (this.postconditions.addAll(postconditions)) {
+            snapshot = Collections.unmodifiableList(new ArrayList<>(this.postconditions));
+        }
     }
 
     @Override
@@ -37,6 +47,6 @@ public class InternalContract implements Contract {
     @Override
     public Collection<HeapConfiguration> getPostconditions() {
 
-        return postconditions;
+        return snapshot;
     }
 }
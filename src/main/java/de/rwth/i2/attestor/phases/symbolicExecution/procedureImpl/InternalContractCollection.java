@@ -1,52 +1,78 @@
 package de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl;
 
 import java.util.*;
-import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.heap.matching.PreconditionCertificate;
 import de.rwth.i2.attestor.procedures.*;
 
+/**
+ * Stores contracts indexed by a {@link PreconditionCertificate} of their precondition.
+ * Hence, a precondition is only matched against contracts whose precondition has the same certificate,
+ * which are almost always isomorphic to it.
+ * <p>
+ * The contracts of every certificate are kept in an immutable list that is replaced whenever a contract is added.
+ * Preconditions are thus matched against a snapshot of these lists without holding any lock such that
+ * concurrent procedure calls do not wait for each other's isomorphism checks.
+ */
 public class InternalContractCollection implements ContractCollection {
 
     private final PreconditionMatchingStrategy preconditionMatchingStrategy;
 
-    private final Map<Integer, Collection<Contract>> contracts;
+    private final ConcurrentMap<PreconditionCertificate, List<Contract>> contracts;
 
     public InternalContractCollection(PreconditionMatchingStrategy preconditionMatchingStrategy) {
 
         this.preconditionMatchingStrategy = preconditionMatchingStrategy;
-        this.contracts = new HashMap<>();
+        this.contracts = new ConcurrentHashMap<>();
     }
 
     @Override
     public void addContract(Contract contract) {
 
-        int preconditionHash = contract.getPrecondition().hashCode();
-        if(!contracts.containsKey(preconditionHash)) {
-            Collection<Contract> value = new ArrayList<>();
-            value.add(contract);
-            contracts.put(preconditionHash, value);
-        } else {
-            Collection<Contract> hashedContracts = contracts.get(preconditionHash);
-            for (Contract c : hashedContracts) {
+        PreconditionCertificate certificate = PreconditionCertificate.of(contract.getPrecondition());
+        int numberOfCheckedContracts = 0;
+        while (true) {
+            List<Contract> hashedContracts = contracts.get(certificate);
+            if (hashedContracts == null) {
+                if (contracts.putIfAbsent(certificate, Collections.singletonList(contract)) == null) {
+                    return;
+                }
+                continue;
+            }
+
+            // contracts checked in a previous attempt are never removed and thus need not be checked again
+            for (int i = numberOfCheckedContracts; i < hashedContracts.size(); i++) {
+                Contract c = hashedContracts.get(i);
                 ContractMatch match = preconditionMatchingStrategy.match(c, contract.getPrecondition());
                 if (match.hasMatch()) {
                     c.addPostconditions(contract.getPostconditions());
                     return;
                 }
             }
-            hashedContracts.add(contract);
+            numberOfCheckedContracts = hashedContracts.size();
+
+            List<Contract> extendedContracts = new ArrayList<>(hashedContracts.size() + 1);
+            extendedContracts.addAll(hashedContracts);
+            extendedContracts.add(contract);
+            // fails if another contract with the same certificate has been added in the meantime
+            if (contracts.replace(certificate, hashedContracts, Collections.unmodifiableList(extendedContracts))) {
+                return;
+            }
         }
     }
 
     @Override
     public ContractMatch matchContract(HeapConfiguration precondition) {
 
-        int preconditionHash = precondition.hashCode();
-        if(!contracts.containsKey(preconditionHash)) {
-            contracts.put(preconditionHash, new ArrayList<>());
+        PreconditionCertificate certificate = PreconditionCertificate.of(precondition);
+        List<Contract> hashedContracts = contracts.get(certificate);
+        if(hashedContracts == null) {
+            return ContractMatch.NO_CONTRACT_MATCH;
         }
-        for(Contract contract : contracts.get(preconditionHash)) {
+        for(Contract contract : hashedContracts) {
             ContractMatch match = preconditionMatchingStrategy.match(contract, precondition);
             if(match.hasMatch()) {
                 return match;
@@ -59,8 +85,8 @@ public class InternalContractCollection implements ContractCollection {
 	@Override
 	public Collection<Contract> getContractsForExport() {
 		Collection<Contract> contractsForExport = new ArrayList<>();
-		for( Entry<Integer, Collection<Contract>> entry : contracts.entrySet() ){
-			contractsForExport.addAll(entry.getValue());
+		for( Collection<Contract> hashedContracts : contracts.values() ){
+			contractsForExport.addAll(hashedContracts);
 		}
 		return contractsForExport;
 	}
@@ -5,13 +5,20 @@ import de.rwth.i2.attestor.main.scene.Scene;
 import de.rwth.i2.attestor.main.scene.SceneObject;
 import de.rwth.i2.attestor.main.scene.Strategies;
 import de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl.InternalStateSpace;
+import de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl.SpilledStateStore;
+import de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl.SpillingStateSpace;
+import de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl.SubsumingStateSpace;
 import de.rwth.i2.attestor.phases.symbolicExecution.utilStrategies.*;
 import de.rwth.i2.attestor.stateSpaceGeneration.*;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class StateSpaceGeneratorFactory extends SceneObject{
 
+    private SpilledStateStore spilledStateStore = null;
+    private final List<SpillingStateSpace> spillingStateSpaces = new ArrayList<>();
+
     public StateSpaceGeneratorFactory(Scene scene) {
         super(scene);
     }
@@ -50,6 +57,9 @@ public class StateSpaceGeneratorFactory extends SceneObject{
                 .setAlwaysCanonicalize(
                         strategies.isAlwaysCanonicalize()
                 )
+                .setStraightLineCompression(
+                        scene().options().isStraightLineCompressionEnabled()
+                )
                 .setCanonizationStrategy(
                         new StateCanonicalizationStrategy(strategies.getCanonicalizationStrategy())
                 )
@@ -63,12 +73,55 @@ public class StateSpaceGeneratorFactory extends SceneObject{
                         scene()::addNumberOfGeneratedStates
                 )
                 .setStateExplorationStrategy(new DepthFirstStateExplorationStrategy())
-                .setStateSpaceSupplier(() -> new InternalStateSpace(scene().options().getMaxStateSpace()))
+                .setStateSpaceSupplier(getStateSpaceSupplier())
                 .setPostProcessingStrategy(getPostProcessingStrategy())
                 .setFinalStateStrategy(new TerminalStatementFinalStateStrategy())
                 ;
     }
 
+    private StateSpaceSupplier getStateSpaceSupplier() {
+
+        int maxStateSpace = scene().options().getMaxStateSpace();
+
+        if (!scene().options().isStateSpillingEnabled()) {
+            if (scene().options().isStateSubsumptionEnabled()) {
+                StateCanonicalizationStrategy subsumptionStrategy = new StateCanonicalizationStrategy(
+                        scene().strategies().getAggressiveCanonicalizationStrategy()
+                );
+                return () -> new SubsumingStateSpace(maxStateSpace, subsumptionStrategy);
+            }
+            return () -> new InternalStateSpace(maxStateSpace);
+        }
+
+        if (spilledStateStore == null) {
+            spilledStateStore = new SpilledStateStore(this);
+        }
+
+        int maxResidentStates = scene().options().getMaxResidentStates();
+        SpilledStateStore store = spilledStateStore;
+        return () -> {
+            SpillingStateSpace stateSpace = new SpillingStateSpace(maxStateSpace, maxResidentStates, store);
+            spillingStateSpaces.add(stateSpace);
+            return stateSpace;
+        };
+    }
+
+    /**
+     * Closes all state spaces created by this factory that spill states to disk, except for the given one.
+     * The underlying file is deleted once the retained state space is closed as well.
+     *
+     * @param retainedStateSpace A state space that is still in use, e.g. the top-level state space.
+     */
+    public void closeStateSpacesExcept(StateSpace retainedStateSpace) {
+
+        for (SpillingStateSpace stateSpace : spillingStateSpaces) {
+            if (stateSpace != retainedStateSpace) {
+                stateSpace.close();
+            }
+        }
+        spillingStateSpaces.removeIf(stateSpace -> stateSpace != retainedStateSpace);
+    }
+
     private PostProcessingStrategy getPostProcessingStrategy() {
 
         CanonicalizationStrategy aggressiveStrategy = scene().strategies().getAggressiveCanonicalizationStrategy();
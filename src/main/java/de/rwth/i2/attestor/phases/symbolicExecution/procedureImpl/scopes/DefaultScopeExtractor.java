@@ -6,10 +6,31 @@ import de.rwth.i2.attestor.procedures.ScopeExtractor;
 import de.rwth.i2.attestor.procedures.ScopedHeap;
 import de.rwth.i2.attestor.util.Pair;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Extracts the fragment reachable by a method from the heap of a calling state.
+ * The most recently extracted scopes are cached, because the same calling heap is passed to a method
+ * repeatedly, e.g. whenever a calling state is continued during the fixpoint iteration.
+ * Since scoped heaps are never modified, a scope is reused for every isomorphic calling heap.
+ */
 public class DefaultScopeExtractor extends SceneObject implements ScopeExtractor {
 
+    private static final int CACHE_SIZE = 64;
+
     private String scopeName;
 
+    private final Map<HeapConfiguration, ScopedHeap> cache =
+            new LinkedHashMap<HeapConfiguration, ScopedHeap>(CACHE_SIZE, 0.75f, true) {
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<HeapConfiguration, ScopedHeap> eldest) {
+
+                    return size() > CACHE_SIZE;
+                }
+            };
+
     public DefaultScopeExtractor(SceneObject sceneObject, String scopeName) {
         super(sceneObject);
         this.scopeName = scopeName;
@@ -18,8 +39,21 @@ public class DefaultScopeExtractor extends SceneObject implements ScopeExtractor
     @Override
     public ScopedHeap extractScope(HeapConfiguration heapConfiguration) {
 
+        synchronized (cache) {
+            ScopedHeap result = cache.get(heapConfiguration);
+            if (result != null) {
+                return result;
+            }
+        }
+
         ReachableFragmentComputer computer = new ReachableFragmentComputer(this, scopeName, heapConfiguration);
         Pair<HeapConfiguration, Pair<HeapConfiguration, Integer>> fragments = computer.prepareInput();
-        return new InternalScopedHeap(fragments.first(), fragments.second().first(), fragments.second().second());
+        ScopedHeap result = new InternalScopedHeap(fragments.first(), fragments.second().first(),
+                fragments.second().second());
+
+        synchronized (cache) {
+            cache.put(heapConfiguration, result);
+        }
+        return result;
     }
 }
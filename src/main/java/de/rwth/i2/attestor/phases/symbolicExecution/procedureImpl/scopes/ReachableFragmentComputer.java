@@ -8,13 +8,18 @@ import de.rwth.i2.attestor.main.scene.SceneObject;
 import de.rwth.i2.attestor.semantics.util.Constants;
 import de.rwth.i2.attestor.types.Type;
 import de.rwth.i2.attestor.util.Pair;
+import gnu.trove.iterator.TIntIterator;
 import gnu.trove.list.array.TIntArrayList;
-
-import java.util.*;
+import gnu.trove.map.TIntIntMap;
+import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
 
 /**
  * This is an algorithm class storing some of its
  * intermediate results as fields to reduce parameters.
+ * All node and edge sets are kept in primitive collections, since scopes
+ * are extracted at every procedure invocation.
  *
  * @author hannah
  */
@@ -24,7 +29,9 @@ class ReachableFragmentComputer extends SceneObject {
     HeapConfigurationBuilder reachableFragmentBuilder;
     HeapConfigurationBuilder remainingFragmentBuilder;
     // maps the nodeIds in the input on nodeIds in the reachable fragment
-    Map<Integer, Integer> idMapping;
+    TIntIntMap idMapping;
+    // the cutpoints, i.e. the tentacles of the nonterminal replacing the reachable fragment
+    private TIntSet cutpoints;
     private String displayName;
 
 
@@ -48,12 +55,13 @@ class ReachableFragmentComputer extends SceneObject {
         this.reachableFragmentBuilder = input.getEmpty().builder();
         this.remainingFragmentBuilder = input.clone().builder();
 
-        idMapping = new LinkedHashMap<>();
+        idMapping = new TIntIntHashMap();
+        cutpoints = new TIntHashSet();
 
-        Queue<Integer> queue = findAccessibleNodes();
+        TIntArrayList queue = findAccessibleNodes();
         computeReachableFragment(queue);
         TIntArrayList tentacles = computeCutpoints();
-        cutReachableFragment(tentacles);
+        cutReachableFragment();
         int idOfNonterminal = addIpaNonterminal(tentacles);
 
         HeapConfiguration reachableFragment = reachableFragmentBuilder.build();
@@ -76,9 +84,9 @@ class ReachableFragmentComputer extends SceneObject {
      *
      * @return a queue containing the nodes accessed by parameters
      */
-    private Queue<Integer> findAccessibleNodes() {
+    private TIntArrayList findAccessibleNodes() {
 
-        Queue<Integer> queue = new ArrayDeque<>();
+        TIntArrayList queue = new TIntArrayList();
 
         TIntArrayList variables = input.variableEdges();
         for (int i = 0; i < variables.size(); i++) {
@@ -99,15 +107,15 @@ class ReachableFragmentComputer extends SceneObject {
      * Computes the fragment reachable from the nodes in the queue
      *
      * @param queue containing all nodes already determined to be reachable,
-     *              but not yet handled.
+     *              but not yet handled. Nodes are appended to the queue and never removed.
      */
-    private void computeReachableFragment(Queue<Integer> queue) {
+    private void computeReachableFragment(TIntArrayList queue) {
 
-        Set<Integer> visitedNonterminalEdges = new LinkedHashSet<>();
+        TIntSet visitedNonterminalEdges = new TIntHashSet();
 
-        while (!queue.isEmpty()) {
+        for (int head = 0; head < queue.size(); head++) {
 
-            int nodeId = queue.poll();
+            int nodeId = queue.get(head);
 
             addSelectorEdgesOf(nodeId, queue);
             addNonterminalEdgesOf(nodeId, queue, visitedNonterminalEdges);
@@ -128,14 +136,14 @@ class ReachableFragmentComputer extends SceneObject {
 
         TIntArrayList tentacles = new TIntArrayList();
 
-        Deque<Integer> nodesReachableFromVariables = new ArrayDeque<>();
-        Set<Integer> visited = new LinkedHashSet<>();
+        TIntArrayList nodesReachableFromVariables = new TIntArrayList();
+        TIntSet visited = new TIntHashSet();
 
         addNodesReferencedByVariablesTo(nodesReachableFromVariables);
         addExternalNodesTo(nodesReachableFromVariables);
 
-        while (!nodesReachableFromVariables.isEmpty()) {
-            int nodeId = nodesReachableFromVariables.pop();
+        for (int head = 0; head < nodesReachableFromVariables.size(); head++) {
+            int nodeId = nodesReachableFromVariables.get(head);
             if (idMapping.containsKey(nodeId)) {
                 setCutpoint(nodeId, tentacles);
             } else {
@@ -150,13 +158,12 @@ class ReachableFragmentComputer extends SceneObject {
     /**
      * removes all nodes which are in the reachable fragment and not cutpoints
      * from the remaining fragment
-     *
-     * @param cutpoints the list of cutpoints
      */
-    private void cutReachableFragment(TIntArrayList cutpoints) {
+    private void cutReachableFragment() {
 
-        Set<Integer> nodesInReachableFragment = idMapping.keySet();
-        for (Integer n : nodesInReachableFragment) {
+        TIntIterator nodesInReachableFragment = idMapping.keySet().iterator();
+        while (nodesInReachableFragment.hasNext()) {
+            int n = nodesInReachableFragment.next();
             if (!cutpoints.contains(n)) {
                 remainingFragmentBuilder.removeIsolatedNode(n);
             }
@@ -190,7 +197,7 @@ class ReachableFragmentComputer extends SceneObject {
      * @param variableName the id of the variable edge in the input
      * @param queue        the queue of the reachability search
      */
-    private void handleParameter(final int variableEdge, String variableName, Queue<Integer> queue) {
+    private void handleParameter(final int variableEdge, String variableName, TIntArrayList queue) {
 
         int targetedNode = input.targetOf(variableEdge);
         if (!idMapping.containsKey(targetedNode)) {
@@ -253,7 +260,7 @@ class ReachableFragmentComputer extends SceneObject {
      * @param nodeId the node in the input whose selectors should be considered
      * @param queue  the queue of the reachability search
      */
-    private void addSelectorEdgesOf(int nodeId, Queue<Integer> queue) {
+    private void addSelectorEdgesOf(int nodeId, TIntArrayList queue) {
 
         for (SelectorLabel sel : input.selectorLabelsOf(nodeId)) {
             int successorNode = input.selectorTargetOf(nodeId, sel);
@@ -277,18 +284,17 @@ class ReachableFragmentComputer extends SceneObject {
      *                                search (necessary, since a nonterminalEdge could be approached from multiple sides)
      */
     private void addNonterminalEdgesOf(int nodeId,
-                                       Queue<Integer> queue, Set<Integer> visitedNonterminalEdges) {
+                                       TIntArrayList queue, TIntSet visitedNonterminalEdges) {
 
         TIntArrayList nonterminalEdges = input.attachedNonterminalEdgesOf(nodeId);
         for (int i = 0; i < nonterminalEdges.size(); i++) {
             int nonterminalEdge = nonterminalEdges.get(i);
-            if (visitedNonterminalEdges.contains(nonterminalEdge)) {
+            if (!visitedNonterminalEdges.add(nonterminalEdge)) {
                 continue; //each nonterminalEdge should only be considered once.
             }
             TIntArrayList translatedAttachedNodes = handleTentacles(queue, nonterminalEdge);
             reachableFragmentBuilder.addNonterminalEdge(input.labelOf(nonterminalEdge), translatedAttachedNodes);
             remainingFragmentBuilder.removeNonterminalEdge(nonterminalEdge);
-            visitedNonterminalEdges.add(nonterminalEdge);
         }
     }
 
@@ -301,10 +307,10 @@ class ReachableFragmentComputer extends SceneObject {
      * @param nonterminalEdge the nonterminal edge to consider
      * @return the nodes corresponding to the tentacles in the reachable fragment
      */
-    private TIntArrayList handleTentacles(Queue<Integer> queue, int nonterminalEdge) {
+    private TIntArrayList handleTentacles(TIntArrayList queue, int nonterminalEdge) {
 
         TIntArrayList attachedNodes = input.attachedNodesOf(nonterminalEdge);
-        TIntArrayList translatedAttachedNodes = new TIntArrayList();
+        TIntArrayList translatedAttachedNodes = new TIntArrayList(attachedNodes.size());
         for (int n = 0; n < attachedNodes.size(); n++) {
             int attachedNode = attachedNodes.get(n);
             if (!idMapping.containsKey(attachedNode)) {
@@ -325,7 +331,7 @@ class ReachableFragmentComputer extends SceneObject {
      *
      * @param nodesReachableFromVariables the dequeue to which the nodes are added
      */
-    private void addNodesReferencedByVariablesTo(Deque<Integer> nodesReachableFromVariables) {
+    private void addNodesReferencedByVariablesTo(TIntArrayList nodesReachableFromVariables) {
 
         TIntArrayList variables = input.variableEdges();
         for (int i = 0; i < variables.size(); i++) {
@@ -342,12 +348,9 @@ class ReachableFragmentComputer extends SceneObject {
      *
      * @param nodesReachableFromVariables the dequeue to which the external nodes are added
      */
-    private void addExternalNodesTo(Deque<Integer> nodesReachableFromVariables) {
+    private void addExternalNodesTo(TIntArrayList nodesReachableFromVariables) {
 
-        TIntArrayList externals = input.externalNodes();
-        for (int i = 0; i < externals.size(); i++) {
-            nodesReachableFromVariables.add(externals.get(i));
-        }
+        nodesReachableFromVariables.addAll(input.externalNodes());
     }
 
     /**
@@ -358,8 +361,8 @@ class ReachableFragmentComputer extends SceneObject {
      * @param visited the nodes already visited
      */
     private void addNodesReachableThroughSelectorFrom(int nodeId,
-                                                      Deque<Integer> dequeue,
-                                                      Set<Integer> visited) {
+                                                      TIntArrayList dequeue,
+                                                      TIntSet visited) {
 
         TIntArrayList successors = input.successorNodesOf(nodeId);
         for (int i = 0; i < successors.size(); i++) {
@@ -376,7 +379,7 @@ class ReachableFragmentComputer extends SceneObject {
      * @param visited the nodes already visited
      */
     private void addNodesReachableThroughNonterminalEdge(int nodeId,
-                                                         Deque<Integer> dequeue, Set<Integer> visited) {
+                                                         TIntArrayList dequeue, TIntSet visited) {
 
         TIntArrayList nonterminalEdges = input.attachedNonterminalEdgesOf(nodeId);
         for (int edgeIndex = 0; edgeIndex < nonterminalEdges.size(); edgeIndex++) {
@@ -399,12 +402,11 @@ class ReachableFragmentComputer extends SceneObject {
      * @param visited the set to add to
      */
     private void addReachableNode(int nodeId,
-                                  Deque<Integer> dequeue,
-                                  Set<Integer> visited) {
+                                  TIntArrayList dequeue,
+                                  TIntSet visited) {
 
-        if (!visited.contains(nodeId)) {
+        if (visited.add(nodeId)) {
             dequeue.add(nodeId);
-            visited.add(nodeId);
         }
     }
 
@@ -420,7 +422,7 @@ class ReachableFragmentComputer extends SceneObject {
      */
     private void setCutpoint(int nodeId, TIntArrayList tentacles) {
 
-        if (!tentacles.contains(nodeId)) {
+        if (cutpoints.add(nodeId)) {
             reachableFragmentBuilder.setExternal(idMapping.get(nodeId));
             tentacles.add(nodeId);
         }
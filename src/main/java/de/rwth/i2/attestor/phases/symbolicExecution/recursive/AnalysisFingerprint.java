@@ -0,0 +1,172 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.recursive;
+
+import de.rwth.i2.attestor.grammar.Grammar;
+import de.rwth.i2.attestor.graph.Nonterminal;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.main.scene.Options;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.procedures.Method;
+import de.rwth.i2.attestor.semantics.TerminalStatement;
+import de.rwth.i2.attestor.stateSpaceGeneration.Program;
+import de.rwth.i2.attestor.stateSpaceGeneration.SemanticsCommand;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Computes fingerprints of the program, the grammar and the options that influence the computed contracts.
+ * Files storing contracts across several runs use these fingerprints to detect whether their contents are
+ * still valid.
+ */
+final class AnalysisFingerprint extends SceneObject {
+
+    private final Grammar grammar;
+
+    private final Map<Method, String> bodyFingerprints = new HashMap<>();
+    private String configurationFingerprint = null;
+
+    AnalysisFingerprint(SceneObject sceneObject, Grammar grammar) {
+
+        super(sceneObject);
+        this.grammar = grammar;
+    }
+
+    /**
+     * @param method A method.
+     * @return A fingerprint of the statements of the given method.
+     */
+    String getBodyFingerprint(Method method) {
+
+        String result = bodyFingerprints.get(method);
+        if (result == null) {
+            MessageDigest digest = createDigest();
+            Program body = method.getBody();
+            if (body != null) {
+                for (int pc = 0; ; pc++) {
+                    SemanticsCommand statement = body.getStatement(pc);
+                    if (statement instanceof TerminalStatement) {
+                        break;
+                    }
+                    update(digest, statement.toString());
+                    update(digest, new TreeSet<>(statement.getSuccessorPCs()).toString());
+                }
+            }
+            result = toHex(digest.digest());
+            bodyFingerprints.put(method, result);
+        }
+        return result;
+    }
+
+    /**
+     * @param methods The methods of a program.
+     * @return A fingerprint of the signatures and statements of all given methods.
+     */
+    String getProgramFingerprint(Collection<Method> methods) {
+
+        Map<String, String> sortedMethods = new TreeMap<>();
+        for (Method method : methods) {
+            sortedMethods.put(method.getSignature(), getBodyFingerprint(method));
+        }
+        MessageDigest digest = createDigest();
+        for (Map.Entry<String, String> method : sortedMethods.entrySet()) {
+            update(digest, method.getKey());
+            update(digest, method.getValue());
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * @return A fingerprint of the grammar and all options that influence the computed contracts.
+     */
+    String getConfigurationFingerprint() {
+
+        if (configurationFingerprint != null) {
+            return configurationFingerprint;
+        }
+
+        Options options = scene().options();
+        MessageDigest digest = createDigest();
+        update(digest, String.valueOf(options.isRemoveDeadVariables()));
+        update(digest, String.valueOf(options.isGarbageCollectionEnabled()));
+        update(digest, String.valueOf(options.isCanonicalEnabled()));
+        update(digest, String.valueOf(options.isChainAbstractionEnabled()));
+        update(digest, String.valueOf(options.isRuleCollapsingEnabled()));
+        update(digest, String.valueOf(options.isAdmissibleAbstractionEnabled()));
+        update(digest, String.valueOf(options.isAdmissibleConstantsEnabled()));
+        update(digest, String.valueOf(options.isAdmissibleMarkingsEnabled()));
+        update(digest, String.valueOf(options.isAdmissibleFullEnabled()));
+        update(digest, String.valueOf(options.isStateSubsumptionEnabled()));
+
+        Map<String, Nonterminal> leftHandSides = new TreeMap<>();
+        for (Nonterminal nonterminal : grammar.getAllLeftHandSides()) {
+            leftHandSides.put(nonterminal.getLabel(), nonterminal);
+        }
+        for (Nonterminal nonterminal : leftHandSides.values()) {
+            update(digest, nonterminal.getLabel() + "/" + nonterminal.getRank());
+            // encode every rule with a fresh dictionary such that its encoding does not depend on other rules
+            List<String> rules = new ArrayList<>();
+            for (HeapConfiguration rightHandSide : grammar.getRightHandSidesFor(nonterminal)) {
+                rules.add(getHeapFingerprint(rightHandSide));
+            }
+            Collections.sort(rules);
+            for (String rule : rules) {
+                update(digest, rule);
+            }
+        }
+
+        configurationFingerprint = toHex(digest.digest());
+        return configurationFingerprint;
+    }
+
+    /**
+     * @param heap A heap configuration.
+     * @return A fingerprint of the given heap configuration that does not depend on any other heap configuration.
+     */
+    String getHeapFingerprint(HeapConfiguration heap) {
+
+        HeapConfigurationCodec heapCodec = new HeapConfigurationCodec(this);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            heapCodec.writeHeap(out, heap);
+            heapCodec.writeLabels(out);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode heap configuration (" + e.getMessage() + ").");
+        }
+        MessageDigest digest = createDigest();
+        digest.update(bytes.toByteArray());
+        return toHex(digest.digest());
+    }
+
+    static MessageDigest createDigest() {
+
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to compute fingerprint (" + e.getMessage() + ").");
+        }
+    }
+
+    static void update(MessageDigest digest, String value) {
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update((byte) (bytes.length >>> 24));
+        digest.update((byte) (bytes.length >>> 16));
+        digest.update((byte) (bytes.length >>> 8));
+        digest.update((byte) bytes.length);
+        digest.update(bytes);
+    }
+
+    static String toHex(byte[] bytes) {
+
+        StringBuilder result = new StringBuilder(2 * bytes.length);
+        for (byte b : bytes) {
+            result.append(String.format("%02x", b));
+        }
+        return result.toString();
+    }
+}
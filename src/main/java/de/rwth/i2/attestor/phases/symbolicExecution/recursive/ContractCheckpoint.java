@@ -0,0 +1,226 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.recursive;
+
+import de.rwth.i2.attestor.grammar.Grammar;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.main.scene.ElementNotPresentException;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl.InternalContract;
+import de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis.InterproceduralAnalysis;
+import de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis.ProcedureCall;
+import de.rwth.i2.attestor.procedures.Contract;
+import de.rwth.i2.attestor.procedures.Method;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * Periodically saves the contracts computed so far by the interprocedural analysis such that
+ * an interrupted analysis can be resumed later on.
+ * <br>
+ * A checkpoint consists of all contracts of all registered methods. Each contract is flagged as completed if
+ * its procedure call is {@link InterproceduralAnalysis#getCompletedProcedureCalls() completed}, i.e. if its
+ * contract does not change anymore. All other contracts form the worklist of a resumed analysis.
+ * It is tied to a fingerprint of the program, the grammar and all options that influence the abstraction such
+ * that a checkpoint is never restored after any of them changed.
+ * The number of generated states is not stored. Hence, a resumed analysis only counts the states of the
+ * procedure calls it executes itself.
+ * Heap configurations are stored using a {@link HeapConfigurationCodec}.
+ * Hence, checkpoints are not supported in indexed mode or if grammar refinement is enabled.
+ */
+public class ContractCheckpoint extends SceneObject {
+
+    private static final int MAGIC_NUMBER = 0x41544350;
+    private static final int VERSION = 3;
+
+    private final File file;
+
+    private final HeapConfigurationCodec codec;
+
+    private final AnalysisFingerprint fingerprint;
+
+    public ContractCheckpoint(SceneObject sceneObject, String path, Grammar grammar) {
+
+        super(sceneObject);
+        this.file = new File(path);
+        this.codec = new HeapConfigurationCodec(this);
+        this.fingerprint = new AnalysisFingerprint(this, grammar);
+    }
+
+    /**
+     * @return True if and only if checkpoints can be restored for the current configuration.
+     */
+    public boolean isSupported() {
+
+        return codec.isSupported();
+    }
+
+    /**
+     * @return True if and only if a previously written checkpoint exists.
+     */
+    public boolean exists() {
+
+        return file.isFile();
+    }
+
+    /**
+     * @return True if and only if the previously written checkpoint has been computed for the current program,
+     * grammar and options.
+     */
+    public boolean isCompatible() {
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            return readHeader(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read checkpoint (" + e.getMessage() + ").");
+        }
+    }
+
+    /**
+     * Writes the contracts of all registered methods to the checkpoint file.
+     * The previous checkpoint is only replaced once the new one has been written completely.
+     *
+     * @param completedCalls The procedure calls whose contracts do not change anymore.
+     */
+    public void save(Collection<ProcedureCall> completedCalls) {
+
+        codec.clear();
+
+        Map<Method, List<HeapConfiguration>> completedPreconditions = new HashMap<>();
+        for (ProcedureCall call : completedCalls) {
+            completedPreconditions.computeIfAbsent(call.getMethod(), m -> new ArrayList<>())
+                    .add(call.getInput().getHeap());
+        }
+
+        List<Method> methods = getAnalyzedMethods();
+        ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream();
+        try (DataOutputStream body = new DataOutputStream(bodyBytes)) {
+            body.writeInt(methods.size());
+            for (Method method : methods) {
+                Collection<Contract> contracts = method.getContractsForExport();
+                body.writeUTF(method.getSignature());
+                body.writeInt(contracts.size());
+                List<HeapConfiguration> completed = completedPreconditions
+                        .getOrDefault(method, Collections.emptyList());
+                for (Contract contract : contracts) {
+                    body.writeBoolean(completed.contains(contract.getPrecondition()));
+                    codec.writeHeap(body, contract.getPrecondition());
+                    Collection<HeapConfiguration> postconditions = contract.getPostconditions();
+                    body.writeInt(postconditions.size());
+                    for (HeapConfiguration postcondition : postconditions) {
+                        codec.writeHeap(body, postcondition);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode checkpoint (" + e.getMessage() + ").");
+        }
+
+        File tmpFile = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+            out.writeInt(MAGIC_NUMBER);
+            out.writeInt(VERSION);
+            out.writeUTF(getFingerprint(methods));
+            codec.writeLabels(out);
+            bodyBytes.writeTo(out);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to write checkpoint (" + e.getMessage() + ").");
+        }
+
+        try {
+            Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to replace checkpoint (" + e.getMessage() + ").");
+        }
+    }
+
+    /**
+     * Adds all contracts stored in the checkpoint file to the corresponding methods.
+     * Contracts of methods that are not registered are ignored.
+     * Nothing is restored if the checkpoint is not {@link #isCompatible() compatible}.
+     *
+     * @return For each method, the preconditions of all restored contracts whose procedure calls have not been
+     * completed and thus have to be executed again.
+     */
+    public Map<Method, List<HeapConfiguration>> restore() {
+
+        Map<Method, List<HeapConfiguration>> result = new LinkedHashMap<>();
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (!readHeader(in)) {
+                return result;
+            }
+            codec.readLabels(in);
+
+            int methodCount = in.readInt();
+            for (int m = 0; m < methodCount; m++) {
+                String signature = in.readUTF();
+                Method method = getMethodIfPresent(signature);
+                List<HeapConfiguration> preconditions = new ArrayList<>();
+                int contractCount = in.readInt();
+                for (int c = 0; c < contractCount; c++) {
+                    boolean completed = in.readBoolean();
+                    HeapConfiguration precondition = codec.readHeap(in);
+                    int postconditionCount = in.readInt();
+                    Collection<HeapConfiguration> postconditions = new LinkedHashSet<>(postconditionCount);
+                    for (int p = 0; p < postconditionCount; p++) {
+                        postconditions.add(codec.readHeap(in));
+                    }
+                    if (method != null) {
+                        method.addContract(new InternalContract(precondition, postconditions));
+                        if (!completed) {
+                            preconditions.add(precondition);
+                        }
+                    }
+                }
+                if (method != null) {
+                    result.put(method, preconditions);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read checkpoint (" + e.getMessage() + ").");
+        }
+
+        return result;
+    }
+
+    /**
+     * @return True if and only if the header read from the given stream matches the current configuration.
+     */
+    private boolean readHeader(DataInputStream in) throws IOException {
+
+        if (in.readInt() != MAGIC_NUMBER) {
+            throw new IllegalStateException("File " + file + " is not a checkpoint.");
+        }
+        return in.readInt() == VERSION && in.readUTF().equals(getFingerprint(getAnalyzedMethods()));
+    }
+
+    private String getFingerprint(List<Method> methods) {
+
+        return fingerprint.getConfigurationFingerprint() + fingerprint.getProgramFingerprint(methods);
+    }
+
+    /**
+     * @return All registered methods that have been translated.
+     */
+    private List<Method> getAnalyzedMethods() {
+
+        List<Method> result = new ArrayList<>();
+        for (Method method : scene().getRegisteredMethods()) {
+            if (method.getBody() != null) {
+                result.add(method);
+            }
+        }
+        return result;
+    }
+
+    private Method getMethodIfPresent(String signature) {
+
+        try {
+            return scene().getMethodIfPresent(signature);
+        } catch (ElementNotPresentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,378 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.recursive;
+
+import de.rwth.i2.attestor.grammar.Grammar;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.main.scene.ElementNotPresentException;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl.InternalContract;
+import de.rwth.i2.attestor.procedures.Contract;
+import de.rwth.i2.attestor.procedures.Method;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.*;
+
+/**
+ * Stores the contracts computed by the interprocedural analysis across several runs and thereby enables
+ * incremental re-verification of a program after some of its methods changed.
+ * <br>
+ * The contracts of a method are stored together with a fingerprint of the method's statements.
+ * Furthermore, the whole database is tied to a fingerprint of the grammar and all options that influence
+ * the abstraction. If the latter changed, nothing is restored. Otherwise, the methods whose statements changed
+ * and all methods that may directly or indirectly call them are determined on the call graph of the current
+ * program. The contracts of all other methods are restored.
+ * Since only contracts of analyses that reached a fixpoint are stored, procedure calls that are covered by
+ * restored contracts are never executed again.
+ * <br>
+ * Moreover, the database remembers which LTL formulae have been satisfied by the state space of a top-level
+ * method and its initial heaps. These results are kept as long as the top-level method is not affected
+ * by a change such that model checking is only repeated for affected top-level state spaces.
+ * <br>
+ * Entries of methods that do not belong to the current program are kept such that a single database may be
+ * shared by several programs.
+ * Heap configurations are stored using a {@link HeapConfigurationCodec}. The contracts of every method are encoded
+ * separately with their own dictionary of labels. Hence, only the contracts of methods that are restored are
+ * decoded whereas all other entries are kept as raw bytes and written back unchanged. If the contracts of a method
+ * refer to nonterminals that do not exist in the current run, they are skipped and computed again.
+ */
+public class ContractDatabase extends SceneObject {
+
+    private static final int MAGIC_NUMBER = 0x41544344;
+    private static final int VERSION = 2;
+
+    private final File file;
+    private final HeapConfigurationCodec codec;
+    private final AnalysisFingerprint fingerprint;
+
+    // stored contracts of methods that are not registered in the current run
+    private final Map<String, StoredMethod> foreignMethods = new LinkedHashMap<>();
+    // keys of satisfied formulae mapped to the signature of the corresponding top-level method
+    private final Map<String, String> satisfiedFormulae = new LinkedHashMap<>();
+    private String topLevelSignature = null;
+    private String topLevelFingerprint = null;
+
+    private int numberOfChangedMethods = 0;
+    private int numberOfInvalidatedMethods = 0;
+
+    public ContractDatabase(SceneObject sceneObject, String path, Grammar grammar) {
+
+        super(sceneObject);
+        this.file = new File(path);
+        this.codec = new HeapConfigurationCodec(this);
+        this.fingerprint = new AnalysisFingerprint(this, grammar);
+    }
+
+    /**
+     * @return True if and only if contracts can be stored for the current configuration.
+     */
+    public boolean isSupported() {
+
+        return codec.isSupported();
+    }
+
+    /**
+     * @return True if and only if a previously written database exists.
+     */
+    public boolean exists() {
+
+        return file.isFile();
+    }
+
+    /**
+     * Adds all stored contracts of methods that are not affected by a change to these methods.
+     *
+     * @return The number of restored contracts.
+     */
+    public int load() {
+
+        numberOfChangedMethods = 0;
+        numberOfInvalidatedMethods = 0;
+        foreignMethods.clear();
+        satisfiedFormulae.clear();
+
+        Map<String, StoredMethod> storedMethods = new LinkedHashMap<>();
+        Map<String, String> storedFormulae = new LinkedHashMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC_NUMBER) {
+                throw new IllegalStateException("File " + file + " is not a contract database.");
+            }
+            if (in.readInt() != VERSION || !in.readUTF().equals(fingerprint.getConfigurationFingerprint())) {
+                // the file format, the grammar or the abstraction changed; no stored result can be trusted
+                return 0;
+            }
+            int methodCount = in.readInt();
+            for (int m = 0; m < methodCount; m++) {
+                StoredMethod stored = readMethod(in);
+                storedMethods.put(stored.signature, stored);
+            }
+            int formulaCount = in.readInt();
+            for (int f = 0; f < formulaCount; f++) {
+                String key = in.readUTF();
+                storedFormulae.put(key, in.readUTF());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read contract database (" + e.getMessage() + ").");
+        }
+
+        Set<Method> changedMethods = new LinkedHashSet<>();
+        for (Method method : getAnalyzedMethods()) {
+            StoredMethod stored = storedMethods.get(method.getSignature());
+            if (stored == null || !stored.fingerprint.equals(fingerprint.getBodyFingerprint(method))) {
+                changedMethods.add(method);
+            }
+        }
+        Set<Method> invalidatedMethods = MethodCallGraph.create(getAnalyzedMethods()).getTransitiveCallers(changedMethods);
+        numberOfChangedMethods = changedMethods.size();
+        numberOfInvalidatedMethods = invalidatedMethods.size();
+
+        int numberOfContracts = 0;
+        for (StoredMethod stored : storedMethods.values()) {
+            Method method = getMethodIfPresent(stored.signature);
+            if (method == null || method.getBody() == null) {
+                foreignMethods.put(stored.signature, stored);
+            } else if (!invalidatedMethods.contains(method)) {
+                List<Contract> contracts = decodeContracts(stored);
+                for (Contract contract : contracts) {
+                    method.addContract(contract);
+                }
+                numberOfContracts += contracts.size();
+            }
+        }
+
+        for (Map.Entry<String, String> formula : storedFormulae.entrySet()) {
+            Method method = getMethodIfPresent(formula.getValue());
+            if (method == null || method.getBody() == null || !invalidatedMethods.contains(method)) {
+                satisfiedFormulae.put(formula.getKey(), formula.getValue());
+            }
+        }
+
+        return numberOfContracts;
+    }
+
+    /**
+     * Writes the contracts of all registered methods to the database file.
+     * The previous database is only replaced once the new one has been written completely.
+     */
+    public void save() {
+
+        ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream();
+        try (DataOutputStream body = new DataOutputStream(bodyBytes)) {
+            // methods without contracts are stored as well in order to detect changes in later runs
+            List<StoredMethod> methods = new ArrayList<>(foreignMethods.values());
+            for (Method method : getAnalyzedMethods()) {
+                methods.add(new StoredMethod(method.getSignature(), fingerprint.getBodyFingerprint(method),
+                        encodeContracts(method.getContractsForExport())));
+            }
+            body.writeInt(methods.size());
+            for (StoredMethod method : methods) {
+                writeMethod(body, method);
+            }
+            body.writeInt(satisfiedFormulae.size());
+            for (Map.Entry<String, String> formula : satisfiedFormulae.entrySet()) {
+                body.writeUTF(formula.getKey());
+                body.writeUTF(formula.getValue());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode contract database (" + e.getMessage() + ").");
+        }
+
+        File tmpFile = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+            out.writeInt(MAGIC_NUMBER);
+            out.writeInt(VERSION);
+            out.writeUTF(fingerprint.getConfigurationFingerprint());
+            bodyBytes.writeTo(out);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to write contract database (" + e.getMessage() + ").");
+        }
+
+        try {
+            Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to replace contract database (" + e.getMessage() + ").");
+        }
+    }
+
+    /**
+     * @return The number of methods whose statements changed since the database has been written
+     * according to the last call of {@link #load()}.
+     */
+    public int getNumberOfChangedMethods() {
+
+        return numberOfChangedMethods;
+    }
+
+    /**
+     * @return The number of methods whose stored contracts have been discarded by the last call of
+     * {@link #load()}, because the method or one of the methods it may call changed.
+     */
+    public int getNumberOfInvalidatedMethods() {
+
+        return numberOfInvalidatedMethods;
+    }
+
+    /**
+     * Determines the top-level state space whose model checking results are considered by
+     * {@link #isSatisfied(String)} and {@link #addSatisfied(String)}.
+     *
+     * @param method       The top-level method.
+     * @param initialHeaps The initial heap configurations of the top-level method.
+     */
+    public void setTopLevel(Method method, Collection<HeapConfiguration> initialHeaps) {
+
+        List<String> heaps = new ArrayList<>(initialHeaps.size());
+        for (HeapConfiguration heap : initialHeaps) {
+            heaps.add(fingerprint.getHeapFingerprint(heap));
+        }
+        Collections.sort(heaps);
+
+        MessageDigest digest = AnalysisFingerprint.createDigest();
+        AnalysisFingerprint.update(digest, method.getSignature());
+        for (String heap : heaps) {
+            AnalysisFingerprint.update(digest, heap);
+        }
+        topLevelSignature = method.getSignature();
+        topLevelFingerprint = AnalysisFingerprint.toHex(digest.digest());
+    }
+
+    /**
+     * @param formula The string representation of an LTL formula.
+     * @return True if and only if the given formula has been satisfied by the top-level state space in a previous
+     * run and neither the top-level method nor any method it may call changed since.
+     */
+    public boolean isSatisfied(String formula) {
+
+        return topLevelFingerprint != null && satisfiedFormulae.containsKey(getFormulaKey(formula));
+    }
+
+    /**
+     * Marks the given formula as satisfied by the top-level state space.
+     *
+     * @param formula The string representation of an LTL formula.
+     */
+    public void addSatisfied(String formula) {
+
+        if (topLevelFingerprint == null) {
+            throw new IllegalStateException("No top-level method has been set.");
+        }
+        satisfiedFormulae.put(getFormulaKey(formula), topLevelSignature);
+    }
+
+    private String getFormulaKey(String formula) {
+
+        MessageDigest digest = AnalysisFingerprint.createDigest();
+        AnalysisFingerprint.update(digest, topLevelFingerprint);
+        AnalysisFingerprint.update(digest, formula);
+        return AnalysisFingerprint.toHex(digest.digest());
+    }
+
+    private StoredMethod readMethod(DataInputStream in) throws IOException {
+
+        String signature = in.readUTF();
+        String bodyFingerprint = in.readUTF();
+        byte[] contracts = new byte[in.readInt()];
+        in.readFully(contracts);
+        return new StoredMethod(signature, bodyFingerprint, contracts);
+    }
+
+    private void writeMethod(DataOutputStream out, StoredMethod method) throws IOException {
+
+        out.writeUTF(method.signature);
+        out.writeUTF(method.fingerprint);
+        out.writeInt(method.contracts.length);
+        out.write(method.contracts);
+    }
+
+    private byte[] encodeContracts(Collection<Contract> contracts) throws IOException {
+
+        codec.clear();
+        ByteArrayOutputStream contractBytes = new ByteArrayOutputStream();
+        try (DataOutputStream body = new DataOutputStream(contractBytes)) {
+            body.writeInt(contracts.size());
+            for (Contract contract : contracts) {
+                codec.writeHeap(body, contract.getPrecondition());
+                Collection<HeapConfiguration> postconditions = contract.getPostconditions();
+                body.writeInt(postconditions.size());
+                for (HeapConfiguration postcondition : postconditions) {
+                    codec.writeHeap(body, postcondition);
+                }
+            }
+        }
+
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(result)) {
+            codec.writeLabels(out);
+            contractBytes.writeTo(out);
+        }
+        return result.toByteArray();
+    }
+
+    /**
+     * @return The contracts of the given method or an empty list if they refer to unknown nonterminals.
+     */
+    private List<Contract> decodeContracts(StoredMethod stored) {
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(stored.contracts))) {
+            codec.readLabels(in);
+            int contractCount = in.readInt();
+            List<Contract> contracts = new ArrayList<>(contractCount);
+            for (int c = 0; c < contractCount; c++) {
+                HeapConfiguration precondition = codec.readHeap(in);
+                int postconditionCount = in.readInt();
+                Collection<HeapConfiguration> postconditions = new LinkedHashSet<>(postconditionCount);
+                for (int p = 0; p < postconditionCount; p++) {
+                    postconditions.add(codec.readHeap(in));
+                }
+                contracts.add(new InternalContract(precondition, postconditions));
+            }
+            return contracts;
+        } catch (HeapConfigurationCodec.UnknownLabelException e) {
+            // the contracts have been computed for a different grammar
+            return Collections.emptyList();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read contracts of " + stored.signature
+                    + " (" + e.getMessage() + ").");
+        }
+    }
+
+    private Method getMethodIfPresent(String signature) {
+
+        try {
+            return scene().getMethodIfPresent(signature);
+        } catch (ElementNotPresentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return All registered methods that have been translated, i.e. all methods whose contracts are computed
+     * by the analysis of the current program.
+     */
+    private List<Method> getAnalyzedMethods() {
+
+        List<Method> result = new ArrayList<>();
+        for (Method method : scene().getRegisteredMethods()) {
+            if (method.getBody() != null) {
+                result.add(method);
+            }
+        }
+        return result;
+    }
+
+    private static final class StoredMethod {
+
+        final String signature;
+        final String fingerprint;
+        // encoded contracts including their dictionary of labels
+        final byte[] contracts;
+
+        StoredMethod(String signature, String fingerprint, byte[] contracts) {
+
+            this.signature = signature;
+            this.fingerprint = fingerprint;
+            this.contracts = contracts;
+        }
+    }
+}
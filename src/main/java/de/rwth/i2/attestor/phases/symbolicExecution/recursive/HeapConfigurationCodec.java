@@ -0,0 +1,205 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.recursive;
+
+import de.rwth.i2.attestor.graph.Nonterminal;
+import de.rwth.i2.attestor.graph.SelectorLabel;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.heap.HeapConfigurationBuilder;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import gnu.trove.iterator.TIntIterator;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.TIntIntMap;
+import gnu.trove.map.hash.TIntIntHashMap;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compact binary encoding of heap configurations in which all labels, i.e. types, selector labels,
+ * nonterminals and variable names, are replaced by their position in a string dictionary.
+ * The dictionary is written separately such that it can precede all encoded heap configurations.
+ * Since labels are restored by their names, the encoding is not supported in indexed mode
+ * or if grammar refinement is enabled.
+ */
+class HeapConfigurationCodec extends SceneObject {
+
+    private final List<String> labels = new ArrayList<>();
+    private final Map<String, Integer> labelIds = new HashMap<>();
+
+    HeapConfigurationCodec(SceneObject sceneObject) {
+
+        super(sceneObject);
+    }
+
+    /**
+     * @return True if and only if heap configurations can be restored for the current configuration.
+     */
+    boolean isSupported() {
+
+        return !scene().options().isIndexedMode() && !scene().options().isGrammarRefinementEnabled();
+    }
+
+    /**
+     * Empties the dictionary.
+     */
+    void clear() {
+
+        labels.clear();
+        labelIds.clear();
+    }
+
+    void writeLabels(DataOutputStream out) throws IOException {
+
+        out.writeInt(labels.size());
+        for (String label : labels) {
+            out.writeUTF(label);
+        }
+    }
+
+    void readLabels(DataInputStream in) throws IOException {
+
+        clear();
+        int labelCount = in.readInt();
+        for (int i = 0; i < labelCount; i++) {
+            String label = in.readUTF();
+            labelIds.put(label, labels.size());
+            labels.add(label);
+        }
+    }
+
+    void writeHeap(DataOutputStream out, HeapConfiguration heap) throws IOException {
+
+        TIntArrayList nodes = heap.nodes();
+        TIntIntMap nodeIndex = new TIntIntHashMap(nodes.size());
+
+        out.writeInt(nodes.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            int node = nodes.get(i);
+            nodeIndex.put(node, i);
+            out.writeInt(labelId(heap.nodeTypeOf(node).toString()));
+        }
+
+        for (int i = 0; i < nodes.size(); i++) {
+            int node = nodes.get(i);
+            List<SelectorLabel> selectors = heap.selectorLabelsOf(node);
+            out.writeInt(selectors.size());
+            for (SelectorLabel selector : selectors) {
+                out.writeInt(labelId(selector.getLabel()));
+                out.writeInt(nodeIndex.get(heap.selectorTargetOf(node, selector)));
+            }
+        }
+
+        TIntArrayList externals = heap.externalNodes();
+        out.writeInt(externals.size());
+        TIntIterator externalIterator = externals.iterator();
+        while (externalIterator.hasNext()) {
+            out.writeInt(nodeIndex.get(externalIterator.next()));
+        }
+
+        TIntArrayList ntEdges = heap.nonterminalEdges();
+        out.writeInt(ntEdges.size());
+        TIntIterator ntIterator = ntEdges.iterator();
+        while (ntIterator.hasNext()) {
+            int edge = ntIterator.next();
+            TIntArrayList attachedNodes = heap.attachedNodesOf(edge);
+            out.writeInt(labelId(heap.labelOf(edge).getLabel()));
+            out.writeInt(attachedNodes.size());
+            for (int i = 0; i < attachedNodes.size(); i++) {
+                out.writeInt(nodeIndex.get(attachedNodes.get(i)));
+            }
+        }
+
+        TIntArrayList varEdges = heap.variableEdges();
+        out.writeInt(varEdges.size());
+        TIntIterator varIterator = varEdges.iterator();
+        while (varIterator.hasNext()) {
+            int varEdge = varIterator.next();
+            out.writeInt(labelId(heap.nameOf(varEdge)));
+            out.writeInt(nodeIndex.get(heap.targetOf(varEdge)));
+        }
+    }
+
+    HeapConfiguration readHeap(DataInputStream in) throws IOException {
+
+        HeapConfigurationBuilder builder = scene().createHeapConfiguration().builder();
+
+        int nodeCount = in.readInt();
+        TIntArrayList nodes = new TIntArrayList(nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            builder.addNodes(scene().getType(labels.get(in.readInt())), 1, nodes);
+        }
+
+        for (int i = 0; i < nodeCount; i++) {
+            int selectorCount = in.readInt();
+            for (int s = 0; s < selectorCount; s++) {
+                SelectorLabel selector = scene().getSelectorLabel(labels.get(in.readInt()));
+                builder.addSelector(nodes.get(i), selector, nodes.get(in.readInt()));
+            }
+        }
+
+        int externalCount = in.readInt();
+        for (int i = 0; i < externalCount; i++) {
+            builder.setExternal(nodes.get(in.readInt()));
+        }
+
+        int ntCount = in.readInt();
+        for (int i = 0; i < ntCount; i++) {
+            String label = labels.get(in.readInt());
+            int rank = in.readInt();
+            TIntArrayList attachedNodes = new TIntArrayList(rank);
+            for (int r = 0; r < rank; r++) {
+                attachedNodes.add(nodes.get(in.readInt()));
+            }
+            builder.addNonterminalEdge(getNonterminal(label, rank), attachedNodes);
+        }
+
+        int varCount = in.readInt();
+        for (int i = 0; i < varCount; i++) {
+            String name = labels.get(in.readInt());
+            builder.addVariableEdge(name, nodes.get(in.readInt()));
+        }
+
+        return builder.build();
+    }
+
+    private Nonterminal getNonterminal(String label, int rank) throws UnknownLabelException {
+
+        Nonterminal nonterminal;
+        try {
+            nonterminal = scene().getNonterminal(label);
+        } catch (IllegalArgumentException e) {
+            throw new UnknownLabelException(label);
+        }
+        if (nonterminal.getRank() != rank) {
+            throw new UnknownLabelException(label);
+        }
+        return nonterminal;
+    }
+
+    private int labelId(String label) {
+
+        Integer id = labelIds.get(label);
+        if (id == null) {
+            id = labels.size();
+            labels.add(label);
+            labelIds.put(label, id);
+        }
+        return id;
+    }
+
+    /**
+     * Thrown if a heap configuration refers to a nonterminal that does not exist in the current run,
+     * i.e. the heap configuration has been encoded for a different grammar.
+     */
+    static final class UnknownLabelException extends IOException {
+
+        UnknownLabelException(String label) {
+
+            super("Unknown nonterminal " + label);
+        }
+    }
+}
@@ -7,9 +7,13 @@ import de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAna
 import de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis.ProcedureCall;
 import de.rwth.i2.attestor.procedures.Contract;
 import de.rwth.i2.attestor.procedures.Method;
+import de.rwth.i2.attestor.stateSpaceGeneration.ProcedureCallAbortedException;
 import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
 import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
 import de.rwth.i2.attestor.stateSpaceGeneration.StateSpaceGenerationAbortedException;
+import gnu.trove.iterator.TIntIterator;
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -19,6 +23,8 @@ public class InternalPartialStateSpace implements PartialStateSpace {
     private ProgramState stateToContinue;
     private StateSpaceGeneratorFactory stateSpaceGeneratorFactory;
     StateSpace partialStateSpace;
+    // final states whose heaps have already been added to the contract by this partial state space
+    private final TIntSet reportedFinalStateIds = new TIntHashSet();
 
     public InternalPartialStateSpace(ProgramState callingState,
                                      StateSpaceGeneratorFactory stateSpaceGeneratorFactory) {
@@ -31,33 +37,40 @@ public class InternalPartialStateSpace implements PartialStateSpace {
     @Override
     public void continueExecution(ProcedureCall call) {
 
-        try {
+        Method method = call.getMethod();
+        ProgramState preconditionState = call.getInput();
 
-            Method method = call.getMethod();
-            ProgramState preconditionState = call.getInput();
+        if(partialStateSpace.containsAbortedStates()) {
+            return;
+        }
 
-            if(partialStateSpace.containsAbortedStates()) {
-                return;
-            }
-            
-            stateToContinue.flagAsContinueState();
+        stateToContinue.flagAsContinueState();
 
-            StateSpace stateSpace = stateSpaceGeneratorFactory.create(
+        try {
+            stateSpaceGeneratorFactory.create(
                     call.getMethod().getBody(),
                     stateToContinue,
                     partialStateSpace
             ).generate();
-            
-            stateToContinue.unflagContinueState();
-
-            List<HeapConfiguration> finalHeaps = new ArrayList<>();
-            stateSpace.getFinalStates().forEach( finalState -> finalHeaps.add(finalState.getHeap()) );
-            Contract contract = new InternalContract(preconditionState.getHeap(), finalHeaps);
-            method.addContract(contract);
-
+        } catch (ProcedureCallAbortedException e) {
+            // the partial state space now contains aborted states and is thus never continued again
         } catch (StateSpaceGenerationAbortedException e) {
             throw new IllegalStateException("Failed to continue state space execution.");
         }
+
+        stateToContinue.unflagContinueState();
+
+        // only final states discovered since the last continuation may extend the contract
+        List<HeapConfiguration> finalHeaps = new ArrayList<>();
+        TIntIterator iterator = partialStateSpace.getFinalStateIds().iterator();
+        while(iterator.hasNext()) {
+            int finalStateId = iterator.next();
+            if(reportedFinalStateIds.add(finalStateId)) {
+                finalHeaps.add(partialStateSpace.getState(finalStateId).getHeap());
+            }
+        }
+        Contract contract = new InternalContract(preconditionState.getHeap(), finalHeaps);
+        method.addContract(contract);
     }
 
 	
@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Objects;
 
 import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.heap.matching.PreconditionCertificate;
 import de.rwth.i2.attestor.main.scene.SceneObject;
 import de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl.InternalContract;
 import de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl.StateSpaceGeneratorFactory;
@@ -12,9 +13,11 @@ import de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAna
 import de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis.ProcedureRegistry;
 import de.rwth.i2.attestor.procedures.Contract;
 import de.rwth.i2.attestor.procedures.Method;
+import de.rwth.i2.attestor.stateSpaceGeneration.ProcedureCallAbortedException;
 import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
 import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
 import de.rwth.i2.attestor.stateSpaceGeneration.StateSpaceGenerationAbortedException;
+import de.rwth.i2.attestor.stateSpaceGeneration.StateSpaceGenerator;
 
 public class InternalProcedureCall extends SceneObject implements ProcedureCall {
 
@@ -23,6 +26,7 @@ public class InternalProcedureCall extends SceneObject implements ProcedureCall
 	
     private Method method;
     private ProgramState preconditionState;
+    private PreconditionCertificate certificate = null;
 
     
     public InternalProcedureCall( Method method, HeapConfiguration precondition, 
@@ -43,20 +47,26 @@ public class InternalProcedureCall extends SceneObject implements ProcedureCall
     	
     	ProgramState initialState = preconditionState.clone();
 
+        StateSpaceGenerator generator = factory.create( method.getBody(), initialState );
+        StateSpace stateSpace;
         try {
-            StateSpace stateSpace = factory.create( method.getBody(), initialState ).generate();
-
-            List<HeapConfiguration> finalHeaps = new ArrayList<>();
-            stateSpace.getFinalStates().forEach( finalState -> finalHeaps.add(finalState.getHeap()) );
-            Contract contract = new InternalContract(preconditionState.getHeap(), finalHeaps);
-            method.addContract(contract);
-            
-            registry.registerStateSpace( this, stateSpace );
-            
-            return stateSpace;
+            stateSpace = generator.generate();
+        } catch (ProcedureCallAbortedException e) {
+            // only this procedure call is aborted; its state space contains aborted states such that
+            // the registry reports the call as aborted to all callers
+            stateSpace = generator.getStateSpace();
         } catch (StateSpaceGenerationAbortedException e) {
             throw new IllegalStateException("Procedure call execution failed.");
         }
+
+        List<HeapConfiguration> finalHeaps = new ArrayList<>();
+        stateSpace.getFinalStates().forEach( finalState -> finalHeaps.add(finalState.getHeap()) );
+        Contract contract = new InternalContract(preconditionState.getHeap(), finalHeaps);
+        method.addContract(contract);
+
+        registry.registerStateSpace( this, stateSpace );
+
+        return stateSpace;
     }
 
     @Override
@@ -71,13 +81,24 @@ public class InternalProcedureCall extends SceneObject implements ProcedureCall
         return preconditionState;
     }
 
+    /**
+     * @return The certificate of the precondition of this call, which is computed on demand.
+     */
+    PreconditionCertificate getCertificate() {
+
+        if(certificate == null) {
+            certificate = PreconditionCertificate.of(preconditionState.getHeap());
+        }
+        return certificate;
+    }
+
     @Override
     public int hashCode() {
 
         if(preconditionState == null) {
             return Objects.hashCode(method);
         } else {
-            return Objects.hash(method, preconditionState.getHeap());
+            return Objects.hash(method, getCertificate());
         }
     }
 
@@ -94,7 +115,9 @@ public class InternalProcedureCall extends SceneObject implements ProcedureCall
             return false;
         }
         InternalProcedureCall call = (InternalProcedureCall) otherOject;
+        // calls are usually interned by the InternalProcedureRegistry; certificates only rule out the rest cheaply
         return method.equals(call.method) &&
+                getCertificate().equals(call.getCertificate()) &&
                 preconditionState.equals(call.preconditionState);
     }
     
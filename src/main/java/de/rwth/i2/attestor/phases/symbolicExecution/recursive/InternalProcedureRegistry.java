@@ -1,6 +1,7 @@
 package de.rwth.i2.attestor.phases.symbolicExecution.recursive;
 
 import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.heap.matching.PreconditionCertificate;
 import de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl.StateSpaceGeneratorFactory;
 import de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis.InterproceduralAnalysis;
 import de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis.PartialStateSpace;
@@ -10,11 +11,24 @@ import de.rwth.i2.attestor.procedures.Method;
 import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
 import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
 
+import java.util.*;
+
+/**
+ * Creates and registers the procedure calls of an {@link InterproceduralAnalysis}.
+ * Procedure calls are interned: Requesting a call of a method whose precondition is isomorphic to the precondition
+ * of a previously requested call yields the previously requested call. Hence, identical calls from different
+ * call sites or initial heaps share a single state space and contract. Candidates are found by their
+ * {@link PreconditionCertificate certificate} and only confirmed by an isomorphism check.
+ */
 public class InternalProcedureRegistry implements ProcedureRegistry {
 
     private final InterproceduralAnalysis analysis;
     private final StateSpaceGeneratorFactory stateSpaceGeneratorFactory;
 
+    private final Map<Method, Map<PreconditionCertificate, List<InternalProcedureCall>>> procedureCalls = new HashMap<>();
+    private int numberOfRequestedCalls = 0;
+    private int numberOfReusedCalls = 0;
+
     public InternalProcedureRegistry(InterproceduralAnalysis analysis,
                                      StateSpaceGeneratorFactory stateSpaceGeneratorFactory) {
 
@@ -24,7 +38,42 @@ public class InternalProcedureRegistry implements ProcedureRegistry {
     
     @Override
 	public InternalProcedureCall getProcedureCall(Method method, HeapConfiguration initialHeap ) {
-		return new InternalProcedureCall(method, initialHeap, stateSpaceGeneratorFactory, this);
+
+		InternalProcedureCall call = new InternalProcedureCall(method, initialHeap, stateSpaceGeneratorFactory, this);
+		synchronized (procedureCalls) {
+			++numberOfRequestedCalls;
+			List<InternalProcedureCall> candidates = procedureCalls
+					.computeIfAbsent(method, m -> new HashMap<>())
+					.computeIfAbsent(call.getCertificate(), c -> new ArrayList<>(1));
+			for (InternalProcedureCall candidate : candidates) {
+				if (candidate.equals(call)) {
+					++numberOfReusedCalls;
+					return candidate;
+				}
+			}
+			candidates.add(call);
+			return call;
+		}
+	}
+
+	/**
+	 * @return The number of procedure calls requested via {@link #getProcedureCall(Method, HeapConfiguration)}.
+	 */
+	public int getNumberOfRequestedProcedureCalls() {
+
+		synchronized (procedureCalls) {
+			return numberOfRequestedCalls;
+		}
+	}
+
+	/**
+	 * @return The number of requested procedure calls that have been answered by a previously requested call.
+	 */
+	public int getNumberOfReusedProcedureCalls() {
+
+		synchronized (procedureCalls) {
+			return numberOfReusedCalls;
+		}
 	}
 
     @Override
@@ -48,4 +97,10 @@ public class InternalProcedureRegistry implements ProcedureRegistry {
 		
 	}
 
+	@Override
+	public boolean isAborted(ProcedureCall call) {
+
+		return analysis.isAborted(call);
+	}
+
 }
@@ -0,0 +1,50 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.recursive;
+
+import de.rwth.i2.attestor.procedures.Method;
+import de.rwth.i2.attestor.semantics.TerminalStatement;
+import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.statements.invoke.InvokeCleanup;
+import de.rwth.i2.attestor.semantics.jimpleSemantics.translation.TarjanAlgorithm;
+import de.rwth.i2.attestor.stateSpaceGeneration.Program;
+import de.rwth.i2.attestor.stateSpaceGeneration.SemanticsCommand;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reconstructs the call graph of already translated methods from the invoke statements in their bodies.
+ */
+final class MethodCallGraph {
+
+    private MethodCallGraph() {
+    }
+
+    /**
+     * @param methods A collection of methods.
+     * @return The call graph of all given methods that have been translated.
+     */
+    static TarjanAlgorithm create(Collection<Method> methods) {
+
+        TarjanAlgorithm callGraph = new TarjanAlgorithm();
+        List<Method> translated = new ArrayList<>();
+        for (Method method : methods) {
+            if (method.getBody() != null) {
+                translated.add(method);
+                callGraph.addMethodAsVertex(method);
+            }
+        }
+        for (Method method : translated) {
+            Program body = method.getBody();
+            for (int pc = 0; ; pc++) {
+                SemanticsCommand statement = body.getStatement(pc);
+                if (statement instanceof TerminalStatement) {
+                    break;
+                }
+                if (statement instanceof InvokeCleanup) {
+                    callGraph.addCallEdge(method, ((InvokeCleanup) statement).getMethod());
+                }
+            }
+        }
+        return callGraph;
+    }
+}
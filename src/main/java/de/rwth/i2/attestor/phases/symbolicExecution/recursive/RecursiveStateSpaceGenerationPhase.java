@@ -2,28 +2,38 @@ package de.rwth.i2.attestor.phases.symbolicExecution.recursive;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
+import de.rwth.i2.attestor.grammar.Grammar;
 import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
 import de.rwth.i2.attestor.main.AbstractPhase;
 import de.rwth.i2.attestor.main.scene.ElementNotPresentException;
 import de.rwth.i2.attestor.main.scene.Scene;
 import de.rwth.i2.attestor.phases.communication.InputSettings;
+import de.rwth.i2.attestor.phases.communication.ModelCheckingSettings;
 import de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl.*;
 import de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl.scopes.DefaultScopeExtractor;
 import de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis.*;
+import de.rwth.i2.attestor.phases.symbolicExecution.utilStrategies.BudgetAbortStrategy;
+import de.rwth.i2.attestor.phases.symbolicExecution.utilStrategies.OnTheFlyModelCheckingAbortStrategy;
 import de.rwth.i2.attestor.phases.transformers.*;
 import de.rwth.i2.attestor.procedures.*;
+import de.rwth.i2.attestor.semantics.jimpleSemantics.translation.TarjanAlgorithm;
 import de.rwth.i2.attestor.stateSpaceGeneration.*;
 
 
-public class RecursiveStateSpaceGenerationPhase extends AbstractPhase implements StateSpaceTransformer {
+public class RecursiveStateSpaceGenerationPhase extends AbstractPhase
+        implements StateSpaceTransformer, ContractDatabaseTransformer {
 
     private final StateSpaceGeneratorFactory stateSpaceGeneratorFactory;
 
     private InterproceduralAnalysis interproceduralAnalysis;
+    private InternalProcedureRegistry procedureRegistry;
     private List<ProgramState> initialStates;
     private Method mainMethod;
     private StateSpace mainStateSpace = null;
+    private ContractDatabase contractDatabase = null;
+    private OnTheFlyModelCheckingAbortStrategy onTheFlyModelChecking = null;
 
     public RecursiveStateSpaceGenerationPhase(Scene scene) {
 
@@ -40,19 +50,49 @@ public class RecursiveStateSpaceGenerationPhase extends AbstractPhase implements
     @Override
     public void executePhase() {
 
-        interproceduralAnalysis = new InterproceduralAnalysis();
+        interproceduralAnalysis = createInterproceduralAnalysis();
+        orderProcedureCalls();
         loadInitialStates();
         loadMainMethod();
         initializeMethodExecutors();
+        loadContractDatabase();
+        initializeCheckpoints();
+        enableOnTheFlyModelChecking();
         startPartialStateSpaceGeneration();
         registerMainProcedureCalls();
         interproceduralAnalysis.run();
+        disableOnTheFlyModelChecking();
+        saveContractDatabase();
+        // only the contracts of procedure calls are needed from now on
+        stateSpaceGeneratorFactory.closeStateSpacesExcept(mainStateSpace);
+        mainStateSpace.freeze();
 
         if(mainStateSpace.getFinalStateIds().isEmpty()) {
             logger.error("Computed state space contains no final states.");
         }
     }
 
+    private InterproceduralAnalysis createInterproceduralAnalysis() {
+
+        if(scene().options().isParallelAnalysisEnabled()) {
+            int threads = scene().options().getAnalysisThreads();
+            logger.info("Analyzing procedure calls using " + threads + " threads.");
+            return new ParallelInterproceduralAnalysis(threads);
+        }
+        return new InterproceduralAnalysis();
+    }
+
+    /**
+     * Analyzes procedure calls in reverse topological order of the strongly connected components of the
+     * call graph such that callers are only continued once the contracts of their callees are stable.
+     */
+    private void orderProcedureCalls() {
+
+        TarjanAlgorithm callGraph = MethodCallGraph.create(scene().getRegisteredMethods());
+        callGraph.markRecursiveMethods();
+        interproceduralAnalysis.setComponentIndices(callGraph.getComponentIndices());
+    }
+
     private void loadInitialStates() {
 
         List<HeapConfiguration> inputs = getPhase(InputTransformer.class).getInputs();
@@ -90,7 +130,7 @@ public class RecursiveStateSpaceGenerationPhase extends AbstractPhase implements
 
     private void initializeMethodExecutors() {
 
-        InternalProcedureRegistry procedureRegistry = new InternalProcedureRegistry(
+        procedureRegistry = new InternalProcedureRegistry(
                 interproceduralAnalysis,
                 stateSpaceGeneratorFactory
         );
@@ -119,10 +159,137 @@ public class RecursiveStateSpaceGenerationPhase extends AbstractPhase implements
         }
     }
 
+    private void loadContractDatabase() {
+
+        if(!scene().options().isContractDatabaseEnabled()) {
+            return;
+        }
+
+        Grammar grammar = getPhase(GrammarTransformer.class).getGrammar();
+        contractDatabase = new ContractDatabase(this, scene().options().getContractDatabasePath(), grammar);
+        if(!contractDatabase.isSupported()) {
+            logger.warn("The contract database is not supported for the current configuration. Skipping it.");
+            contractDatabase = null;
+            return;
+        }
+
+        if(contractDatabase.exists()) {
+            int numberOfContracts = contractDatabase.load();
+            logger.info("Restored " + numberOfContracts + " contracts from contract database. "
+                    + contractDatabase.getNumberOfChangedMethods() + " methods changed. "
+                    + "Contracts of " + contractDatabase.getNumberOfInvalidatedMethods()
+                    + " affected methods are discarded.");
+        }
+        contractDatabase.setTopLevel(mainMethod, getPhase(InputTransformer.class).getInputs());
+    }
+
+    /**
+     * Stores all contracts in the contract database unless some of them may be incomplete.
+     */
+    private void saveContractDatabase() {
+
+        if(contractDatabase == null) {
+            return;
+        }
+
+        if(interproceduralAnalysis.hasAbortedProcedureCalls()) {
+            logger.warn("Some procedure calls have been aborted. Contracts are not stored in the contract database.");
+            contractDatabase = null;
+            return;
+        }
+        contractDatabase.save();
+    }
+
+    private void initializeCheckpoints() {
+
+        if(!scene().options().isCheckpointEnabled()) {
+            return;
+        }
+
+        Grammar grammar = getPhase(GrammarTransformer.class).getGrammar();
+        ContractCheckpoint checkpoint = new ContractCheckpoint(this, scene().options().getCheckpointPath(), grammar);
+        if(!checkpoint.isSupported()) {
+            logger.warn("Checkpoints are not supported for the current configuration. Skipping them.");
+            return;
+        }
+
+        if(scene().options().isResumeEnabled()) {
+            if(!checkpoint.exists()) {
+                logger.warn("No checkpoint found. Starting from scratch.");
+            } else if(!checkpoint.isCompatible()) {
+                logger.warn("The checkpoint has been written for a different program, grammar or configuration. "
+                        + "Starting from scratch.");
+            } else {
+                resumeFrom(checkpoint);
+            }
+        }
+
+        long interval = 1000L * scene().options().getCheckpointInterval();
+        interproceduralAnalysis.setCheckpoint(
+                () -> checkpoint.save(interproceduralAnalysis.getCompletedProcedureCalls()), interval);
+    }
+
+    /**
+     * Restores all contracts of a previous run. Procedure calls that had not been completed in the previous run
+     * are scheduled again, because their contracts may miss postconditions. Nested procedure calls are then
+     * resolved by the restored contracts instead of being analyzed from scratch.
+     */
+    private void resumeFrom(ContractCheckpoint checkpoint) {
+
+        Map<Method, List<HeapConfiguration>> restored = checkpoint.restore();
+        int numberOfPendingCalls = 0;
+        for(Map.Entry<Method, List<HeapConfiguration>> entry : restored.entrySet()) {
+            for(HeapConfiguration precondition : entry.getValue()) {
+                ProcedureCall call = procedureRegistry.getProcedureCall(entry.getKey(), precondition);
+                procedureRegistry.registerProcedure(call);
+                ++numberOfPendingCalls;
+            }
+        }
+        logger.info("Resumed from checkpoint. Executing " + numberOfPendingCalls + " pending procedure calls again.");
+    }
+
+    /**
+     * Model checks the top-level state space during its generation if requested.
+     * Procedure calls are only aborted after a violation has been found; the top-level state space then contains
+     * aborted states such that the model checking phase reports the violation and unknown results otherwise.
+     */
+    private void enableOnTheFlyModelChecking() {
+
+        if(!scene().options().isOnTheFlyModelCheckingEnabled()) {
+            return;
+        }
+        ModelCheckingSettings mcSettings = getPhase(MCSettingsTransformer.class).getMcSettings();
+        if(mcSettings.getFormulae().isEmpty()) {
+            return;
+        }
+        onTheFlyModelChecking = new OnTheFlyModelCheckingAbortStrategy(
+                scene().strategies().getAbortStrategy(),
+                mcSettings.getFormulae()
+        );
+        scene().strategies().setAbortStrategy(onTheFlyModelChecking);
+    }
+
+    private void disableOnTheFlyModelChecking() {
+
+        if(onTheFlyModelChecking == null) {
+            return;
+        }
+        scene().strategies().setAbortStrategy(onTheFlyModelChecking.getDelegate());
+        if(onTheFlyModelChecking.getViolatedFormula() != null) {
+            logger.info("Stopped state space generation after " + mainStateSpace.size()
+                    + " states, because formula " + onTheFlyModelChecking.getViolatedFormula().getFormulaString()
+                    + " is violated.");
+        }
+    }
+
     private void startPartialStateSpaceGeneration() {
 
+        StateSpaceGenerator generator = stateSpaceGeneratorFactory.create(mainMethod.getBody(), initialStates);
+        if(onTheFlyModelChecking != null) {
+            onTheFlyModelChecking.setTopLevelStateSpace(generator.getStateSpace());
+        }
         try {
-            mainStateSpace = stateSpaceGeneratorFactory.create(mainMethod.getBody(), initialStates).generate();
+            mainStateSpace = generator.generate();
         } catch (StateSpaceGenerationAbortedException e) {
             e.printStackTrace();
         }
@@ -132,7 +299,7 @@ public class RecursiveStateSpaceGenerationPhase extends AbstractPhase implements
 
         for(ProgramState iState : initialStates) {
             StateSpace mainStateSpace = iState.getContainingStateSpace();
-            ProcedureCall mainCall = new InternalProcedureCall(mainMethod, iState.getHeap(), stateSpaceGeneratorFactory, null);
+            ProcedureCall mainCall = procedureRegistry.getProcedureCall(mainMethod, iState.getHeap());
             interproceduralAnalysis.registerStateSpace(mainCall, mainStateSpace);
         }
     }
@@ -150,6 +317,29 @@ public class RecursiveStateSpaceGenerationPhase extends AbstractPhase implements
         logSum(String.format("| final states            | %16d |",
                 mainStateSpace.getFinalStateIds().size()));
         logSum("+-------------------------+------------------+");
+        logHighlight("| Procedure calls         |  Number of calls |");
+        logSum("+-------------------------+------------------+");
+        logSum(String.format("| requested               | %16d |",
+                procedureRegistry.getNumberOfRequestedProcedureCalls()));
+        logSum(String.format("| reused                  | %16d |",
+                procedureRegistry.getNumberOfReusedProcedureCalls()));
+        logSum("+-------------------------+------------------+");
+
+        AbortStrategy abortStrategy = scene().strategies().getAbortStrategy();
+        if(abortStrategy instanceof BudgetAbortStrategy) {
+            BudgetAbortStrategy budget = (BudgetAbortStrategy) abortStrategy;
+            logHighlight("| Budget                  |         Consumed |");
+            logSum("+-------------------------+------------------+");
+            logSum(String.format("| peak heap usage (MB)    | %16d |",
+                    budget.getPeakHeapUsage() / (1024 * 1024)));
+            logSum(String.format("| longest generation (ms) | %16d |",
+                    budget.getLongestGenerationTime()));
+            logSum(String.format("| aborts (memory)         | %16d |",
+                    budget.getNumberOfMemoryAborts()));
+            logSum(String.format("| aborts (time)           | %16d |",
+                    budget.getNumberOfTimeAborts()));
+            logSum("+-------------------------+------------------+");
+        }
     }
 
     @Override
@@ -163,4 +353,10 @@ public class RecursiveStateSpaceGenerationPhase extends AbstractPhase implements
 
         return mainStateSpace;
     }
+
+    @Override
+    public ContractDatabase getContractDatabase() {
+
+        return contractDatabase;
+    }
 }
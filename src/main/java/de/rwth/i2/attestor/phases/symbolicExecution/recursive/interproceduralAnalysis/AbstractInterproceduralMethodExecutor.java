@@ -1,6 +1,8 @@
 package de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
 import de.rwth.i2.attestor.procedures.*;
@@ -39,14 +41,86 @@ public abstract class AbstractInterproceduralMethodExecutor extends AbstractMeth
 	        generateAndAddContract( call);
 	        contractMatch = contractCollection.matchContract(heapInScope);
 	    }
+
+	    if( procedureRegistry.isAborted(call) && callingState.getContainingStateSpace() != null ) {
+	    	// the contract may be incomplete, so the results of this call cannot be trusted
+	    	callingState.getContainingStateSpace().setAborted(callingState);
+	    }
+
+	    if( contractMatch.hasMatch() ) {
+	    	contractMatch = restrictToNewPostconditions(callingState, contractMatch);
+	    }
 	    
 	    return scopedHeap.merge(contractMatch);
 	}
 	
+	/**
+	 * If the calling state is continued during the fixpoint iteration, only postconditions that have been
+	 * added to the contract since the calling state has been executed for the last time yield new successors.
+	 * The number of applied postconditions is stored in the calling state itself such that it is discarded
+	 * together with the state.
+	 * @param callingState the state invoking the method
+	 * @param contractMatch the contract matching the heap in scope of the calling state
+	 * @return the match restricted to postconditions that have not been applied to the calling state yet
+	 */
+	private ContractMatch restrictToNewPostconditions(ProgramState callingState, ContractMatch contractMatch) {
+
+		int numberOfAppliedPostconditions = 0;
+		if( callingState.isContinueState() ) {
+			numberOfAppliedPostconditions = callingState.getNumberOfAppliedPostconditions();
+		}
+		callingState.setNumberOfAppliedPostconditions(contractMatch.getPostconditions().size());
+		if( numberOfAppliedPostconditions > 0 ) {
+			return new NewPostconditionsMatch(contractMatch, numberOfAppliedPostconditions);
+		}
+		return contractMatch;
+	}
+
 	/**
 	 * Is called when no contract for this call is found. 
      * @param call the procedureCall for this method and input
 	 */
 	abstract protected void generateAndAddContract( ProcedureCall call);
 
+	/**
+	 * Restricts a contract match to the postconditions that have been added to the contract after
+	 * it has been applied to a calling state for the last time. Since postconditions are only ever appended
+	 * to a contract, its number of postconditions serves as its version.
+	 * The successors obtained from the remaining postconditions are already part of the state space
+	 * of the calling state.
+	 */
+	private static final class NewPostconditionsMatch implements ContractMatch {
+
+		private final ContractMatch match;
+		private final List<HeapConfiguration> postconditions;
+
+		NewPostconditionsMatch(ContractMatch match, int numberOfAppliedPostconditions) {
+
+			this.match = match;
+			List<HeapConfiguration> allPostconditions = new ArrayList<>(match.getPostconditions());
+			int from = Math.min(numberOfAppliedPostconditions, allPostconditions.size());
+			this.postconditions = allPostconditions.subList(from, allPostconditions.size());
+		}
+
+		@Override
+		public boolean hasMatch() {
+			return match.hasMatch();
+		}
+
+		@Override
+		public int[] getExternalReordering() {
+			return match.getExternalReordering();
+		}
+
+		@Override
+		public HeapConfiguration getPrecondition() {
+			return match.getPrecondition();
+		}
+
+		@Override
+		public Collection<HeapConfiguration> getPostconditions() {
+			return postconditions;
+		}
+	}
+
 }
\ No newline at end of file
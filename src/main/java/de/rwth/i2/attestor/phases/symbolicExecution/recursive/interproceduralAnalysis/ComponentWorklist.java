@@ -0,0 +1,99 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis;
+
+import java.util.*;
+import java.util.function.ToIntFunction;
+
+/**
+ * A worklist of procedure calls or partial state spaces that is ordered by the strongly connected
+ * components of the call graph. Elements belonging to the component with the smallest index,
+ * i.e. the innermost callees, are removed first. Within a single component, elements are
+ * removed either in LIFO or in FIFO order. Every element is contained at most once.
+ *
+ * @param <E> the type of the elements
+ */
+class ComponentWorklist<E> {
+
+	private final ToIntFunction<E> componentOf;
+	private final boolean lifo;
+
+	private final TreeMap<Integer, Deque<E>> components = new TreeMap<>();
+	private final Set<E> elements = new HashSet<>();
+
+	/**
+	 * @param componentOf determines the index of the component an element belongs to
+	 * @param lifo true if elements of the same component are removed in LIFO order, false for FIFO order
+	 */
+	ComponentWorklist(ToIntFunction<E> componentOf, boolean lifo) {
+
+		this.componentOf = componentOf;
+		this.lifo = lifo;
+	}
+
+	/**
+	 * adds the given element unless it is already contained.
+	 * @param element the element to add
+	 */
+	public void push(E element) {
+
+		if(elements.add(element)) {
+			Deque<E> component = components.computeIfAbsent(componentOf.applyAsInt(element), c -> new ArrayDeque<>());
+			if(lifo) {
+				component.addFirst(element);
+			} else {
+				component.addLast(element);
+			}
+		}
+	}
+
+	public void addAll(Collection<E> elements) {
+
+		for(E element : elements) {
+			push(element);
+		}
+	}
+
+	/**
+	 * @return the next element of the component with the smallest index
+	 * @throws NoSuchElementException if the worklist is empty
+	 */
+	public E pop() {
+
+		Map.Entry<Integer, Deque<E>> first = components.firstEntry();
+		if(first == null) {
+			throw new NoSuchElementException();
+		}
+		E result = first.getValue().removeFirst();
+		if(first.getValue().isEmpty()) {
+			components.remove(first.getKey());
+		}
+		elements.remove(result);
+		return result;
+	}
+
+	/**
+	 * @return the smallest index of a component with remaining elements or
+	 * {@link Integer#MAX_VALUE} if the worklist is empty
+	 */
+	public int peekComponent() {
+
+		return components.isEmpty() ? Integer.MAX_VALUE : components.firstKey();
+	}
+
+	public boolean contains(E element) {
+
+		return elements.contains(element);
+	}
+
+	/**
+	 * @return an unmodifiable view of all elements in no particular order
+	 */
+	public Set<E> elements() {
+
+		return Collections.unmodifiableSet(elements);
+	}
+
+	public boolean isEmpty() {
+
+		return elements.isEmpty();
+	}
+}
@@ -1,6 +1,7 @@
 package de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis;
 
 
+import de.rwth.i2.attestor.procedures.Method;
 import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
 
 import java.util.*;
@@ -11,6 +12,11 @@ import java.util.*;
  * It keeps track of any procedure calls to recursive methods that have not yet been analysed.
  * Furthermore it stores the dependencies between partialStateSpaces and procedureCalls so that
  * it can continue those stateSpaces whenever it has found new contracts for a procedureCall.
+ * <p>
+ * If the strongly connected components of the call graph are known (see {@link #setComponentIndices(Map)}),
+ * procedure calls and partial state spaces are processed in reverse topological order of these components.
+ * Hence, (mutually) recursive methods reach a local fixpoint before their callers outside of the
+ * component are continued.
  * 
  * see {@link ProcedureRegistry} for the interaction between the semantics and this class.
  * @author Hannah
@@ -18,18 +24,129 @@ import java.util.*;
  */
 public class InterproceduralAnalysis {
 
-	Deque<ProcedureCall> remainingProcedureCalls = new ArrayDeque<>();
-	Deque<PartialStateSpace> remainingPartialStateSpaces = new ArrayDeque<>();
+	ComponentWorklist<ProcedureCall> remainingProcedureCalls =
+			new ComponentWorklist<>(this::componentOf, true);
+	ComponentWorklist<PartialStateSpace> remainingPartialStateSpaces =
+			new ComponentWorklist<>(this::componentOf, false);
+
+	// index of the strongly connected component of every method in the call graph;
+	// modified in place only, since the worklists are bound to the instance that created them,
+	// which differs from this one for shallow copies such as mockito spies
+	private final Map<Method, Integer> componentIndices = new HashMap<>();
 
 	Map<ProcedureCall, Set<PartialStateSpace>> callingDependencies = new LinkedHashMap<>();
 	Map<StateSpace, ProcedureCall> stateSpaceToAnalyzedCall = new LinkedHashMap<>();
+	// procedure calls whose state space generation has been aborted, i.e. whose contracts may be incomplete
+	Set<ProcedureCall> abortedProcedureCalls = new LinkedHashSet<>();
+
+	private Runnable checkpoint = null;
+	private long checkpointInterval = 0;
+	private long lastCheckpoint = 0;
+
+	/**
+	 * Registers an action that is executed periodically during the fixpoint iteration
+	 * as well as once the fixpoint has been reached.
+	 * @param checkpoint the action, e.g. saving all contracts computed so far
+	 * @param intervalInMillis the minimal time between two consecutive executions of the action
+	 */
+	public void setCheckpoint(Runnable checkpoint, long intervalInMillis) {
+
+		this.checkpoint = checkpoint;
+		this.checkpointInterval = intervalInMillis;
+	}
+
+
+	/**
+	 * Determines the order in which procedure calls and partial state spaces are analyzed.
+	 * Must be set before any procedure call is registered.
+	 * @param componentIndices the index of the strongly connected component of every method in the call graph,
+	 * where callees belong to components with smaller or equal indices than their callers.
+	 * Methods without an index are analyzed last.
+	 */
+	public void setComponentIndices(Map<Method, Integer> componentIndices) {
+
+		this.componentIndices.clear();
+		this.componentIndices.putAll(componentIndices);
+	}
+
+	private int componentOf(ProcedureCall call) {
 
+		if(call == null || componentIndices.isEmpty()) {
+			return 0;
+		}
+		return componentIndices.getOrDefault(call.getMethod(), Integer.MAX_VALUE);
+	}
+
+	private int componentOf(PartialStateSpace partialStateSpace) {
+
+		return componentOf(stateSpaceToAnalyzedCall.get(partialStateSpace.unfinishedStateSpace()));
+	}
 
 	public void registerStateSpace( ProcedureCall call, StateSpace stateSpace) {
 
 		stateSpaceToAnalyzedCall.put(stateSpace, call);
+		if(stateSpace.containsAbortedStates()) {
+			abortedProcedureCalls.add(call);
+		}
+	}
+
+	/**
+	 * @param call a procedure call
+	 * @return true if the state space generation of the given call has been aborted.
+	 * In this case the contract of the call may miss postconditions.
+	 */
+	public boolean isAborted(ProcedureCall call) {
+
+		return abortedProcedureCalls.contains(call);
+	}
+
+	/**
+	 * @return true if the state space generation of at least one procedure call has been aborted,
+	 * i.e. if some contracts may miss postconditions.
+	 */
+	public boolean hasAbortedProcedureCalls() {
+
+		return !abortedProcedureCalls.isEmpty();
+	}
+
+
+	/**
+	 * A procedure call is completed if its state space has been generated and neither the call itself nor
+	 * any procedure call it (transitively) depends on is waiting to be analyzed or has been aborted.
+	 * Hence, the contract of a completed call does not change anymore.
+	 * @return all completed procedure calls
+	 */
+	public Set<ProcedureCall> getCompletedProcedureCalls() {
+
+		Set<ProcedureCall> incompleteCalls = new HashSet<>(getPendingProcedureCalls());
+		incompleteCalls.addAll(abortedProcedureCalls);
+		Deque<ProcedureCall> worklist = new ArrayDeque<>(incompleteCalls);
+		while(!worklist.isEmpty()) {
+			ProcedureCall call = worklist.pop();
+			for(PartialStateSpace dependency : callingDependencies.getOrDefault(call, Collections.emptySet())) {
+				ProcedureCall caller = stateSpaceToAnalyzedCall.get(dependency.unfinishedStateSpace());
+				if(caller != null && incompleteCalls.add(caller)) {
+					worklist.push(caller);
+				}
+			}
+		}
+
+		Set<ProcedureCall> result = new LinkedHashSet<>(stateSpaceToAnalyzedCall.values());
+		result.removeAll(incompleteCalls);
+		return result;
 	}
 
+	/**
+	 * @return all procedure calls that wait to be executed or whose partial state spaces wait to be continued
+	 */
+	Set<ProcedureCall> getPendingProcedureCalls() {
+
+		Set<ProcedureCall> result = new HashSet<>(remainingProcedureCalls.elements());
+		for(PartialStateSpace partialStateSpace : remainingPartialStateSpaces.elements()) {
+			result.add(stateSpaceToAnalyzedCall.get(partialStateSpace.unfinishedStateSpace()));
+		}
+		return result;
+	}
 
 	public void registerDependency(ProcedureCall procedureCall, PartialStateSpace dependentPartialStateSpace) {
 
@@ -44,9 +161,7 @@ public class InterproceduralAnalysis {
 
 	public void registerProcedureCall(ProcedureCall procedureCall) {
 
-		if(!remainingProcedureCalls.contains(procedureCall)) {
-			remainingProcedureCalls.push(procedureCall);
-		}
+		remainingProcedureCalls.push(procedureCall);
 	}
 
 	/**
@@ -56,29 +171,60 @@ public class InterproceduralAnalysis {
 	 */
 	public void run() {
 
+		startCheckpoints();
 		while(!remainingProcedureCalls.isEmpty() || !remainingPartialStateSpaces.isEmpty()) {
 			ProcedureCall call;
+			StateSpace stateSpace;
 			boolean contractChanged;
-			if(!remainingProcedureCalls.isEmpty()) {
+			if(!remainingProcedureCalls.isEmpty()
+					&& remainingProcedureCalls.peekComponent() <= remainingPartialStateSpaces.peekComponent()) {
 				call = remainingProcedureCalls.pop();
-				StateSpace stateSpace = call.execute();
+				stateSpace = call.execute();
 				contractChanged = stateSpace.getFinalStateIds().size() > 0;
 			} else {
 				PartialStateSpace partialStateSpace = remainingPartialStateSpaces.pop();
 				int currentNumberOfFinalStates = partialStateSpace.unfinishedStateSpace().getFinalStateIds().size();
 				call = stateSpaceToAnalyzedCall.get( partialStateSpace.unfinishedStateSpace() );
 				partialStateSpace.continueExecution(call);
-				int newNumberOfFinalsStates = partialStateSpace.unfinishedStateSpace().getFinalStateIds().size();
+				stateSpace = partialStateSpace.unfinishedStateSpace();
+				int newNumberOfFinalsStates = stateSpace.getFinalStateIds().size();
 				contractChanged = newNumberOfFinalsStates > currentNumberOfFinalStates;
 			}
+			if( stateSpace.containsAbortedStates() && abortedProcedureCalls.add(call) ) {
+				// callers have to be continued such that they are marked as aborted as well
+				contractChanged = true;
+			}
 			if( contractChanged ) {
 				notifyDependencies(call);
 			}
+			checkpointIfDue();
+		}
+		finishCheckpoints();
+	}
+
+	void startCheckpoints() {
+
+		lastCheckpoint = System.currentTimeMillis();
+	}
+
+	void checkpointIfDue() {
+
+		if( checkpoint != null && System.currentTimeMillis() - lastCheckpoint >= checkpointInterval ) {
+			checkpoint.run();
+			lastCheckpoint = System.currentTimeMillis();
+		}
+	}
+
+	void finishCheckpoints() {
+
+		if( checkpoint != null ) {
+			checkpoint.run();
 		}
 	}
 
 	/**
-	 * enqueues the partial stateSpace depending on the given call for continued analysis.
+	 * enqueues the partial stateSpace depending on the given call for continued analysis
+	 * unless it is already waiting to be continued.
 	 * @param call the procedure call for which the contract has changed
 	 * (i.e. for which more postconditions have been discovered)
 	 */ 
@@ -0,0 +1,257 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis;
+
+import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Computes the same fixpoint as {@link InterproceduralAnalysis}, but executes independent procedure calls
+ * and continuations of partial state spaces concurrently on a bounded pool of threads.
+ * <p>
+ * Partial state spaces are registered while their state space is generated. The generating task thus owns
+ * these state spaces until it has finished and a partial state space is only continued once no other task
+ * generates its state space. Hence, continuations wait for the procedure calls they depend on.
+ * If the contract of a procedure call may have changed after a task started, dependencies registered by this
+ * task are continued again such that no postcondition is missed.
+ * <p>
+ * All tasks share the strategies of the scene. The canonicalization, materialization and precondition matching
+ * strategies only read the grammar and the heaps passed to them and keep no state between calls except for
+ * their rule caches, which are synchronized (see ViolationPointResolver and IndexedMaterializationRuleManager).
+ * Contract collections match preconditions against immutable snapshots of their contracts.
+ * Hence, tasks do not need their own instances of these strategies. State spaces are never shared,
+ * because a state space is only generated by the task owning it.
+ */
+public class ParallelInterproceduralAnalysis extends InterproceduralAnalysis {
+
+	private final int numberOfThreads;
+
+	private final Set<PartialStateSpace> pendingPartialStateSpaces = new LinkedHashSet<>();
+	private final Set<ProcedureCall> runningProcedureCalls = new HashSet<>();
+	// state spaces that are currently generated by some task
+	private final Set<StateSpace> busyStateSpaces = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	// counts the notifications of dependencies, i.e. the changes of contracts
+	private long numberOfNotifications = 0;
+	private final Map<ProcedureCall, Long> lastNotification = new HashMap<>();
+
+	private final ThreadLocal<Task> currentTask = new ThreadLocal<>();
+
+	/**
+	 * @param numberOfThreads the maximal number of procedure calls and partial state spaces analyzed concurrently
+	 */
+	public ParallelInterproceduralAnalysis(int numberOfThreads) {
+
+		this.numberOfThreads = numberOfThreads;
+	}
+
+	@Override
+	public synchronized void registerStateSpace(ProcedureCall call, StateSpace stateSpace) {
+
+		super.registerStateSpace(call, stateSpace);
+	}
+
+	@Override
+	public synchronized boolean isAborted(ProcedureCall call) {
+
+		return super.isAborted(call);
+	}
+
+	@Override
+	public synchronized void registerDependency(ProcedureCall procedureCall,
+												PartialStateSpace dependentPartialStateSpace) {
+
+		super.registerDependency(procedureCall, dependentPartialStateSpace);
+
+		Task task = currentTask.get();
+		if(task == null) {
+			return;
+		}
+
+		StateSpace stateSpace = dependentPartialStateSpace.unfinishedStateSpace();
+		if(busyStateSpaces.add(stateSpace)) {
+			task.ownedStateSpaces.add(stateSpace);
+		}
+
+		Long notification = lastNotification.get(procedureCall);
+		if(notification != null && notification > task.startedAfterNotification) {
+			// the contract may have been extended after the calling task looked it up
+			pendingPartialStateSpaces.add(dependentPartialStateSpace);
+		}
+	}
+
+	@Override
+	public synchronized void registerProcedureCall(ProcedureCall procedureCall) {
+
+		if(!runningProcedureCalls.contains(procedureCall)) {
+			super.registerProcedureCall(procedureCall);
+		}
+	}
+
+	@Override
+	public synchronized Set<ProcedureCall> getCompletedProcedureCalls() {
+
+		return super.getCompletedProcedureCalls();
+	}
+
+	@Override
+	Set<ProcedureCall> getPendingProcedureCalls() {
+
+		Set<ProcedureCall> result = super.getPendingProcedureCalls();
+		result.addAll(runningProcedureCalls);
+		Set<StateSpace> pendingStateSpaces = Collections.newSetFromMap(new IdentityHashMap<>());
+		pendingStateSpaces.addAll(busyStateSpaces);
+		for(PartialStateSpace partialStateSpace : pendingPartialStateSpaces) {
+			pendingStateSpaces.add(partialStateSpace.unfinishedStateSpace());
+		}
+		for(StateSpace stateSpace : pendingStateSpaces) {
+			// state spaces of running procedure calls are only registered once their generation has finished
+			ProcedureCall call = stateSpaceToAnalyzedCall.get(stateSpace);
+			if(call != null) {
+				result.add(call);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * the fixpoint iteration. Returns once no procedure call or partial state space is left to be analyzed.
+	 */
+	@Override
+	public void run() {
+
+		ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+		CompletionService<Task> completionService = new ExecutorCompletionService<>(executor);
+		int runningTasks = 0;
+
+		startCheckpoints();
+		try {
+			while(true) {
+				synchronized (this) {
+					runningTasks += scheduleReadyTasks(completionService, numberOfThreads - runningTasks);
+				}
+				if(runningTasks == 0) {
+					break;
+				}
+				Task task = takeCompletedTask(completionService);
+				--runningTasks;
+				synchronized (this) {
+					completeTask(task);
+				}
+				checkpointIfDue();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		finishCheckpoints();
+	}
+
+	private int scheduleReadyTasks(CompletionService<Task> completionService, int freeThreads) {
+
+		int scheduled = 0;
+		while(scheduled < freeThreads && !remainingProcedureCalls.isEmpty()) {
+			ProcedureCall call = remainingProcedureCalls.pop();
+			runningProcedureCalls.add(call);
+			Task task = new Task(call, null, numberOfNotifications);
+			completionService.submit(() -> execute(task));
+			++scheduled;
+		}
+
+		Iterator<PartialStateSpace> iterator = pendingPartialStateSpaces.iterator();
+		while(scheduled < freeThreads && iterator.hasNext()) {
+			PartialStateSpace partialStateSpace = iterator.next();
+			StateSpace stateSpace = partialStateSpace.unfinishedStateSpace();
+			if(busyStateSpaces.add(stateSpace)) {
+				iterator.remove();
+				ProcedureCall call = stateSpaceToAnalyzedCall.get(stateSpace);
+				Task task = new Task(call, partialStateSpace, numberOfNotifications);
+				task.ownedStateSpaces.add(stateSpace);
+				completionService.submit(() -> execute(task));
+				++scheduled;
+			}
+		}
+		return scheduled;
+	}
+
+	private Task execute(Task task) {
+
+		currentTask.set(task);
+		try {
+			if(task.partialStateSpace == null) {
+				task.stateSpace = task.call.execute();
+				task.contractChanged = task.stateSpace.getFinalStateIds().size() > 0;
+			} else {
+				int currentNumberOfFinalStates =
+						task.partialStateSpace.unfinishedStateSpace().getFinalStateIds().size();
+				task.partialStateSpace.continueExecution(task.call);
+				task.stateSpace = task.partialStateSpace.unfinishedStateSpace();
+				int newNumberOfFinalStates = task.stateSpace.getFinalStateIds().size();
+				task.contractChanged = newNumberOfFinalStates > currentNumberOfFinalStates;
+			}
+		} finally {
+			currentTask.remove();
+		}
+		return task;
+	}
+
+	private Task takeCompletedTask(CompletionService<Task> completionService) {
+
+		try {
+			return completionService.take().get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Failed to await procedure call (" + e.getMessage() + ").");
+		} catch (ExecutionException e) {
+			if(e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException("Failed to analyze procedure call (" + e.getCause() + ").");
+		}
+	}
+
+	private void completeTask(Task task) {
+
+		busyStateSpaces.removeAll(task.ownedStateSpaces);
+		if(task.partialStateSpace == null) {
+			runningProcedureCalls.remove(task.call);
+		}
+
+		boolean contractChanged = task.contractChanged;
+		if( task.stateSpace.containsAbortedStates() && abortedProcedureCalls.add(task.call) ) {
+			// callers have to be continued such that they are marked as aborted as well
+			contractChanged = true;
+		}
+		if( contractChanged ) {
+			notifyDependencies(task.call);
+		}
+	}
+
+	@Override
+	void notifyDependencies(ProcedureCall call) {
+
+		lastNotification.put(call, ++numberOfNotifications);
+		pendingPartialStateSpaces.addAll(callingDependencies.getOrDefault(call, Collections.emptySet()));
+	}
+
+	/**
+	 * Either the execution of a procedure call or the continuation of a partial state space.
+	 */
+	private static final class Task {
+
+		final ProcedureCall call;
+		final PartialStateSpace partialStateSpace;
+		final long startedAfterNotification;
+		// state spaces that must not be continued by other tasks before this task has finished
+		final Set<StateSpace> ownedStateSpaces = Collections.newSetFromMap(new IdentityHashMap<>());
+
+		StateSpace stateSpace;
+		boolean contractChanged;
+
+		Task(ProcedureCall call, PartialStateSpace partialStateSpace, long startedAfterNotification) {
+
+			this.call = call;
+			this.partialStateSpace = partialStateSpace;
+			this.startedAfterNotification = startedAfterNotification;
+		}
+	}
+}
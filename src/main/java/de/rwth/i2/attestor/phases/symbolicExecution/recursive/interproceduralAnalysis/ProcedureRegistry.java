@@ -48,4 +48,12 @@ public interface ProcedureRegistry {
 	 * @param generatedStateSpace the stateSpace corresponding to the call
 	 */
 	void registerStateSpace( ProcedureCall call, StateSpace generatedStateSpace );
+	/**
+	 * Checks whether the stateSpace generation of a procedureCall has been aborted.
+	 * Semantics should mark the calling state as aborted in this case, because
+	 * the contract of the procedureCall may be incomplete.
+	 * @param call the procedureCall
+	 * @return true if the stateSpace generated by the procedureCall contains aborted states
+	 */
+	boolean isAborted( ProcedureCall call );
 }
@@ -1,8 +1,10 @@
 package de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl;
 
 import de.rwth.i2.attestor.programState.AtomicPropositions;
+import de.rwth.i2.attestor.stateSpaceGeneration.AtomicPropositionLabel;
 import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
 import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
+import de.rwth.i2.attestor.stateSpaceGeneration.TransitionRelation;
 import gnu.trove.TIntCollection;
 import gnu.trove.iterator.TIntIterator;
 import gnu.trove.iterator.TIntObjectIterator;
@@ -10,7 +12,9 @@ import gnu.trove.list.array.TIntArrayList;
 import gnu.trove.map.TIntObjectMap;
 import gnu.trove.map.hash.TIntObjectHashMap;
 import gnu.trove.set.TIntSet;
+import gnu.trove.set.TLongSet;
 import gnu.trove.set.hash.TIntHashSet;
+import gnu.trove.set.hash.TLongHashSet;
 
 import java.util.*;
 
@@ -20,12 +24,22 @@ public class InternalStateSpace implements StateSpace {
     private final List<ProgramState> otherStates; // states that are never checked for isomorphism
     private final TIntSet initialStateIds;
     private final TIntSet finalStateIds;
-    private final TIntObjectMap<TIntArrayList> materializationSuccessors;
-    private final TIntObjectMap<TIntArrayList> controlFlowSuccessors;
+    private TIntObjectMap<TIntArrayList> materializationSuccessors;
+    private TIntObjectMap<TIntArrayList> controlFlowSuccessors;
     // TODO: Self-loops are managed here! Use map to int instead of list?!?
-    private final TIntObjectMap<TIntArrayList> artificialInfPathsSuccessors;
-    private final TIntObjectMap<Set<String>> atomicPropMap;
-    private TIntObjectMap<ProgramState> stateIdLookupTable = null;
+    private TIntObjectMap<TIntArrayList> artificialInfPathsSuccessors;
+    // (source, target) pairs of all transitions added so far to detect duplicates in constant time
+    private TLongSet materializationTransitions;
+    private TLongSet controlFlowTransitions;
+    private TLongSet artificialInfPathsTransitions;
+    // compact read-only representation of all transitions once the state space is frozen
+    private TransitionRelation frozenMaterializationTransitions = null;
+    private TransitionRelation frozenControlFlowTransitions = null;
+    private TransitionRelation frozenArtificialInfPathsTransitions = null;
+    private TransitionRelation frozenObservableTransitions = null;
+    private final TIntObjectMap<AtomicPropositionLabel> atomicPropMap;
+    // states indexed by their id; ids are allocated sequentially, so this table is only ever appended to
+    private ProgramState[] stateIdLookupTable;
     private int nextStateId = 0;
     private int maximalStateSize = 0;
     private boolean containsAtLeastOneAbortedState = false;
@@ -40,7 +54,11 @@ public class InternalStateSpace implements StateSpace {
         materializationSuccessors = new TIntObjectHashMap<>(capacity, 0.8f);
         controlFlowSuccessors = new TIntObjectHashMap<>(capacity, 0.8f);
         artificialInfPathsSuccessors = new TIntObjectHashMap<>(100);
+        materializationTransitions = new TLongHashSet(capacity, 0.8f);
+        controlFlowTransitions = new TLongHashSet(capacity, 0.8f);
+        artificialInfPathsTransitions = new TLongHashSet(100);
         atomicPropMap = new TIntObjectHashMap<>(capacity, 0.8f);
+        stateIdLookupTable = new ProgramState[Math.max(capacity, 16)];
     }
 
     private static void replaceIds(TIntObjectMap<TIntArrayList> map, Map<Integer, Integer> idMapping) {
@@ -52,6 +70,26 @@ public class InternalStateSpace implements StateSpace {
         }
     }
 
+    private static long transitionKey(int from, int to) {
+
+        return ((long) from << 32) | (to & 0xFFFFFFFFL);
+    }
+
+    private static TLongSet transitionKeys(TIntObjectMap<TIntArrayList> map) {
+
+        TLongSet result = new TLongHashSet(map.size(), 0.8f);
+        TIntObjectIterator<TIntArrayList> iterator = map.iterator();
+        while (iterator.hasNext()) {
+            iterator.advance();
+            int from = iterator.key();
+            TIntIterator successorIterator = iterator.value().iterator();
+            while (successorIterator.hasNext()) {
+                result.add(transitionKey(from, successorIterator.next()));
+            }
+        }
+        return result;
+    }
+
     public Set<ProgramState> getInitialStates() {
 
         return getStatesOf(initialStateIds);
@@ -59,29 +97,26 @@ public class InternalStateSpace implements StateSpace {
 
     private Set<ProgramState> getStatesOf(TIntCollection collection) {
 
-        initLookupTable();
         Set<ProgramState> result = new LinkedHashSet<>(collection.size());
         TIntIterator iter = collection.iterator();
         while (iter.hasNext()) {
             int id = iter.next();
-            result.add(stateIdLookupTable.get(id));
+            result.add(getState(id));
         }
 
         return result;
     }
 
-    private void initLookupTable() {
+    private void putLookupTable(int id, ProgramState state) {
 
-        if (stateIdLookupTable == null || stateIdLookupTable.size() < getStates().size() ) {
-            stateIdLookupTable = new TIntObjectHashMap<>(getStates().size());
-            for (ProgramState state : getStates()) {
-                stateIdLookupTable.put(state.getStateSpaceId(), state);
-            }
+        if (id >= stateIdLookupTable.length) {
+            int newLength = Math.max(id + 1, stateIdLookupTable.length + (stateIdLookupTable.length >> 1));
+            stateIdLookupTable = Arrays.copyOf(stateIdLookupTable, newLength);
         }
+        stateIdLookupTable[id] = state;
     }
 
 
-
     public TIntSet getInitialStateIds() {
 
         return initialStateIds;
@@ -109,7 +144,7 @@ public class InternalStateSpace implements StateSpace {
 
         int stateSpaceId = state.getStateSpaceId();
 
-        TIntArrayList successors = controlFlowSuccessors.get(stateSpaceId);
+        TIntArrayList successors = getControlFlowSuccessorsIdsOf(stateSpaceId);
 
         if (successors.isEmpty()) {
             return Collections.emptySet();
@@ -122,7 +157,7 @@ public class InternalStateSpace implements StateSpace {
     public Set<ProgramState> getMaterializationSuccessorsOf(ProgramState state) {
 
         int stateSpaceId = state.getStateSpaceId();
-        TIntArrayList successors = materializationSuccessors.get(stateSpaceId);
+        TIntArrayList successors = getMaterializationSuccessorsIdsOf(stateSpaceId);
 
         if (successors.isEmpty()) {
             return Collections.emptySet();
@@ -135,8 +170,7 @@ public class InternalStateSpace implements StateSpace {
     public Set<ProgramState> getArtificialInfPathsSuccessorsOf(ProgramState state) {
 
         int stateSpaceId = state.getStateSpaceId();
-        TIntArrayList successors = artificialInfPathsSuccessors.get(stateSpaceId);
-
+        TIntArrayList successors = getArtificialInfPathsSuccessorsIdsOf(stateSpaceId);
 
         if (successors.isEmpty()) {
             return Collections.emptySet();
@@ -148,24 +182,34 @@ public class InternalStateSpace implements StateSpace {
     @Override
     public TIntArrayList getControlFlowSuccessorsIdsOf(int stateSpaceId) {
 
+        if (isFrozen()) {
+            return frozenControlFlowTransitions.successorsOf(stateSpaceId);
+        }
         return controlFlowSuccessors.get(stateSpaceId);
     }
 
     @Override
     public TIntArrayList getMaterializationSuccessorsIdsOf(int stateSpaceId) {
 
+        if (isFrozen()) {
+            return frozenMaterializationTransitions.successorsOf(stateSpaceId);
+        }
         return materializationSuccessors.get(stateSpaceId);
     }
 
     @Override
     public TIntArrayList getArtificialInfPathsSuccessorsIdsOf(int stateSpaceId) {
 
+        if (isFrozen()) {
+            return frozenArtificialInfPathsTransitions.successorsOf(stateSpaceId);
+        }
         return artificialInfPathsSuccessors.get(stateSpaceId);
     }
 
     @Override
     public boolean addState(ProgramState state) {
 
+        checkNotFrozen();
         otherStates.add(state);
         updateAddedState(state);
         return true;
@@ -174,6 +218,7 @@ public class InternalStateSpace implements StateSpace {
     @Override
     public boolean addStateIfAbsent(ProgramState state) {
 
+        checkNotFrozen();
         ProgramState old = potentialMergeStates.putIfAbsent(state, state);
         if (old == null) {
             updateAddedState(state);
@@ -184,14 +229,46 @@ public class InternalStateSpace implements StateSpace {
         return false;
     }
 
+    /**
+     * @param state A program state.
+     * @return A state stored in this state space that is isomorphic to the given one or null if no such state exists.
+     *         States added via {@link #addState(ProgramState)} are not taken into account.
+     */
+    protected ProgramState getIsomorphicState(ProgramState state) {
+
+        return potentialMergeStates.get(state);
+    }
+
+    /**
+     * Replaces a state stored in this state space by another state that takes over its id.
+     * All transitions from and to the replaced state thus become transitions from and to the new state.
+     *
+     * @param oldState A state stored in this state space.
+     * @param newState The state that replaces oldState.
+     */
+    protected void replaceState(ProgramState oldState, ProgramState newState) {
+
+        checkNotFrozen();
+        int id = oldState.getStateSpaceId();
+        if (potentialMergeStates.remove(oldState) == null) {
+            otherStates.remove(oldState);
+        }
+        potentialMergeStates.put(newState, newState);
+        newState.setStateSpaceId(id);
+        putLookupTable(id, newState);
+        atomicPropMap.put(id, newState.getAPLabel());
+        maximalStateSize = Math.max(maximalStateSize, newState.size());
+    }
+
     private void updateAddedState(ProgramState state) {
 
         state.setStateSpaceId(nextStateId);
+        putLookupTable(nextStateId, state);
         materializationSuccessors.put(nextStateId, new TIntArrayList());
         controlFlowSuccessors.put(nextStateId, new TIntArrayList());
         artificialInfPathsSuccessors.put(nextStateId, new TIntArrayList());
         // TODO: In the long run remove APs from program state!
-        atomicPropMap.put(nextStateId, state.getAPs());
+        atomicPropMap.put(nextStateId, state.getAPLabel());
         maximalStateSize = Math.max(maximalStateSize, state.size());
         ++nextStateId;
     }
@@ -208,12 +285,16 @@ public class InternalStateSpace implements StateSpace {
 
         finalStateIds.add(state.getStateSpaceId());
         state.addAP("{ terminated }");
+        atomicPropMap.put(state.getStateSpaceId(), state.getAPLabel());
     }
 
     @Override
     public void setAborted(ProgramState state) {
 
         state.addAP(AtomicPropositions.ABORTED);
+        if (atomicPropMap.containsKey(state.getStateSpaceId())) {
+            atomicPropMap.put(state.getStateSpaceId(), state.getAPLabel());
+        }
         this.containsAtLeastOneAbortedState = true;
     }
 
@@ -226,15 +307,15 @@ public class InternalStateSpace implements StateSpace {
     @Override
     public void updateFinalStates(Set<ProgramState> newFinalStates, Map<Integer, Integer> idMapping) {
 
-        initLookupTable();
+        checkNotFrozen();
 
         TIntIterator idIterator = finalStateIds.iterator();
         while (idIterator.hasNext()) {
             int id = idIterator.next();
-            ProgramState state = stateIdLookupTable.get(id);
+            ProgramState state = getState(id);
             potentialMergeStates.remove(state);
             otherStates.remove(state);
-            stateIdLookupTable.remove(id);
+            stateIdLookupTable[id] = null;
             artificialInfPathsSuccessors.remove(id);
         }
 
@@ -242,7 +323,7 @@ public class InternalStateSpace implements StateSpace {
         for (ProgramState s : newFinalStates) {
             finalStateIds.add(s.getStateSpaceId());
             potentialMergeStates.put(s, s);
-            stateIdLookupTable.put(s.getStateSpaceId(), s);
+            putLookupTable(s.getStateSpaceId(), s);
 
             TIntArrayList tIntArrayList = new TIntArrayList();
             tIntArrayList.add(s.getStateSpaceId());
@@ -251,42 +332,118 @@ public class InternalStateSpace implements StateSpace {
 
         // redirect
         replaceIds(controlFlowSuccessors, idMapping);
+        controlFlowTransitions = transitionKeys(controlFlowSuccessors);
+        artificialInfPathsTransitions = transitionKeys(artificialInfPathsSuccessors);
     }
 
     @Override
     public void addMaterializationTransition(ProgramState from, ProgramState to) {
 
-        addTransition(from, to, materializationSuccessors);
+        addTransition(from, to, materializationSuccessors, materializationTransitions);
     }
 
     @Override
     public void addControlFlowTransition(ProgramState from, ProgramState to) {
 
-        addTransition(from, to, controlFlowSuccessors);
+        addTransition(from, to, controlFlowSuccessors, controlFlowTransitions);
     }
 
     public void addArtificialInfPathsTransition(ProgramState cur) {
 
-        addTransition(cur, cur, artificialInfPathsSuccessors);
+        addTransition(cur, cur, artificialInfPathsSuccessors, artificialInfPathsTransitions);
 
     }
 
     @Override
     public ProgramState getState(int id) {
 
-        initLookupTable();
-        return stateIdLookupTable.get(id);
+        if (id < 0 || id >= stateIdLookupTable.length) {
+            return null;
+        }
+        return stateIdLookupTable[id];
     }
 
-    private void addTransition(ProgramState from, ProgramState to, TIntObjectMap<TIntArrayList> successors) {
+    private void addTransition(ProgramState from, ProgramState to, TIntObjectMap<TIntArrayList> successors,
+                               TLongSet transitions) {
+
+        checkNotFrozen();
 
         int fId = from.getStateSpaceId();
         int tId = to.getStateSpaceId();
 
-        TIntArrayList succ = successors.get(fId);
-        if (!succ.contains(tId)) {
-            succ.add(tId);
+        if (transitions.add(transitionKey(fId, tId))) {
+            successors.get(fId).add(tId);
+        }
+    }
+
+    @Override
+    public void freeze() {
+
+        if (isFrozen()) {
+            return;
         }
+
+        frozenMaterializationTransitions = TransitionRelation.of(nextStateId, materializationSuccessors::get);
+        frozenControlFlowTransitions = TransitionRelation.of(nextStateId, controlFlowSuccessors::get);
+        frozenArtificialInfPathsTransitions = TransitionRelation.of(nextStateId, artificialInfPathsSuccessors::get);
+        frozenObservableTransitions = TransitionRelation.ofObservableSuccessors(frozenMaterializationTransitions,
+                frozenControlFlowTransitions, frozenArtificialInfPathsTransitions);
+
+        materializationSuccessors = null;
+        controlFlowSuccessors = null;
+        artificialInfPathsSuccessors = null;
+        materializationTransitions = null;
+        controlFlowTransitions = null;
+        artificialInfPathsTransitions = null;
+    }
+
+    public boolean isFrozen() {
+
+        return frozenControlFlowTransitions != null;
+    }
+
+    private void checkNotFrozen() {
+
+        if (isFrozen()) {
+            throw new IllegalStateException("Attempt to modify a frozen state space.");
+        }
+    }
+
+    @Override
+    public TransitionRelation getControlFlowTransitions() {
+
+        if (isFrozen()) {
+            return frozenControlFlowTransitions;
+        }
+        return TransitionRelation.of(nextStateId, controlFlowSuccessors::get);
+    }
+
+    @Override
+    public TransitionRelation getMaterializationTransitions() {
+
+        if (isFrozen()) {
+            return frozenMaterializationTransitions;
+        }
+        return TransitionRelation.of(nextStateId, materializationSuccessors::get);
+    }
+
+    @Override
+    public TransitionRelation getArtificialInfPathsTransitions() {
+
+        if (isFrozen()) {
+            return frozenArtificialInfPathsTransitions;
+        }
+        return TransitionRelation.of(nextStateId, artificialInfPathsSuccessors::get);
+    }
+
+    @Override
+    public TransitionRelation getObservableTransitions() {
+
+        if (isFrozen()) {
+            return frozenObservableTransitions;
+        }
+        return TransitionRelation.ofObservableSuccessors(getMaterializationTransitions(),
+                getControlFlowTransitions(), getArtificialInfPathsTransitions());
     }
 
     @Override
@@ -298,8 +455,13 @@ public class InternalStateSpace implements StateSpace {
     @Override
     public boolean satisfiesAP(int stateId, String expectedAP) {
 
-        Set<String> satisfiedAPs = atomicPropMap.get(stateId);
-        return satisfiedAPs.contains(expectedAP);
+        return atomicPropMap.get(stateId).contains(expectedAP);
+    }
+
+    @Override
+    public boolean satisfiesAP(int stateId, int propositionId) {
+
+        return atomicPropMap.get(stateId).contains(propositionId);
     }
 
     @Override
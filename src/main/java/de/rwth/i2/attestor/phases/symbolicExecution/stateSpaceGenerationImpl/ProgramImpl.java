@@ -6,6 +6,7 @@ import de.rwth.i2.attestor.stateSpaceGeneration.SemanticsCommand;
 import gnu.trove.list.array.TIntArrayList;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Set;
 
@@ -24,6 +25,10 @@ public class ProgramImpl implements Program {
     private final List<SemanticsCommand> program;
     private final TIntArrayList predecessorCounter;
     private int terminalPredecessorCounter;
+    /**
+     * Program counters of statements that lie strictly inside a basic block.
+     */
+    private final BitSet straightLineStatements;
 
     /**
      * Initialize this program.
@@ -40,6 +45,9 @@ public class ProgramImpl implements Program {
         }
 
         countPredecessors();
+
+        this.straightLineStatements = new BitSet(program.size());
+        computeBasicBlocks();
     }
 
     public static ProgramBuilder builder() {
@@ -81,6 +89,25 @@ public class ProgramImpl implements Program {
         }
     }
 
+    @Override
+    public boolean isStraightLine(int programCounter) {
+
+        return !isExit(programCounter) && straightLineStatements.get(programCounter);
+    }
+
+    private void computeBasicBlocks() {
+
+        for (int pc = 0; pc < program.size(); pc++) {
+            SemanticsCommand statement = program.get(pc);
+            if (statement.needsCanonicalization() || predecessorCounter.get(pc) > 1) {
+                continue;
+            }
+            if (statement.getSuccessorPCs().size() == 1) {
+                straightLineStatements.set(pc);
+            }
+        }
+    }
+
     private boolean isExit(int programCounter) {
 
         return programCounter >= program.size() || programCounter < 0;
@@ -0,0 +1,307 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl;
+
+import de.rwth.i2.attestor.graph.Nonterminal;
+import de.rwth.i2.attestor.graph.SelectorLabel;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.heap.HeapConfigurationBuilder;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
+import de.rwth.i2.attestor.types.Type;
+import gnu.trove.iterator.TIntIterator;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.TIntIntMap;
+import gnu.trove.map.hash.TIntIntHashMap;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores program states in a compact binary encoding within a memory-mapped file.
+ * Labels of heap configurations, i.e. types, selector labels, nonterminals and variable names,
+ * are kept in memory and referenced by their position in a dictionary. Hence, a stored state only consists
+ * of its program counter, whether it is continued, and a sequence of integers describing the graph structure
+ * of its heap.
+ * <br>
+ * A single store may be shared by arbitrarily many state spaces. Every state space using the store
+ * {@link #retain() retains} it and {@link #release() releases} it once it is discarded. The underlying file is
+ * closed and deleted as soon as no state space uses the store anymore.
+ */
+public class SpilledStateStore extends SceneObject implements Closeable {
+
+    /**
+     * The size of each memory-mapped segment of the underlying file.
+     */
+    private static final int SEGMENT_SIZE = 1 << 24;
+
+    private final List<Object> labels = new ArrayList<>();
+    private final Map<Object, Integer> labelIds = new HashMap<>();
+
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private int segmentPosition = SEGMENT_SIZE;
+    private File file = null;
+    private FileChannel channel = null;
+    private int numberOfUsers = 0;
+
+    private ByteBuffer encodingBuffer = ByteBuffer.allocate(4096);
+
+    public SpilledStateStore(SceneObject sceneObject) {
+
+        super(sceneObject);
+    }
+
+    /**
+     * Writes the given state to the underlying file.
+     *
+     * @param state The state that should be stored.
+     * @return The offset under which the state can be retrieved again.
+     */
+    public long write(ProgramState state) {
+
+        encodingBuffer.clear();
+        putInt(state.getProgramCounter());
+        putInt(state.isContinueState() ? 1 : 0);
+        putInt(state.getNumberOfAppliedPostconditions());
+        encodeHeap(state.getHeap());
+        encodingBuffer.flip();
+        return append(encodingBuffer);
+    }
+
+    /**
+     * Decodes a previously stored state.
+     * The atomic propositions and the state space id of the returned state are not set.
+     *
+     * @param offset The offset returned when the state has been written.
+     * @return A fresh program state that is equal to the stored one.
+     */
+    public ProgramState read(long offset) {
+
+        ByteBuffer buffer = recordAt(offset);
+        int programCounter = buffer.getInt();
+        boolean isContinueState = buffer.getInt() != 0;
+        int numberOfAppliedPostconditions = buffer.getInt();
+        HeapConfiguration heap = decodeHeap(buffer);
+        ProgramState state = scene().createProgramState(heap);
+        state.setProgramCounter(programCounter);
+        if (isContinueState) {
+            state.flagAsContinueState();
+        }
+        state.setNumberOfAppliedPostconditions(numberOfAppliedPostconditions);
+        return state;
+    }
+
+    /**
+     * Registers a state space that writes states to this store.
+     */
+    public void retain() {
+
+        ++numberOfUsers;
+    }
+
+    /**
+     * Deregisters a state space that has been discarded. States written on its behalf must not be read anymore.
+     * The store is closed once the last state space has been deregistered.
+     */
+    public void release() {
+
+        if (numberOfUsers > 0 && --numberOfUsers == 0) {
+            close();
+        }
+    }
+
+    /**
+     * Unmaps all segments, closes the underlying file and deletes it.
+     * All previously stored states are lost, but the store may be used to store further states afterwards.
+     */
+    @Override
+    public void close() {
+
+        segments.clear();
+        segmentPosition = SEGMENT_SIZE;
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to close state file (" + e.getMessage() + ").");
+        } finally {
+            channel = null;
+            file.delete();
+            file = null;
+        }
+    }
+
+    private void encodeHeap(HeapConfiguration heap) {
+
+        TIntArrayList nodes = heap.nodes();
+        TIntIntMap nodeIndex = new TIntIntHashMap(nodes.size());
+
+        putInt(nodes.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            int node = nodes.get(i);
+            nodeIndex.put(node, i);
+            putInt(labelId(heap.nodeTypeOf(node)));
+        }
+
+        for (int i = 0; i < nodes.size(); i++) {
+            int node = nodes.get(i);
+            List<SelectorLabel> selectors = heap.selectorLabelsOf(node);
+            putInt(selectors.size());
+            for (SelectorLabel selector : selectors) {
+                putInt(labelId(selector));
+                putInt(nodeIndex.get(heap.selectorTargetOf(node, selector)));
+            }
+        }
+
+        TIntArrayList externals = heap.externalNodes();
+        putInt(externals.size());
+        TIntIterator externalIterator = externals.iterator();
+        while (externalIterator.hasNext()) {
+            putInt(nodeIndex.get(externalIterator.next()));
+        }
+
+        TIntArrayList ntEdges = heap.nonterminalEdges();
+        putInt(ntEdges.size());
+        TIntIterator ntIterator = ntEdges.iterator();
+        while (ntIterator.hasNext()) {
+            int edge = ntIterator.next();
+            TIntArrayList attachedNodes = heap.attachedNodesOf(edge);
+            putInt(labelId(heap.labelOf(edge)));
+            putInt(attachedNodes.size());
+            for (int i = 0; i < attachedNodes.size(); i++) {
+                putInt(nodeIndex.get(attachedNodes.get(i)));
+            }
+        }
+
+        TIntArrayList varEdges = heap.variableEdges();
+        putInt(varEdges.size());
+        TIntIterator varIterator = varEdges.iterator();
+        while (varIterator.hasNext()) {
+            int varEdge = varIterator.next();
+            putInt(labelId(heap.nameOf(varEdge)));
+            putInt(nodeIndex.get(heap.targetOf(varEdge)));
+        }
+    }
+
+    private HeapConfiguration decodeHeap(ByteBuffer buffer) {
+
+        HeapConfiguration heap = scene().createHeapConfiguration();
+        HeapConfigurationBuilder builder = heap.builder();
+
+        int nodeCount = buffer.getInt();
+        TIntArrayList nodes = new TIntArrayList(nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            builder.addNodes((Type) labels.get(buffer.getInt()), 1, nodes);
+        }
+
+        for (int i = 0; i < nodeCount; i++) {
+            int selectorCount = buffer.getInt();
+            for (int s = 0; s < selectorCount; s++) {
+                SelectorLabel selector = (SelectorLabel) labels.get(buffer.getInt());
+                builder.addSelector(nodes.get(i), selector, nodes.get(buffer.getInt()));
+            }
+        }
+
+        int externalCount = buffer.getInt();
+        for (int i = 0; i < externalCount; i++) {
+            builder.setExternal(nodes.get(buffer.getInt()));
+        }
+
+        int ntCount = buffer.getInt();
+        for (int i = 0; i < ntCount; i++) {
+            Nonterminal label = (Nonterminal) labels.get(buffer.getInt());
+            int rank = buffer.getInt();
+            TIntArrayList attachedNodes = new TIntArrayList(rank);
+            for (int r = 0; r < rank; r++) {
+                attachedNodes.add(nodes.get(buffer.getInt()));
+            }
+            builder.addNonterminalEdge(label, attachedNodes);
+        }
+
+        int varCount = buffer.getInt();
+        for (int i = 0; i < varCount; i++) {
+            String name = (String) labels.get(buffer.getInt());
+            builder.addVariableEdge(name, nodes.get(buffer.getInt()));
+        }
+
+        return builder.build();
+    }
+
+    private int labelId(Object label) {
+
+        Integer id = labelIds.get(label);
+        if (id == null) {
+            id = labels.size();
+            labels.add(label);
+            labelIds.put(label, id);
+        }
+        return id;
+    }
+
+    private void putInt(int value) {
+
+        if (encodingBuffer.remaining() < Integer.BYTES) {
+            ByteBuffer larger = ByteBuffer.allocate(2 * encodingBuffer.capacity());
+            encodingBuffer.flip();
+            larger.put(encodingBuffer);
+            encodingBuffer = larger;
+        }
+        encodingBuffer.putInt(value);
+    }
+
+    private long append(ByteBuffer record) {
+
+        int required = record.remaining() + Integer.BYTES;
+        if (required > SEGMENT_SIZE) {
+            throw new IllegalArgumentException("Program state is too large to be stored.");
+        }
+
+        if (segmentPosition + required > SEGMENT_SIZE) {
+            mapNextSegment();
+        }
+
+        MappedByteBuffer segment = segments.get(segments.size() - 1);
+        long offset = (long) (segments.size() - 1) * SEGMENT_SIZE + segmentPosition;
+        segment.position(segmentPosition);
+        segment.putInt(record.remaining());
+        segment.put(record);
+        segmentPosition += required;
+        return offset;
+    }
+
+    private ByteBuffer recordAt(long offset) {
+
+        int position = (int) (offset % SEGMENT_SIZE);
+        ByteBuffer segment = segments.get((int) (offset / SEGMENT_SIZE)).duplicate();
+        int length = segment.getInt(position);
+        segment.position(position + Integer.BYTES);
+        segment.limit(position + Integer.BYTES + length);
+        return segment.slice();
+    }
+
+    private void mapNextSegment() {
+
+        try {
+            if (channel == null) {
+                file = File.createTempFile("attestor-states", ".bin");
+                // only a fallback for stores that are still in use when the JVM exits
+                file.deleteOnExit();
+                channel = new RandomAccessFile(file, "rw").getChannel();
+            }
+            long start = (long) segments.size() * SEGMENT_SIZE;
+            segments.add(channel.map(FileChannel.MapMode.READ_WRITE, start, SEGMENT_SIZE));
+            segmentPosition = 0;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to extend state file (" + e.getMessage() + ").");
+        }
+    }
+}
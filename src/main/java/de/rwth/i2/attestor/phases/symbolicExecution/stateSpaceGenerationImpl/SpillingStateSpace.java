@@ -0,0 +1,635 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl;
+
+import de.rwth.i2.attestor.programState.AtomicPropositions;
+import de.rwth.i2.attestor.stateSpaceGeneration.AtomicPropositionLabel;
+import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
+import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
+import de.rwth.i2.attestor.stateSpaceGeneration.TransitionRelation;
+import gnu.trove.TIntCollection;
+import gnu.trove.iterator.TIntIterator;
+import gnu.trove.iterator.TIntObjectIterator;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.TIntIntMap;
+import gnu.trove.map.TIntLongMap;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.map.hash.TIntLongHashMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.*;
+
+/**
+ * A state space that keeps at most a fixed number of explored states in memory.
+ * Whenever this bound is exceeded, the explored states that have been resident for the longest time
+ * are written to a {@link SpilledStateStore} and only their offset within the store remains in memory.
+ * A state is only spilled once the state space generation moved on to another state, i.e. after all of its
+ * successors have been computed, such that no change made to the state during its expansion is lost.
+ * Spilled states are decoded on demand, i.e. whenever a state space lookup, an isomorphism check
+ * for a potentially merged state or an iteration over all states requires them.
+ * As long as a spilled or decoded state is still referenced elsewhere, lookups yield this very object.
+ * <br>
+ * Transitions and atomic propositions are always kept in memory.
+ * A state space that is no longer needed has to be {@link #close() closed} to release its states in the store.
+ */
+public class SpillingStateSpace implements StateSpace {
+
+    private final SpilledStateStore store;
+    private final int maxResidentStates;
+
+    private final TIntObjectMap<ProgramState> residentStates;
+    private final TIntLongMap spilledStates;
+    // spilled states that may still be referenced elsewhere
+    private final TIntObjectMap<SpilledStateReference> spilledStateReferences = new TIntObjectHashMap<>();
+    private final ReferenceQueue<ProgramState> collectedStates = new ReferenceQueue<>();
+    // explored states that may be spilled in this order; the first nextSpillableState entries have been handled
+    private final TIntArrayList spillableStates = new TIntArrayList();
+    private int nextSpillableState = 0;
+    private final TIntSet exploredStateIds;
+    // the state whose successors are currently computed, which is never spilled
+    private int expandedStateId = -1;
+    // hash codes of states that are checked for isomorphism
+    private final TIntObjectMap<TIntArrayList> mergeCandidates;
+    // the hash code under which each state is stored in mergeCandidates
+    private final TIntIntMap mergeCandidateHashes;
+    private final BitSet stateIds = new BitSet();
+
+    private final TIntSet initialStateIds;
+    private final TIntSet finalStateIds;
+    private TIntObjectMap<TIntArrayList> materializationSuccessors;
+    private TIntObjectMap<TIntArrayList> controlFlowSuccessors;
+    private TIntObjectMap<TIntArrayList> artificialInfPathsSuccessors;
+    private TransitionRelation frozenMaterializationTransitions = null;
+    private TransitionRelation frozenControlFlowTransitions = null;
+    private TransitionRelation frozenArtificialInfPathsTransitions = null;
+    private TransitionRelation frozenObservableTransitions = null;
+    private final TIntObjectMap<AtomicPropositionLabel> atomicPropMap;
+    private int nextStateId = 0;
+    private int maximalStateSize = 0;
+    private boolean containsAtLeastOneAbortedState = false;
+    private boolean isClosed = false;
+
+    /**
+     * @param capacity          The expected number of states.
+     * @param maxResidentStates The maximal number of explored states that are kept in memory.
+     * @param store             The store to which states are written once they are evicted.
+     */
+    public SpillingStateSpace(int capacity, int maxResidentStates, SpilledStateStore store) {
+
+        this.store = store;
+        this.maxResidentStates = maxResidentStates;
+
+        capacity = 2 * capacity;
+        residentStates = new TIntObjectHashMap<>(Math.min(capacity, 2 * maxResidentStates), 0.8f);
+        spilledStates = new TIntLongHashMap(capacity, 0.8f);
+        exploredStateIds = new TIntHashSet(capacity, 0.8f);
+        mergeCandidates = new TIntObjectHashMap<>(capacity, 0.8f);
+        mergeCandidateHashes = new TIntIntHashMap(capacity, 0.8f);
+        initialStateIds = new TIntHashSet(100);
+        finalStateIds = new TIntHashSet(100);
+        materializationSuccessors = new TIntObjectHashMap<>(capacity, 0.8f);
+        controlFlowSuccessors = new TIntObjectHashMap<>(capacity, 0.8f);
+        artificialInfPathsSuccessors = new TIntObjectHashMap<>(100);
+        atomicPropMap = new TIntObjectHashMap<>(capacity, 0.8f);
+        store.retain();
+    }
+
+    private static void replaceIds(TIntObjectMap<TIntArrayList> map, Map<Integer, Integer> idMapping) {
+
+        TIntObjectIterator<TIntArrayList> iterator = map.iterator();
+        while (iterator.hasNext()) {
+            iterator.advance();
+            iterator.value().transformValues(id -> idMapping.getOrDefault(id, id));
+        }
+    }
+
+    /**
+     * @return The number of states that are currently not kept in memory.
+     */
+    public int countSpilledStates() {
+
+        return spilledStates.size();
+    }
+
+    @Override
+    public Set<ProgramState> getStates() {
+
+        return new AbstractSet<ProgramState>() {
+
+            @Override
+            public int size() {
+
+                return stateIds.cardinality();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+
+                if (!(o instanceof ProgramState)) {
+                    return false;
+                }
+                ProgramState state = (ProgramState) o;
+                int id = state.getStateSpaceId();
+                return id >= 0 && stateIds.get(id) && state.equals(getState(id));
+            }
+
+            @Override
+            public Iterator<ProgramState> iterator() {
+
+                return new Iterator<ProgramState>() {
+
+                    private int next = stateIds.nextSetBit(0);
+
+                    @Override
+                    public boolean hasNext() {
+
+                        return next >= 0;
+                    }
+
+                    @Override
+                    public ProgramState next() {
+
+                        if (next < 0) {
+                            throw new NoSuchElementException();
+                        }
+                        ProgramState result = getState(next);
+                        next = stateIds.nextSetBit(next + 1);
+                        return result;
+                    }
+                };
+            }
+        };
+    }
+
+    @Override
+    public Set<ProgramState> getInitialStates() {
+
+        return getStatesOf(initialStateIds);
+    }
+
+    @Override
+    public TIntSet getInitialStateIds() {
+
+        return initialStateIds;
+    }
+
+    @Override
+    public Set<ProgramState> getFinalStates() {
+
+        return getStatesOf(finalStateIds);
+    }
+
+    @Override
+    public TIntSet getFinalStateIds() {
+
+        return finalStateIds;
+    }
+
+    private Set<ProgramState> getStatesOf(TIntCollection collection) {
+
+        Set<ProgramState> result = new LinkedHashSet<>(collection.size());
+        TIntIterator iter = collection.iterator();
+        while (iter.hasNext()) {
+            result.add(getState(iter.next()));
+        }
+        return result;
+    }
+
+    @Override
+    public int size() {
+
+        return stateIds.cardinality();
+    }
+
+    @Override
+    public Set<ProgramState> getControlFlowSuccessorsOf(ProgramState state) {
+
+        TIntArrayList successors = getControlFlowSuccessorsIdsOf(state.getStateSpaceId());
+        if (successors.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return getStatesOf(successors);
+    }
+
+    @Override
+    public Set<ProgramState> getMaterializationSuccessorsOf(ProgramState state) {
+
+        TIntArrayList successors = getMaterializationSuccessorsIdsOf(state.getStateSpaceId());
+        if (successors.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return getStatesOf(successors);
+    }
+
+    @Override
+    public Set<ProgramState> getArtificialInfPathsSuccessorsOf(ProgramState state) {
+
+        TIntArrayList successors = getArtificialInfPathsSuccessorsIdsOf(state.getStateSpaceId());
+        if (successors.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return getStatesOf(successors);
+    }
+
+    @Override
+    public TIntArrayList getControlFlowSuccessorsIdsOf(int stateSpaceId) {
+
+        if (isFrozen()) {
+            return frozenControlFlowTransitions.successorsOf(stateSpaceId);
+        }
+        return controlFlowSuccessors.get(stateSpaceId);
+    }
+
+    @Override
+    public TIntArrayList getMaterializationSuccessorsIdsOf(int stateSpaceId) {
+
+        if (isFrozen()) {
+            return frozenMaterializationTransitions.successorsOf(stateSpaceId);
+        }
+        return materializationSuccessors.get(stateSpaceId);
+    }
+
+    @Override
+    public TIntArrayList getArtificialInfPathsSuccessorsIdsOf(int stateSpaceId) {
+
+        if (isFrozen()) {
+            return frozenArtificialInfPathsTransitions.successorsOf(stateSpaceId);
+        }
+        return artificialInfPathsSuccessors.get(stateSpaceId);
+    }
+
+    @Override
+    public boolean addState(ProgramState state) {
+
+        checkNotFrozen();
+        updateAddedState(state);
+        return true;
+    }
+
+    @Override
+    public boolean addStateIfAbsent(ProgramState state) {
+
+        checkNotFrozen();
+        int hash = state.hashCode();
+        TIntArrayList candidates = mergeCandidates.get(hash);
+        if (candidates != null) {
+            for (int i = 0; i < candidates.size(); i++) {
+                int candidateId = candidates.get(i);
+                if (state.equals(getState(candidateId))) {
+                    state.setStateSpaceId(candidateId);
+                    return false;
+                }
+            }
+        }
+
+        updateAddedState(state);
+        addToMergeCandidates(state.getStateSpaceId(), hash);
+        return true;
+    }
+
+    private void addToMergeCandidates(int id, int hash) {
+
+        TIntArrayList candidates = mergeCandidates.get(hash);
+        if (candidates == null) {
+            candidates = new TIntArrayList(1);
+            mergeCandidates.put(hash, candidates);
+        }
+        candidates.add(id);
+        mergeCandidateHashes.put(id, hash);
+    }
+
+    private void updateAddedState(ProgramState state) {
+
+        state.setStateSpaceId(nextStateId);
+        stateIds.set(nextStateId);
+        residentStates.put(nextStateId, state);
+        materializationSuccessors.put(nextStateId, new TIntArrayList());
+        controlFlowSuccessors.put(nextStateId, new TIntArrayList());
+        artificialInfPathsSuccessors.put(nextStateId, new TIntArrayList());
+        atomicPropMap.put(nextStateId, state.getAPLabel());
+        maximalStateSize = Math.max(maximalStateSize, state.size());
+        ++nextStateId;
+    }
+
+    @Override
+    public void addInitialState(ProgramState state) {
+
+        addStateIfAbsent(state);
+        initialStateIds.add(state.getStateSpaceId());
+    }
+
+    @Override
+    public void setFinal(ProgramState state) {
+
+        int id = state.getStateSpaceId();
+        finalStateIds.add(id);
+        state.addAP("{ terminated }");
+        atomicPropMap.put(id, state.getAPLabel());
+        markExplored(id);
+    }
+
+    @Override
+    public void setAborted(ProgramState state) {
+
+        state.addAP(AtomicPropositions.ABORTED);
+        if (atomicPropMap.containsKey(state.getStateSpaceId())) {
+            atomicPropMap.put(state.getStateSpaceId(), state.getAPLabel());
+        }
+        this.containsAtLeastOneAbortedState = true;
+    }
+
+    @Override
+    public boolean containsAbortedStates() {
+
+        return containsAtLeastOneAbortedState;
+    }
+
+    @Override
+    public void updateFinalStates(Set<ProgramState> newFinalStates, Map<Integer, Integer> idMapping) {
+
+        checkNotFrozen();
+        TIntIterator idIterator = finalStateIds.iterator();
+        while (idIterator.hasNext()) {
+            int id = idIterator.next();
+            removeFromMergeCandidates(id);
+            residentStates.remove(id);
+            spilledStates.remove(id);
+            spilledStateReferences.remove(id);
+            stateIds.clear(id);
+            artificialInfPathsSuccessors.remove(id);
+        }
+
+        finalStateIds.clear();
+        for (ProgramState s : newFinalStates) {
+            int id = s.getStateSpaceId();
+            finalStateIds.add(id);
+            stateIds.set(id);
+            residentStates.put(id, s);
+            addToMergeCandidates(id, s.hashCode());
+
+            TIntArrayList tIntArrayList = new TIntArrayList();
+            tIntArrayList.add(id);
+            artificialInfPathsSuccessors.put(id, tIntArrayList);
+        }
+
+        // redirect
+        replaceIds(controlFlowSuccessors, idMapping);
+    }
+
+    private void removeFromMergeCandidates(int id) {
+
+        if (!mergeCandidateHashes.containsKey(id)) {
+            return;
+        }
+        int hash = mergeCandidateHashes.remove(id);
+        TIntArrayList candidates = mergeCandidates.get(hash);
+        candidates.remove(id);
+        if (candidates.isEmpty()) {
+            mergeCandidates.remove(hash);
+        }
+    }
+
+    @Override
+    public void addMaterializationTransition(ProgramState from, ProgramState to) {
+
+        addTransition(from, to, materializationSuccessors);
+    }
+
+    @Override
+    public void addControlFlowTransition(ProgramState from, ProgramState to) {
+
+        addTransition(from, to, controlFlowSuccessors);
+    }
+
+    @Override
+    public void addArtificialInfPathsTransition(ProgramState cur) {
+
+        addTransition(cur, cur, artificialInfPathsSuccessors);
+    }
+
+    private void addTransition(ProgramState from, ProgramState to, TIntObjectMap<TIntArrayList> successors) {
+
+        checkNotFrozen();
+
+        int fId = from.getStateSpaceId();
+        int tId = to.getStateSpaceId();
+
+        TIntArrayList succ = successors.get(fId);
+        if (!succ.contains(tId)) {
+            succ.add(tId);
+        }
+        markExplored(fId);
+    }
+
+    @Override
+    public void setExplored(ProgramState state) {
+
+        markExplored(state.getStateSpaceId());
+    }
+
+    /**
+     * A state is considered to be expanded as soon as it is explored or an outgoing transition has been added.
+     * Its expansion is finished once another state is expanded. Afterwards, the state may be spilled.
+     * States whose expansion has finished are spilled first-in first-out whenever too many states are kept
+     * in memory.
+     *
+     * @param id The id of the expanded state.
+     */
+    private void markExplored(int id) {
+
+        if (id == expandedStateId) {
+            return;
+        }
+        if (expandedStateId >= 0 && exploredStateIds.add(expandedStateId)) {
+            spillableStates.add(expandedStateId);
+        }
+        expandedStateId = id;
+
+        while (residentStates.size() > maxResidentStates && nextSpillableState < spillableStates.size()) {
+            int spillableId = spillableStates.get(nextSpillableState++);
+            if (spillableId == expandedStateId) {
+                // the state is expanded again and becomes spillable once this expansion has finished
+                exploredStateIds.remove(spillableId);
+            } else {
+                spill(spillableId);
+            }
+        }
+
+        if (nextSpillableState == spillableStates.size()) {
+            spillableStates.resetQuick();
+            nextSpillableState = 0;
+        } else if (nextSpillableState >= 1024 && 2 * nextSpillableState >= spillableStates.size()) {
+            spillableStates.remove(0, nextSpillableState);
+            nextSpillableState = 0;
+        }
+    }
+
+    private void spill(int id) {
+
+        ProgramState state = residentStates.remove(id);
+        if (state != null) {
+            spilledStates.put(id, store.write(state));
+            rememberSpilledState(id, state);
+        }
+    }
+
+    @Override
+    public ProgramState getState(int id) {
+
+        ProgramState state = residentStates.get(id);
+        if (state != null) {
+            return state;
+        }
+
+        if (!spilledStates.containsKey(id)) {
+            return null;
+        }
+
+        SpilledStateReference reference = spilledStateReferences.get(id);
+        state = reference == null ? null : reference.get();
+        if (state != null) {
+            return state;
+        }
+
+        state = store.read(spilledStates.get(id));
+        state.setStateSpaceId(id);
+        state.setContainingStateSpace(this);
+        for (String ap : atomicPropMap.get(id).toSet()) {
+            state.addAP(ap);
+        }
+        rememberSpilledState(id, state);
+        return state;
+    }
+
+    /**
+     * Keeps a weak reference to a spilled state such that it is returned by lookups as long as it is still
+     * referenced elsewhere. References to collected states are discarded.
+     */
+    private void rememberSpilledState(int id, ProgramState state) {
+
+        Reference<? extends ProgramState> collected;
+        while ((collected = collectedStates.poll()) != null) {
+            SpilledStateReference collectedReference = (SpilledStateReference) collected;
+            if (spilledStateReferences.get(collectedReference.id) == collectedReference) {
+                spilledStateReferences.remove(collectedReference.id);
+            }
+        }
+        spilledStateReferences.put(id, new SpilledStateReference(id, state, collectedStates));
+    }
+
+    /**
+     * Releases all states of this state space in the underlying store.
+     * The state space must not be used afterwards.
+     */
+    public void close() {
+
+        if (isClosed) {
+            return;
+        }
+        isClosed = true;
+        residentStates.clear();
+        spilledStates.clear();
+        spilledStateReferences.clear();
+        store.release();
+    }
+
+    @Override
+    public void freeze() {
+
+        if (isFrozen()) {
+            return;
+        }
+
+        frozenMaterializationTransitions = TransitionRelation.of(nextStateId, materializationSuccessors::get);
+        frozenControlFlowTransitions = TransitionRelation.of(nextStateId, controlFlowSuccessors::get);
+        frozenArtificialInfPathsTransitions = TransitionRelation.of(nextStateId, artificialInfPathsSuccessors::get);
+        frozenObservableTransitions = TransitionRelation.ofObservableSuccessors(frozenMaterializationTransitions,
+                frozenControlFlowTransitions, frozenArtificialInfPathsTransitions);
+
+        materializationSuccessors = null;
+        controlFlowSuccessors = null;
+        artificialInfPathsSuccessors = null;
+    }
+
+    public boolean isFrozen() {
+
+        return frozenControlFlowTransitions != null;
+    }
+
+    private void checkNotFrozen() {
+
+        if (isFrozen()) {
+            throw new IllegalStateException("Attempt to modify a frozen state space.");
+        }
+    }
+
+    @Override
+    public TransitionRelation getControlFlowTransitions() {
+
+        if (isFrozen()) {
+            return frozenControlFlowTransitions;
+        }
+        return TransitionRelation.of(nextStateId, controlFlowSuccessors::get);
+    }
+
+    @Override
+    public TransitionRelation getMaterializationTransitions() {
+
+        if (isFrozen()) {
+            return frozenMaterializationTransitions;
+        }
+        return TransitionRelation.of(nextStateId, materializationSuccessors::get);
+    }
+
+    @Override
+    public TransitionRelation getArtificialInfPathsTransitions() {
+
+        if (isFrozen()) {
+            return frozenArtificialInfPathsTransitions;
+        }
+        return TransitionRelation.of(nextStateId, artificialInfPathsSuccessors::get);
+    }
+
+    @Override
+    public TransitionRelation getObservableTransitions() {
+
+        if (isFrozen()) {
+            return frozenObservableTransitions;
+        }
+        return TransitionRelation.ofObservableSuccessors(getMaterializationTransitions(),
+                getControlFlowTransitions(), getArtificialInfPathsTransitions());
+    }
+
+    @Override
+    public int getMaximalStateSize() {
+
+        return maximalStateSize;
+    }
+
+    @Override
+    public boolean satisfiesAP(int stateId, String expectedAP) {
+
+        return atomicPropMap.get(stateId).contains(expectedAP);
+    }
+
+    @Override
+    public boolean satisfiesAP(int stateId, int propositionId) {
+
+        return atomicPropMap.get(stateId).contains(propositionId);
+    }
+
+    private static final class SpilledStateReference extends WeakReference<ProgramState> {
+
+        private final int id;
+
+        SpilledStateReference(int id, ProgramState state, ReferenceQueue<ProgramState> queue) {
+
+            super(state, queue);
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl;
+
+import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
+import de.rwth.i2.attestor.stateSpaceGeneration.StateCanonicalizationStrategy;
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
+
+import java.util.*;
+
+/**
+ * A state space that only keeps maximal states with respect to subsumption.
+ * A state is subsumed by another state at the same program location if abstracting its heap as far as possible
+ * yields the heap of the other state.
+ * <p>
+ * Whenever a state is added that is subsumed by a stored state, the stored state is used instead.
+ * Whenever a state is added that subsumes a stored state that has not been explored yet, the stored state is
+ * replaced by the new one. The new state takes over the id of the replaced state such that all transitions to the
+ * replaced state lead to the subsuming state. Replaced states are reported by {@link #isSubsumed(ProgramState)}
+ * and are thus not explored. Explored states are never replaced, because their outgoing transitions and
+ * the continuations of procedure calls they invoked belong to the stored state.
+ * <p>
+ * Since abstracted states are compared using hash maps, candidates are only checked if they share the same
+ * program counter and heap invariants, e.g. the number of nodes and the attached variables.
+ * States of the top-level state space are never merged, because they may be observed by LTL specifications.
+ */
+public class SubsumingStateSpace extends InternalStateSpace {
+
+    private final StateCanonicalizationStrategy subsumptionStrategy;
+
+    // maps the full abstraction of every stored non-maximal state to that state
+    private final Map<ProgramState, ProgramState> subsumedStates;
+
+    private final TIntSet exploredStateIds;
+
+    private int numberOfReplacedStates = 0;
+
+    /**
+     * @param capacity            The expected number of states.
+     * @param subsumptionStrategy The strategy used to abstract states as far as possible.
+     */
+    public SubsumingStateSpace(int capacity, StateCanonicalizationStrategy subsumptionStrategy) {
+
+        super(capacity);
+        this.subsumptionStrategy = subsumptionStrategy;
+        this.subsumedStates = new HashMap<>(capacity);
+        this.exploredStateIds = new TIntHashSet(capacity);
+    }
+
+    @Override
+    public boolean addStateIfAbsent(ProgramState state) {
+
+        if (state.isFromTopLevelStateSpace()) {
+            return super.addStateIfAbsent(state);
+        }
+
+        ProgramState subsumingState = getIsomorphicState(state);
+        if (subsumingState != null) {
+            state.setStateSpaceId(subsumingState.getStateSpaceId());
+            return false;
+        }
+
+        ProgramState abstractedState = subsumptionStrategy.canonicalize(state);
+        boolean isMaximal = abstractedState.equals(state);
+
+        if (!isMaximal) {
+            subsumingState = getIsomorphicState(abstractedState);
+            if (subsumingState != null) {
+                state.setStateSpaceId(subsumingState.getStateSpaceId());
+                return false;
+            }
+        }
+
+        ProgramState replacedState = subsumedStates.get(state);
+        if (replacedState != null && isReplaceable(replacedState)) {
+            subsumedStates.remove(state);
+            replaceState(replacedState, state);
+            ++numberOfReplacedStates;
+            return true;
+        }
+
+        super.addStateIfAbsent(state);
+        if (!isMaximal) {
+            subsumedStates.putIfAbsent(abstractedState, state);
+        }
+        return true;
+    }
+
+    @Override
+    public void addInitialState(ProgramState state) {
+
+        // initial states are never merged with subsuming states to preserve preconditions
+        super.addStateIfAbsent(state);
+        getInitialStateIds().add(state.getStateSpaceId());
+    }
+
+    private boolean isReplaceable(ProgramState state) {
+
+        int id = state.getStateSpaceId();
+        return !exploredStateIds.contains(id) && !getInitialStateIds().contains(id)
+                && !getFinalStateIds().contains(id);
+    }
+
+    @Override
+    public void setExplored(ProgramState state) {
+
+        exploredStateIds.add(state.getStateSpaceId());
+    }
+
+    @Override
+    public boolean isSubsumed(ProgramState state) {
+
+        // a replaced state keeps its id, but the id then refers to the subsuming state
+        return getState(state.getStateSpaceId()) != state;
+    }
+
+    /**
+     * @return The number of stored states that have been replaced by a subsuming state.
+     */
+    public int getNumberOfReplacedStates() {
+
+        return numberOfReplacedStates;
+    }
+}
@@ -0,0 +1,205 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.utilStrategies;
+
+import de.rwth.i2.attestor.stateSpaceGeneration.AbortStrategy;
+import de.rwth.i2.attestor.stateSpaceGeneration.ProcedureCallAbortedException;
+import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
+import de.rwth.i2.attestor.stateSpaceGeneration.StateSpaceGenerationAbortedException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Implementation of an AbortStrategy that stops the state space generation whenever the JVM runs out of
+ * heap memory or a time budget is exhausted. There is a time budget for every single state space generation,
+ * i.e. every procedure call, and one for the whole analysis.
+ * All further checks are delegated to another AbortStrategy.
+ * <p>
+ * Since only the state space whose generation exceeded the budget is aborted, a
+ * {@link ProcedureCallAbortedException} is thrown: its procedure call is marked as aborted and the analysis
+ * continues with the remaining procedure calls. Aborts of the delegate stop the analysis as before.
+ * Heap usage is only sampled every {@value #SAMPLING_INTERVAL} checks. If it exceeds the budget, a garbage
+ * collection is requested at most every {@value #COLLECTION_INTERVAL} milliseconds.
+ * All checks are synchronized such that procedure calls may be analyzed concurrently.
+ */
+public class BudgetAbortStrategy implements AbortStrategy {
+
+    /**
+     * The logger of this class.
+     */
+    private static final Logger logger = LogManager.getLogger("BudgetAbortStrategy");
+
+    /**
+     * The number of checks between two samples of the heap usage.
+     */
+    private static final int SAMPLING_INTERVAL = 64;
+
+    /**
+     * The minimal time in milliseconds between two garbage collections requested by this strategy.
+     */
+    private static final long COLLECTION_INTERVAL = 10000L;
+
+    private static final long NANOS_PER_MILLI = 1000000L;
+
+    private final AbortStrategy delegate;
+
+    /**
+     * The maximal fraction of the maximal heap size that may be in use. Non-positive values disable this check.
+     */
+    private final double maxHeapUsage;
+
+    /**
+     * The maximal time in milliseconds a single state space generation may take. Non-positive values disable
+     * this check.
+     */
+    private final long maxGenerationTime;
+
+    /**
+     * The maximal time in milliseconds the whole analysis may take. Non-positive values disable this check.
+     */
+    private final long maxTotalTime;
+
+    private final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+
+    private final Map<StateSpace, Long> generationStartTimes = new WeakHashMap<>();
+
+    private long startTime = -1;
+    private int numberOfChecks = 0;
+
+    private long lastCollectionTime = -1;
+    private boolean exceededAfterLastCollection = false;
+
+    private long peakHeapUsage = 0;
+    private long longestGeneration = 0;
+    private int numberOfMemoryAborts = 0;
+    private int numberOfTimeAborts = 0;
+
+    /**
+     * @param delegate          The strategy that performs all further checks.
+     * @param maxHeapUsage      The maximal fraction of the maximal heap size that may be in use.
+     * @param maxGenerationTime The maximal time in milliseconds of a single state space generation.
+     * @param maxTotalTime      The maximal time in milliseconds of the whole analysis.
+     */
+    public BudgetAbortStrategy(AbortStrategy delegate, double maxHeapUsage,
+                               long maxGenerationTime, long maxTotalTime) {
+
+        this.delegate = delegate;
+        this.maxHeapUsage = maxHeapUsage;
+        this.maxGenerationTime = maxGenerationTime;
+        this.maxTotalTime = maxTotalTime;
+    }
+
+    @Override
+    public synchronized void startGeneration(StateSpace stateSpace) {
+
+        long now = System.nanoTime();
+        if (startTime < 0) {
+            startTime = now;
+        }
+        generationStartTimes.put(stateSpace, now);
+        delegate.startGeneration(stateSpace);
+    }
+
+    @Override
+    public synchronized void checkAbort(StateSpace stateSpace) throws StateSpaceGenerationAbortedException {
+
+        delegate.checkAbort(stateSpace);
+
+        if (++numberOfChecks % SAMPLING_INTERVAL == 0) {
+            checkHeapUsage();
+        }
+        checkTime(stateSpace);
+    }
+
+    private void checkHeapUsage() throws StateSpaceGenerationAbortedException {
+
+        if (maxHeapUsage <= 0) {
+            return;
+        }
+
+        MemoryUsage usage = memoryBean.getHeapMemoryUsage();
+        peakHeapUsage = Math.max(peakHeapUsage, usage.getUsed());
+        if (usage.getMax() <= 0 || usage.getUsed() <= maxHeapUsage * usage.getMax()) {
+            return;
+        }
+
+        // the heap may be filled with garbage; only abort if collecting it does not help.
+        // Since a collection stalls all threads, a recent collection is trusted instead of requesting another one.
+        long now = System.nanoTime();
+        if (lastCollectionTime < 0 || (now - lastCollectionTime) / NANOS_PER_MILLI >= COLLECTION_INTERVAL) {
+            memoryBean.gc();
+            lastCollectionTime = System.nanoTime();
+            usage = memoryBean.getHeapMemoryUsage();
+            exceededAfterLastCollection = usage.getUsed() > maxHeapUsage * usage.getMax();
+        }
+        if (exceededAfterLastCollection) {
+            ++numberOfMemoryAborts;
+            logger.warn("Heap usage exceeded " + toMegabytes(usage.getUsed()) + " of "
+                    + toMegabytes(usage.getMax()) + ". State space generation for this procedure call is aborted.");
+            throw new ProcedureCallAbortedException();
+        }
+    }
+
+    private void checkTime(StateSpace stateSpace) throws StateSpaceGenerationAbortedException {
+
+        long now = System.nanoTime();
+        Long generationStart = generationStartTimes.get(stateSpace);
+        long generationTime = generationStart == null ? 0 : (now - generationStart) / NANOS_PER_MILLI;
+        longestGeneration = Math.max(longestGeneration, generationTime);
+
+        if (maxGenerationTime > 0 && generationTime > maxGenerationTime) {
+            ++numberOfTimeAborts;
+            logger.warn("A state space generation exceeded " + maxGenerationTime
+                    + "ms. State space generation for this procedure call is aborted.");
+            throw new ProcedureCallAbortedException();
+        }
+
+        if (maxTotalTime > 0 && startTime >= 0 && (now - startTime) / NANOS_PER_MILLI > maxTotalTime) {
+            ++numberOfTimeAborts;
+            logger.warn("The analysis exceeded " + maxTotalTime
+                    + "ms. State space generation for this procedure call is aborted.");
+            throw new ProcedureCallAbortedException();
+        }
+    }
+
+    private static String toMegabytes(long bytes) {
+
+        return (bytes / (1024 * 1024)) + "MB";
+    }
+
+    /**
+     * @return The largest heap usage in bytes observed so far.
+     */
+    public long getPeakHeapUsage() {
+
+        return peakHeapUsage;
+    }
+
+    /**
+     * @return The longest time in milliseconds a single state space generation took so far.
+     */
+    public long getLongestGenerationTime() {
+
+        return longestGeneration;
+    }
+
+    /**
+     * @return The number of state space generations aborted due to insufficient memory.
+     */
+    public int getNumberOfMemoryAborts() {
+
+        return numberOfMemoryAborts;
+    }
+
+    /**
+     * @return The number of state space generations aborted due to an exhausted time budget.
+     */
+    public int getNumberOfTimeAborts() {
+
+        return numberOfTimeAborts;
+    }
+}
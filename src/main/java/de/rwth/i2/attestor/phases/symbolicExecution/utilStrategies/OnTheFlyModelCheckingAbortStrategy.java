@@ -0,0 +1,137 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.utilStrategies;
+
+import de.rwth.i2.attestor.LTLFormula;
+import de.rwth.i2.attestor.phases.modelChecking.modelChecker.ProofStructure;
+import de.rwth.i2.attestor.stateSpaceGeneration.*;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collection;
+import java.util.function.IntPredicate;
+
+/**
+ * Implementation of an AbortStrategy that model checks the top-level state space while it is generated.
+ * Whenever the top-level state space doubled its size since the last check, a proof structure is built for every
+ * LTL formula on a snapshot of its transitions. States without outgoing transitions in this snapshot are considered
+ * unexplored, because their successors and atomic propositions, e.g. whether they are final, are not known yet.
+ * Proof structures do not evaluate assertions about such states. Once a violation has been found, the generation of
+ * every state space is aborted such that the whole analysis stops as soon as possible.
+ * All further checks are delegated to another AbortStrategy.
+ */
+public class OnTheFlyModelCheckingAbortStrategy implements AbortStrategy {
+
+    /**
+     * The logger of this class.
+     */
+    private static final Logger logger = LogManager.getLogger("OnTheFlyModelCheckingAbortStrategy");
+
+    /**
+     * The size of the top-level state space at which it is checked for the first time.
+     */
+    private static final int INITIAL_CHECK_SIZE = 64;
+
+    private final AbortStrategy delegate;
+
+    private final Collection<LTLFormula> formulae;
+
+    private StateSpace topLevelStateSpace = null;
+
+    private int nextCheckSize = INITIAL_CHECK_SIZE;
+
+    private volatile LTLFormula violatedFormula = null;
+
+    /**
+     * @param delegate The strategy that performs all further checks.
+     * @param formulae The LTL formulae that are checked. Formulae that are not in positive normal form are
+     *                 converted, because proof structures are only built for formulae in positive normal form.
+     */
+    public OnTheFlyModelCheckingAbortStrategy(AbortStrategy delegate, Collection<LTLFormula> formulae) {
+
+        this.delegate = delegate;
+        this.formulae = formulae;
+        for (LTLFormula formula : formulae) {
+            // does not change formulae that are already in positive normal form
+            formula.toPNF();
+        }
+    }
+
+    /**
+     * @param topLevelStateSpace The state space that is model checked during its generation.
+     */
+    public synchronized void setTopLevelStateSpace(StateSpace topLevelStateSpace) {
+
+        this.topLevelStateSpace = topLevelStateSpace;
+    }
+
+    /**
+     * @return The AbortStrategy that performs all further checks.
+     */
+    public AbortStrategy getDelegate() {
+
+        return delegate;
+    }
+
+    /**
+     * @return The first formula found to be violated or null if no violation has been found yet.
+     */
+    public LTLFormula getViolatedFormula() {
+
+        return violatedFormula;
+    }
+
+    @Override
+    public void startGeneration(StateSpace stateSpace) {
+
+        delegate.startGeneration(stateSpace);
+    }
+
+    @Override
+    public void checkAbort(StateSpace stateSpace) throws StateSpaceGenerationAbortedException {
+
+        if (violatedFormula != null) {
+            throw new ProcedureCallAbortedException();
+        }
+
+        delegate.checkAbort(stateSpace);
+
+        if (stateSpace == topLevelStateSpace) {
+            checkTopLevelStateSpace();
+        }
+    }
+
+    private synchronized void checkTopLevelStateSpace() throws StateSpaceGenerationAbortedException {
+
+        int size = topLevelStateSpace.size();
+        if (size < nextCheckSize) {
+            return;
+        }
+        nextCheckSize = 2 * size;
+
+        int stateIdBound = 0;
+        for (ProgramState state : topLevelStateSpace.getStates()) {
+            stateIdBound = Math.max(stateIdBound, state.getStateSpaceId() + 1);
+        }
+        TransitionRelation materializationTransitions =
+                TransitionRelation.of(stateIdBound, topLevelStateSpace::getMaterializationSuccessorsIdsOf);
+        TransitionRelation controlFlowTransitions =
+                TransitionRelation.of(stateIdBound, topLevelStateSpace::getControlFlowSuccessorsIdsOf);
+        TransitionRelation artificialInfPathsTransitions =
+                TransitionRelation.of(stateIdBound, topLevelStateSpace::getArtificialInfPathsSuccessorsIdsOf);
+        TransitionRelation observableTransitions = TransitionRelation.ofObservableSuccessors(
+                materializationTransitions, controlFlowTransitions, artificialInfPathsTransitions);
+        IntPredicate isExplored = stateId -> materializationTransitions.hasSuccessors(stateId)
+                || controlFlowTransitions.hasSuccessors(stateId)
+                || artificialInfPathsTransitions.hasSuccessors(stateId);
+
+        for (LTLFormula formula : formulae) {
+            ProofStructure proofStructure = new ProofStructure();
+            proofStructure.buildPartial(topLevelStateSpace, formula, observableTransitions, isExplored);
+            if (!proofStructure.isSuccessful()) {
+                violatedFormula = formula;
+                logger.info("Formula " + formula.getFormulaString() + " is violated by the first "
+                        + size + " states of the top-level state space. The analysis is aborted.");
+                throw new ProcedureCallAbortedException();
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package de.rwth.i2.attestor.phases.transformers;
+
+import de.rwth.i2.attestor.phases.symbolicExecution.recursive.ContractDatabase;
+
+public interface ContractDatabaseTransformer {
+
+    /**
+     * @return The contract database of the current run or null if no complete contracts are stored.
+     */
+    ContractDatabase getContractDatabase();
+}
@@ -0,0 +1,65 @@
+package de.rwth.i2.attestor.procedures;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Replaces the executors of methods for a single task without modifying the shared {@link Method} objects.
+ * While a task runs via {@link #apply(Supplier)}, {@link Method#getMethodExecutor()} yields the executor of
+ * this overlay for every method it contains. The overlay is only visible to the thread running the task.
+ * Hence, tasks with different overlays may be executed concurrently.
+ */
+public final class MethodExecutorOverlay {
+
+    private static final ThreadLocal<MethodExecutorOverlay> activeOverlay = new ThreadLocal<>();
+
+    private final Map<Method, MethodExecutor> executors = new LinkedHashMap<>();
+
+    /**
+     * @param method   The method whose executor is replaced.
+     * @param executor The executor used instead while a task of this overlay runs.
+     * @return This overlay.
+     */
+    public MethodExecutorOverlay put(Method method, MethodExecutor executor) {
+
+        executors.put(method, executor);
+        return this;
+    }
+
+    /**
+     * Runs the given task on the current thread with the executors of this overlay.
+     * An overlay that was active before is restored afterwards.
+     *
+     * @param task The task to run.
+     * @return The result of the task.
+     */
+    public <T> T apply(Supplier<T> task) {
+
+        MethodExecutorOverlay previous = activeOverlay.get();
+        activeOverlay.set(this);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                activeOverlay.remove();
+            } else {
+                activeOverlay.set(previous);
+            }
+        }
+    }
+
+    /**
+     * @param method A method.
+     * @return The executor of the given method in the overlay of the current thread or null if no overlay
+     * replaces it.
+     */
+    public static MethodExecutor lookup(Method method) {
+
+        MethodExecutorOverlay overlay = activeOverlay.get();
+        if (overlay == null) {
+            return null;
+        }
+        return overlay.executors.get(method);
+    }
+}
@@ -6,6 +6,7 @@ import de.rwth.i2.attestor.graph.heap.HeapConfigurationBuilder;
 import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.values.ConcreteValue;
 import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.values.GeneralConcreteValue;
 import de.rwth.i2.attestor.semantics.util.Constants;
+import de.rwth.i2.attestor.stateSpaceGeneration.AtomicPropositionLabel;
 import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
 import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
 import de.rwth.i2.attestor.types.Type;
@@ -14,7 +15,6 @@ import gnu.trove.list.array.TIntArrayList;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -32,7 +32,7 @@ public abstract class GeneralProgramState implements ProgramState {
     /**
      * The atomic propositions assigned to this state.
      */
-    private final Set<String> atomicPropositions;
+    private AtomicPropositionLabel atomicPropositions;
     /**
      * The heap configuration that determines the shape of the heap and the assignment of
      * program variables underlying this program state.
@@ -56,6 +56,12 @@ public abstract class GeneralProgramState implements ProgramState {
      */
     boolean isContinueState = false;
 
+    /**
+     * The number of postconditions of the contract of the procedure called in this state that have
+     * already been applied to this state. Like the continue flag, it is not copied by clones.
+     */
+    private int numberOfAppliedPostconditions = 0;
+
     /**
      * Initializes a state with the initial program location 0.
      *
@@ -64,7 +70,7 @@ public abstract class GeneralProgramState implements ProgramState {
     protected GeneralProgramState(HeapConfiguration heap) {
 
         this.heap = heap;
-        atomicPropositions = new LinkedHashSet<>();
+        atomicPropositions = AtomicPropositionLabel.EMPTY;
     }
 
     /**
@@ -76,7 +82,7 @@ public abstract class GeneralProgramState implements ProgramState {
 
         this.heap = state.heap;
         this.programCounter = state.programCounter;
-        atomicPropositions = new LinkedHashSet<>(state.getAPs());
+        atomicPropositions = state.atomicPropositions;
     }
 
     /**
@@ -468,12 +474,18 @@ public abstract class GeneralProgramState implements ProgramState {
     @Override
     public void addAP(String ap) {
 
-        atomicPropositions.add(ap);
+        atomicPropositions = atomicPropositions.with(ap);
     }
 
     @Override
     public Set<String> getAPs() {
 
+        return atomicPropositions.toSet();
+    }
+
+    @Override
+    public AtomicPropositionLabel getAPLabel() {
+
         return atomicPropositions;
     }
 
@@ -515,4 +527,14 @@ public abstract class GeneralProgramState implements ProgramState {
 	public void unflagContinueState() {
 		this.isContinueState = false;
 	}
+
+	@Override
+	public int getNumberOfAppliedPostconditions() {
+		return this.numberOfAppliedPostconditions;
+	}
+
+	@Override
+	public void setNumberOfAppliedPostconditions(int numberOfAppliedPostconditions) {
+		this.numberOfAppliedPostconditions = numberOfAppliedPostconditions;
+	}
 }
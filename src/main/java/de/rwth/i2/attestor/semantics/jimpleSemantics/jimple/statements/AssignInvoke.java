@@ -107,6 +107,12 @@ public class AssignInvoke extends Statement implements InvokeCleanup {
 
     }
 
+    @Override
+    public Method getMethod() {
+
+        return method;
+    }
+
     public boolean needsMaterialization(ProgramState programState) {
 
         return invokePrepare.needsMaterialization(programState);
@@ -8,6 +8,7 @@ import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.values.NullPointerDe
 import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.values.SettableValue;
 import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.values.Value;
 import de.rwth.i2.attestor.semantics.util.DeadVariableEliminator;
+import de.rwth.i2.attestor.semantics.util.LiveVariables;
 import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
 import de.rwth.i2.attestor.util.SingleElementUtil;
 import org.apache.logging.log4j.LogManager;
@@ -39,15 +40,23 @@ public class AssignStmt extends Statement {
 
     private final ViolationPoints potentialViolationPoints;
 
-    private final Set<String> liveVariableNames;
+    /**
+     * the variables accessed by this statement that are dead afterwards
+     */
+    private final Set<String> deadVariables;
 
     public AssignStmt(SceneObject sceneObject, SettableValue lhs, Value rhs, int nextPC, Set<String> liveVariableNames) {
 
+        this(sceneObject, lhs, rhs, nextPC, LiveVariables.of(liveVariableNames));
+    }
+
+    public AssignStmt(SceneObject sceneObject, SettableValue lhs, Value rhs, int nextPC, LiveVariables liveVariables) {
+
         super(sceneObject);
         this.rhs = rhs;
         this.lhs = lhs;
         this.nextPC = nextPC;
-        this.liveVariableNames = liveVariableNames;
+        this.deadVariables = liveVariables.deadVariablesOf(rhs.toString(), lhs.toString());
 
         potentialViolationPoints = new ViolationPoints();
         potentialViolationPoints.addAll(lhs.getPotentialViolationPoints());
@@ -87,11 +96,7 @@ public class AssignStmt extends Statement {
         }
 
         if (scene().options().isRemoveDeadVariables()) {
-            DeadVariableEliminator.removeDeadVariables(this, rhs.toString(),
-                    programState, liveVariableNames);
-
-            DeadVariableEliminator.removeDeadVariables(this, lhs.toString(),
-                    programState, liveVariableNames);
+            DeadVariableEliminator.removeDeadVariables(this, programState, deadVariables);
         }
 
         ProgramState result = programState.clone();
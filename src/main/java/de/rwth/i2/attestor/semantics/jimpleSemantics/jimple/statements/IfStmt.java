@@ -7,6 +7,7 @@ import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.values.NullPointerDe
 import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.values.Value;
 import de.rwth.i2.attestor.semantics.util.Constants;
 import de.rwth.i2.attestor.semantics.util.DeadVariableEliminator;
+import de.rwth.i2.attestor.semantics.util.LiveVariables;
 import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
 import de.rwth.i2.attestor.types.Types;
 import de.rwth.i2.attestor.util.SingleElementUtil;
@@ -41,15 +42,23 @@ public class IfStmt extends Statement {
      */
     private final int falsePC;
 
-    private final Set<String> liveVariableNames;
+    /**
+     * the variables accessed by the condition that are dead afterwards
+     */
+    private final Set<String> deadVariables;
 
     public IfStmt(SceneObject sceneObject, Value condition, int truePC, int falsePC, Set<String> liveVariableNames) {
 
+        this(sceneObject, condition, truePC, falsePC, LiveVariables.of(liveVariableNames));
+    }
+
+    public IfStmt(SceneObject sceneObject, Value condition, int truePC, int falsePC, LiveVariables liveVariables) {
+
         super(sceneObject);
         this.conditionValue = condition;
         this.truePC = truePC;
         this.falsePC = falsePC;
-        this.liveVariableNames = liveVariableNames;
+        this.deadVariables = liveVariables.deadVariablesOf(condition.toString());
     }
 
     /**
@@ -89,8 +98,7 @@ public class IfStmt extends Statement {
         }
 
         if (scene().options().isRemoveDeadVariables()) {
-            DeadVariableEliminator.removeDeadVariables(this, conditionValue.toString(),
-                    programState, liveVariableNames);
+            DeadVariableEliminator.removeDeadVariables(this, programState, deadVariables);
         }
 
         if (concreteCondition.equals(trueValue)) {
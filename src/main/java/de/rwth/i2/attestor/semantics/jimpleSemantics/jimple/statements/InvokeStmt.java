@@ -70,6 +70,12 @@ public class InvokeStmt extends Statement implements InvokeCleanup {
         return state;
     }
 
+    @Override
+    public Method getMethod() {
+
+        return method;
+    }
+
     public boolean needsMaterialization(ProgramState programState) {
 
         return invokePrepare.needsMaterialization(programState);
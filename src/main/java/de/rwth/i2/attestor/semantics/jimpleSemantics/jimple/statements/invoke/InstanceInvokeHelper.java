@@ -5,11 +5,13 @@ import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.values.ConcreteValue
 import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.values.NullPointerDereferenceException;
 import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.values.Value;
 import de.rwth.i2.attestor.semantics.util.DeadVariableEliminator;
+import de.rwth.i2.attestor.semantics.util.LiveVariables;
 import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Prepares the heap for the invoke of an instance method and cleans it afterwards.
@@ -32,6 +34,11 @@ public class InstanceInvokeHelper extends InvokeHelper {
      */
     private final Value baseValue;
 
+    /**
+     * the variables accessed by the base value that are dead afterwards. Determined on first use.
+     */
+    private volatile Set<String> deadBaseVariables = null;
+
 
     /**
      * creates a helper class for a specific invoke statement.
@@ -50,6 +57,21 @@ public class InstanceInvokeHelper extends InvokeHelper {
         getPotentialViolationPoints().addAll(baseValue.getPotentialViolationPoints());
     }
 
+    @Override
+    public void setLiveVariables(LiveVariables liveVariables) {
+
+        super.setLiveVariables(liveVariables);
+        deadBaseVariables = null;
+    }
+
+    private Set<String> getDeadBaseVariables() {
+
+        if (deadBaseVariables == null) {
+            deadBaseVariables = liveVariables.deadVariablesOf(baseValue.toString());
+        }
+        return deadBaseVariables;
+    }
+
     /**
      * remove any intermediates that are still present in the heap. <br>
      * leave the scopes of the method.
@@ -88,7 +110,7 @@ public class InstanceInvokeHelper extends InvokeHelper {
             String type = "";
             programState.setIntermediate("@this:" + type, concreteBase);
             if (scene().options().isRemoveDeadVariables()) {
-                DeadVariableEliminator.removeDeadVariables(this, baseValue.toString(), programState, liveVariableNames);
+                DeadVariableEliminator.removeDeadVariables(this, programState, getDeadBaseVariables());
             }
         }
 
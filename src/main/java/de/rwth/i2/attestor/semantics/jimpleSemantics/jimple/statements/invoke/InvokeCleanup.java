@@ -1,8 +1,14 @@
 package de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.statements.invoke;
 
+import de.rwth.i2.attestor.procedures.Method;
 import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
 
 public interface InvokeCleanup {
 
     ProgramState getCleanedResultState(ProgramState state);
+
+    /**
+     * @return The method invoked by this statement.
+     */
+    Method getMethod();
 }
@@ -6,11 +6,13 @@ import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.values.ConcreteValue
 import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.values.NullPointerDereferenceException;
 import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.values.Value;
 import de.rwth.i2.attestor.semantics.util.DeadVariableEliminator;
+import de.rwth.i2.attestor.semantics.util.LiveVariables;
 import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.LinkedHashSet;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
@@ -37,7 +39,11 @@ public abstract class InvokeHelper extends SceneObject {
     /**
      * The live variables for this statement.
      */
-    protected Set<String> liveVariableNames = new LinkedHashSet<>();
+    protected LiveVariables liveVariables = LiveVariables.of(Collections.emptySet());
+    /**
+     * For each argument, the variables accessed by it that are dead afterwards. Determined on first use.
+     */
+    private volatile List<Set<String>> deadArgumentVariables = null;
     /**
      * a list with the expressions for the arguments in the correct order
      */
@@ -107,8 +113,7 @@ public abstract class InvokeHelper extends SceneObject {
             }
 
             if (scene().options().isRemoveDeadVariables()) {
-                DeadVariableEliminator.removeDeadVariables(this, argumentValues.get(i).toString(),
-                        programState, liveVariableNames);
+                DeadVariableEliminator.removeDeadVariables(this, programState, getDeadArgumentVariables().get(i));
             }
         }
     }
@@ -169,7 +174,31 @@ public abstract class InvokeHelper extends SceneObject {
      */
     public void setLiveVariableNames(Set<String> liveVariableNames) {
 
-        this.liveVariableNames = liveVariableNames;
+        setLiveVariables(LiveVariables.of(liveVariableNames));
+    }
+
+    /**
+     * Specifies the live variables for this program location.
+     *
+     * @param liveVariables The live variables.
+     */
+    public void setLiveVariables(LiveVariables liveVariables) {
+
+        this.liveVariables = liveVariables;
+        this.deadArgumentVariables = null;
+    }
+
+    private List<Set<String>> getDeadArgumentVariables() {
+
+        List<Set<String>> result = deadArgumentVariables;
+        if (result == null) {
+            result = new ArrayList<>(argumentValues.size());
+            for (Value argument : argumentValues) {
+                result.add(liveVariables.deadVariablesOf(argument.toString()));
+            }
+            deadArgumentVariables = result;
+        }
+        return result;
     }
 
     public abstract String baseValueString();
@@ -1,8 +1,12 @@
 package de.rwth.i2.attestor.semantics.jimpleSemantics.translation;
 
+import de.rwth.i2.attestor.semantics.util.LiveVariables;
+import de.rwth.i2.attestor.semantics.util.VariableIndex;
 import soot.tagkit.Tag;
 
+import java.util.BitSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -39,4 +43,25 @@ class LiveVariableHelper {
         return liveVariables;
     }
 
+    /**
+     * Determines the live variables of every program location of a method.
+     * All variables of the method share a single index such that they can be represented by bitsets.
+     *
+     * @param statements The statements of a method ordered by their program counter.
+     * @return The live variables for each program counter.
+     */
+    static LiveVariables[] computeLiveVariables(List<soot.jimple.Stmt> statements) {
+
+        VariableIndex index = new VariableIndex();
+        LiveVariables[] result = new LiveVariables[statements.size()];
+        for (int pc = 0; pc < statements.size(); pc++) {
+            BitSet live = new BitSet();
+            for (String name : extractLiveVariables(statements.get(pc))) {
+                live.set(index.indexOf(name));
+            }
+            result[pc] = new LiveVariables(index, live);
+        }
+        return result;
+    }
+
 }
@@ -166,12 +166,12 @@ public class StandardAbstractSemantics extends SceneObject implements JimpleToAb
         if (stmt.containsInvokeExpr()) {
             soot.jimple.InvokeExpr invokeExpr = stmt.getInvokeExpr();
             InvokeHelper invokePrepare = createInvokeHelper(invokeExpr);
-            invokePrepare.setLiveVariableNames(LiveVariableHelper.extractLiveVariables(input));
+            invokePrepare.setLiveVariables(topLevel.getLiveVariables(pc));
             Method method = topLevel.getMethod(invokeExpr.getMethod().getSignature());
             return new AssignInvoke(this, lhs, method, invokePrepare, pc + 1);
         } else {
             Value rhs = topLevel.translateValue(stmt.getRightOp());
-            return new AssignStmt(this, lhs, rhs, pc + 1, LiveVariableHelper.extractLiveVariables(input));
+            return new AssignStmt(this, lhs, rhs, pc + 1, topLevel.getLiveVariables(pc));
         }
     }
 
@@ -191,7 +191,7 @@ public class StandardAbstractSemantics extends SceneObject implements JimpleToAb
         Method translatedMethod = topLevel.getMethod(name);
 
         InvokeHelper invokePrepare = createInvokeHelper(expr);
-        invokePrepare.setLiveVariableNames(LiveVariableHelper.extractLiveVariables(input));
+        invokePrepare.setLiveVariables(topLevel.getLiveVariables(pc));
         logger.trace("recognized InvokeStmt. " + name);
         return new InvokeStmt(this, translatedMethod, invokePrepare, pc + 1);
     }
@@ -288,7 +288,7 @@ public class StandardAbstractSemantics extends SceneObject implements JimpleToAb
         Unit trueSuccessor = stmt.getTarget();
         int truePC = topLevel.getPCforUnit(trueSuccessor);
         int falsePC = pc + 1;
-        return new IfStmt(this, condition, truePC, falsePC, LiveVariableHelper.extractLiveVariables(input));
+        return new IfStmt(this, condition, truePC, falsePC, topLevel.getLiveVariables(pc));
     }
 
     /**
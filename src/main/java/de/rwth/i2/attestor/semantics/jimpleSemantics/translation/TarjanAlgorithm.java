@@ -10,6 +10,7 @@ public class TarjanAlgorithm {
     List<Vertex> vertices = new ArrayList<>();
     Map<Vertex, List<Vertex>> edges = new LinkedHashMap<>();
     int index = 0;
+    int numberOfComponents = 0;
     Deque<Vertex> stack = new ArrayDeque<>();
 
     public void addMethodAsVertex(Method method) {
@@ -32,6 +33,70 @@ public class TarjanAlgorithm {
         edges.get(v).add(u);
     }
 
+    /**
+     * @param method A method that has been added as a vertex.
+     * @return All methods that are directly called by the given method.
+     */
+    public List<Method> getCallees(Method method) {
+
+        Vertex vertex = methodToVertex.get(method);
+        List<Method> result = new ArrayList<>();
+        if (vertex != null) {
+            for (Vertex callee : edges.get(vertex)) {
+                result.add(callee.method);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param methods A collection of methods.
+     * @return The given methods together with all methods that may directly or indirectly call one of them.
+     */
+    public Set<Method> getTransitiveCallers(Collection<Method> methods) {
+
+        Map<Vertex, List<Vertex>> reverseEdges = new LinkedHashMap<>();
+        for (Map.Entry<Vertex, List<Vertex>> entry : edges.entrySet()) {
+            for (Vertex callee : entry.getValue()) {
+                reverseEdges.computeIfAbsent(callee, v -> new ArrayList<>()).add(entry.getKey());
+            }
+        }
+
+        Set<Method> result = new LinkedHashSet<>(methods);
+        Deque<Vertex> worklist = new ArrayDeque<>();
+        for (Method method : methods) {
+            Vertex vertex = methodToVertex.get(method);
+            if (vertex != null) {
+                worklist.push(vertex);
+            }
+        }
+        while (!worklist.isEmpty()) {
+            for (Vertex caller : reverseEdges.getOrDefault(worklist.pop(), Collections.emptyList())) {
+                if (result.add(caller.method)) {
+                    worklist.push(caller);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Determines the strongly connected components of the call graph. Components are numbered in reverse
+     * topological order, i.e. a method may only call methods in its own component or in components with
+     * a smaller index. Requires {@link #markRecursiveMethods()} to be executed first.
+     *
+     * @return A mapping from every method to the index of its strongly connected component.
+     */
+    public Map<Method, Integer> getComponentIndices() {
+
+        Map<Method, Integer> result = new LinkedHashMap<>();
+        for (Vertex v : vertices) {
+            assert (v.component >= 0);
+            result.put(v.method, v.component);
+        }
+        return result;
+    }
+
     public void markRecursiveMethods() {
 
         for (Vertex v : vertices) {
@@ -64,8 +129,10 @@ public class TarjanAlgorithm {
             do {
                 w = stack.pop();
                 w.onStack = false;
+                w.component = numberOfComponents;
                 scc.add(w);
             } while (w != v);
+            numberOfComponents++;
 
             if (scc.size() > 1) {
                 for (Vertex s : scc) {
@@ -87,6 +154,7 @@ public class TarjanAlgorithm {
         public Method method;
         public int index = -1;
         public int lowlink = -1;
+        public int component = -1;
         public boolean onStack = false;
 
         public Vertex(Method method) {
@@ -7,6 +7,7 @@ import de.rwth.i2.attestor.procedures.Method;
 import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.statements.Skip;
 import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.statements.Statement;
 import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.values.Value;
+import de.rwth.i2.attestor.semantics.util.LiveVariables;
 import de.rwth.i2.attestor.stateSpaceGeneration.SemanticsCommand;
 import de.rwth.i2.attestor.types.Type;
 import org.apache.logging.log4j.LogManager;
@@ -58,6 +59,10 @@ public class TopLevelTranslation extends SceneObject implements JimpleToAbstract
      * currently translated to program counters.
      */
     private Map<Unit, Integer> currentUnitToPC;
+    /**
+     * The live variables for each program counter of the method which is currently translated.
+     */
+    private LiveVariables[] currentLiveVariables;
     /**
      * necessary to fill the call graph during translation
      */
@@ -136,13 +141,18 @@ public class TopLevelTranslation extends SceneObject implements JimpleToAbstract
             curr = units.getSuccOf(curr);
         }
 
-        List<SemanticsCommand> programStatements = new ArrayList<>();
-
+        List<soot.jimple.Stmt> statements = new ArrayList<>(units.size());
         curr = units.getFirst();
         for (int i = 0; i < units.size(); i++) {
-            programStatements.add(translateStatement((soot.jimple.Stmt) curr, i));
+            statements.add((soot.jimple.Stmt) curr);
             curr = units.getSuccOf(curr);
         }
+        currentLiveVariables = LiveVariableHelper.computeLiveVariables(statements);
+
+        List<SemanticsCommand> programStatements = new ArrayList<>();
+        for (int i = 0; i < statements.size(); i++) {
+            programStatements.add(translateStatement(statements.get(i), i));
+        }
 
         logger.debug("registered method: " + method.getSignature());
 
@@ -183,6 +193,18 @@ public class TopLevelTranslation extends SceneObject implements JimpleToAbstract
         return this.currentUnitToPC.get(unit);
     }
 
+    /**
+     * Gets the live variables at the requested program counter in the method
+     * which is currently translated.
+     *
+     * @param pc A program counter.
+     * @return The live variables at the given program counter.
+     */
+    LiveVariables getLiveVariables(int pc) {
+
+        return this.currentLiveVariables[pc];
+    }
+
     /**
      * Gets the abstract method for the given signature. If the method is not
      * from the main class, it creates a default method with an empty body for
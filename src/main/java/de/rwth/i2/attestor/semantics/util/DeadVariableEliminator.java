@@ -1,9 +1,12 @@
 package de.rwth.i2.attestor.semantics.util;
 
 
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.heap.HeapConfigurationBuilder;
 import de.rwth.i2.attestor.main.scene.SceneObject;
 import de.rwth.i2.attestor.markingGeneration.Markings;
 import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
+import gnu.trove.iterator.TIntIterator;
 
 import java.util.Set;
 
@@ -35,4 +38,37 @@ public class DeadVariableEliminator {
             }
         }
     }
+
+    /**
+     * Removes the given dead variables from a program state in a single pass over its variable edges.
+     *
+     * @param sceneObject   Object in the current scene.
+     * @param programState  The programState in which dead variables should be removed.
+     * @param deadVariables The dead variables as determined by {@link LiveVariables#deadVariablesOf(String...)}.
+     */
+    public static void removeDeadVariables(SceneObject sceneObject, ProgramState programState,
+                                           Set<String> deadVariables) {
+
+        if (deadVariables.isEmpty()) {
+            return;
+        }
+
+        HeapConfiguration heap = programState.getHeap();
+        HeapConfigurationBuilder builder = null;
+        TIntIterator iterator = heap.variableEdges().iterator();
+        while (iterator.hasNext()) {
+            int varEdge = iterator.next();
+            String varName = heap.nameOf(varEdge);
+            if (deadVariables.contains(varName) && !sceneObject.scene().labels().isKeptVariableName(varName)) {
+                if (builder == null) {
+                    builder = heap.builder();
+                }
+                builder.removeVariableEdge(varEdge);
+            }
+        }
+
+        if (builder != null) {
+            builder.build();
+        }
+    }
 }
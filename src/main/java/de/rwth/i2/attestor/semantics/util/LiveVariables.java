@@ -0,0 +1,96 @@
+package de.rwth.i2.attestor.semantics.util;
+
+import de.rwth.i2.attestor.markingGeneration.Markings;
+
+import java.util.*;
+
+/**
+ * The set of live variables at a single program location represented as a bitset over the variables
+ * of the enclosing method.
+ * The dead variables accessed by a statement are determined once when the statement is created
+ * such that executing the statement requires no further string processing.
+ */
+public final class LiveVariables {
+
+    private final VariableIndex index;
+    private final BitSet live;
+
+    /**
+     * @param index The index of all variables of the enclosing method.
+     * @param live  The indices of all live variables.
+     */
+    public LiveVariables(VariableIndex index, BitSet live) {
+
+        this.index = index;
+        this.live = live;
+    }
+
+    /**
+     * @param liveVariableNames The names of all live variables.
+     * @return The live variables indexed by a fresh index.
+     */
+    public static LiveVariables of(Set<String> liveVariableNames) {
+
+        VariableIndex index = new VariableIndex();
+        BitSet live = new BitSet();
+        for (String name : liveVariableNames) {
+            live.set(index.indexOf(name));
+        }
+        return new LiveVariables(index, live);
+    }
+
+    /**
+     * @param name The name of a variable.
+     * @return True if and only if the variable is live.
+     */
+    public boolean isLive(String name) {
+
+        int position = index.lookup(name);
+        return position >= 0 && live.get(position);
+    }
+
+    /**
+     * Determines all variables that are accessed by the given expressions, but not live.
+     * Constants and markings are never considered to be dead.
+     *
+     * @param expressions String encodings of expressions accessed by a statement.
+     * @return The names of all dead variables accessed by the given expressions.
+     */
+    public Set<String> deadVariablesOf(String... expressions) {
+
+        BitSet dead = new BitSet(index.size());
+        // variables without an index are never live; the index is not extended since it may be shared
+        Set<String> unindexed = null;
+        for (String expression : expressions) {
+            for (String var : expression.split("(==)|(!=)|(=)")) {
+                String varName = var.split("\\.")[0].trim();
+                if (varName.isEmpty() || Constants.isConstant(varName) || Markings.isMarking(varName)) {
+                    continue;
+                }
+                int position = index.lookup(varName);
+                if (position >= 0) {
+                    dead.set(position);
+                } else {
+                    if (unindexed == null) {
+                        unindexed = new LinkedHashSet<>();
+                    }
+                    unindexed.add(varName);
+                }
+            }
+        }
+        dead.andNot(live);
+
+        if (dead.isEmpty() && unindexed == null) {
+            return Collections.emptySet();
+        }
+
+        Set<String> result = new LinkedHashSet<>();
+        for (int i = dead.nextSetBit(0); i >= 0; i = dead.nextSetBit(i + 1)) {
+            result.add(index.nameOf(i));
+        }
+        if (unindexed != null) {
+            result.addAll(unindexed);
+        }
+        return Collections.unmodifiableSet(result);
+    }
+}
@@ -0,0 +1,58 @@
+package de.rwth.i2.attestor.semantics.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns a unique, consecutive index to every variable name of a single method.
+ * Sets of variables of this method can thus be represented by bitsets.
+ */
+public class VariableIndex {
+
+    private final Map<String, Integer> indices = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+
+    /**
+     * @param name The name of a variable.
+     * @return The index of the variable. A fresh index is assigned if necessary.
+     */
+    public int indexOf(String name) {
+
+        Integer index = indices.get(name);
+        if (index == null) {
+            index = names.size();
+            indices.put(name, index);
+            names.add(name);
+        }
+        return index;
+    }
+
+    /**
+     * @param name The name of a variable.
+     * @return The index of the variable or -1 if no index has been assigned to it.
+     */
+    public int lookup(String name) {
+
+        Integer index = indices.get(name);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * @param index The index of a variable.
+     * @return The name of the variable with the given index.
+     */
+    public String nameOf(int index) {
+
+        return names.get(index);
+    }
+
+    /**
+     * @return The number of indexed variables.
+     */
+    public int size() {
+
+        return names.size();
+    }
+}
@@ -14,4 +14,13 @@ public interface AbortStrategy {
      */
     void checkAbort(StateSpace stateSpace) throws StateSpaceGenerationAbortedException;
 
+    /**
+     * Is called whenever the generation of a state space is started or continued.
+     *
+     * @param stateSpace The StateSpace whose generation starts.
+     */
+    default void startGeneration(StateSpace stateSpace) {
+
+    }
+
 }
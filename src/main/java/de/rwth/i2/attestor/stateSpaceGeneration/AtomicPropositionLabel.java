@@ -0,0 +1,166 @@
+package de.rwth.i2.attestor.stateSpaceGeneration;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An immutable set of atomic propositions represented as a bitset.
+ * Every atomic proposition is assigned a unique id by a global dictionary and labels are interned,
+ * i.e. states that satisfy the same atomic propositions share a single label object.
+ * Checking whether a label contains an atomic proposition thus only requires a single bit operation.
+ */
+public final class AtomicPropositionLabel {
+
+    public static final AtomicPropositionLabel EMPTY = new AtomicPropositionLabel(new long[0]);
+
+    private static final Map<String, Integer> propositionIds = new ConcurrentHashMap<>();
+    private static final List<String> propositions = new ArrayList<>();
+    private static final Map<AtomicPropositionLabel, AtomicPropositionLabel> labels = new ConcurrentHashMap<>();
+
+    static {
+        labels.put(EMPTY, EMPTY);
+    }
+
+    private final long[] bits;
+    private final int hashCode;
+
+    private AtomicPropositionLabel(long[] bits) {
+
+        this.bits = bits;
+        this.hashCode = Arrays.hashCode(bits);
+    }
+
+    /**
+     * @param proposition An atomic proposition.
+     * @return The unique id of the given atomic proposition. A fresh id is assigned if necessary.
+     */
+    public static int idOf(String proposition) {
+
+        Integer id = propositionIds.get(proposition);
+        if (id != null) {
+            return id;
+        }
+
+        synchronized (propositions) {
+            id = propositionIds.get(proposition);
+            if (id == null) {
+                id = propositions.size();
+                propositions.add(proposition);
+                propositionIds.put(proposition, id);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * @param proposition An atomic proposition.
+     * @return The unique id of the given atomic proposition or -1 if no state has ever been labeled with it.
+     */
+    public static int lookup(String proposition) {
+
+        Integer id = propositionIds.get(proposition);
+        return id == null ? -1 : id;
+    }
+
+    private static String propositionOf(int id) {
+
+        synchronized (propositions) {
+            return propositions.get(id);
+        }
+    }
+
+    private static AtomicPropositionLabel intern(AtomicPropositionLabel label) {
+
+        AtomicPropositionLabel existing = labels.putIfAbsent(label, label);
+        return existing == null ? label : existing;
+    }
+
+    /**
+     * @param propositionId The id of an atomic proposition.
+     * @return True if and only if this label contains the given atomic proposition.
+     */
+    public boolean contains(int propositionId) {
+
+        int word = propositionId >>> 6;
+        return propositionId >= 0 && word < bits.length && (bits[word] & (1L << propositionId)) != 0;
+    }
+
+    /**
+     * @param proposition An atomic proposition.
+     * @return True if and only if this label contains the given atomic proposition.
+     */
+    public boolean contains(String proposition) {
+
+        return contains(lookup(proposition));
+    }
+
+    /**
+     * @param proposition An atomic proposition.
+     * @return The interned label containing all atomic propositions of this label and the given one.
+     */
+    public AtomicPropositionLabel with(String proposition) {
+
+        int id = idOf(proposition);
+        if (contains(id)) {
+            return this;
+        }
+
+        int word = id >>> 6;
+        long[] newBits = Arrays.copyOf(bits, Math.max(bits.length, word + 1));
+        newBits[word] |= 1L << id;
+        return intern(new AtomicPropositionLabel(newBits));
+    }
+
+    /**
+     * @return The number of atomic propositions in this label.
+     */
+    public int size() {
+
+        int result = 0;
+        for (long word : bits) {
+            result += Long.bitCount(word);
+        }
+        return result;
+    }
+
+    /**
+     * @return An unmodifiable set containing all atomic propositions of this label.
+     */
+    public Set<String> toSet() {
+
+        Set<String> result = new LinkedHashSet<>();
+        for (int word = 0; word < bits.length; word++) {
+            long remaining = bits[word];
+            while (remaining != 0) {
+                int bit = Long.numberOfTrailingZeros(remaining);
+                result.add(propositionOf(word * 64 + bit));
+                remaining &= remaining - 1;
+            }
+        }
+        return Collections.unmodifiableSet(result);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+
+        if (this == other) {
+            return true;
+        }
+        if (other == null || other.getClass() != AtomicPropositionLabel.class) {
+            return false;
+        }
+        return Arrays.equals(bits, ((AtomicPropositionLabel) other).bits);
+    }
+
+    @Override
+    public String toString() {
+
+        return toSet().toString();
+    }
+}
@@ -0,0 +1,10 @@
+package de.rwth.i2.attestor.stateSpaceGeneration;
+
+/**
+ * Signals that the generation of a single procedure state space has been aborted while the analysis as a whole
+ * continues. The state space generated so far is kept and its procedure call is reported as aborted.
+ * All other aborts of procedure state spaces stop the analysis.
+ */
+public class ProcedureCallAbortedException extends StateSpaceGenerationAbortedException {
+
+}
@@ -16,4 +16,14 @@ public interface Program {
      */
     int countPredecessors(int programCounter);
 
+    /**
+     * Determines whether the statement at the given program counter lies strictly inside a basic block,
+     * i.e. it has at most one predecessor, exactly one successor and never requires canonicalization.
+     * States located at such a program counter may be executed further without being stored in a state space.
+     *
+     * @param programCounter A program counter.
+     * @return True if and only if the statement at the given program counter is a straight-line statement.
+     */
+    boolean isStraightLine(int programCounter);
+
 }
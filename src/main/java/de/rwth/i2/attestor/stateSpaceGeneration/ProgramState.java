@@ -176,4 +176,12 @@ public interface ProgramState extends Cloneable, LabelledProgramState, State {
 	boolean isContinueState();
 	void flagAsContinueState();
 	void unflagContinueState();
+
+	/**
+	 * determines how many postconditions of the contract matched by the procedure call in this state
+	 * have already been applied to this state. Hence, a continued state only applies new postconditions.
+	 * @return the number of applied postconditions, 0 if the state did not invoke a procedure yet
+	 */
+	int getNumberOfAppliedPostconditions();
+	void setNumberOfAppliedPostconditions(int numberOfAppliedPostconditions);
 }
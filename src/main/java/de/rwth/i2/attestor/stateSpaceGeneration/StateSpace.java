@@ -54,9 +54,55 @@ public interface StateSpace {
 
     ProgramState getState(int id);
 
+    /**
+     * @param state A state that has been added to this state space.
+     * @return True if and only if the state has been replaced by a state subsuming it.
+     *         Such states need not be explored anymore.
+     */
+    default boolean isSubsumed(ProgramState state) {
+
+        return false;
+    }
+
+    /**
+     * Notifies this state space that the successors of the given state are computed.
+     * Afterwards, the given state is never replaced by a state subsuming it.
+     *
+     * @param state A state that has been added to this state space.
+     */
+    default void setExplored(ProgramState state) {
+
+    }
+
     int getMaximalStateSize();
 
     boolean satisfiesAP(int stateId, String expectedAP);
 
+    /**
+     * @param stateId      The id of a state in this state space.
+     * @param propositionId The id of an atomic proposition as determined by {@link AtomicPropositionLabel#lookup(String)}.
+     * @return True if and only if the state is labeled with the atomic proposition.
+     */
+    boolean satisfiesAP(int stateId, int propositionId);
+
+    /**
+     * Converts all transitions into a compact read-only representation.
+     * Afterwards, no further states or transitions may be added.
+     * The transition relations below never freeze the state space; if it has not been frozen, they yield
+     * a snapshot of the transitions added so far that is recomputed by every call.
+     */
+    void freeze();
+
+    TransitionRelation getControlFlowTransitions();
+
+    TransitionRelation getMaterializationTransitions();
+
+    TransitionRelation getArtificialInfPathsTransitions();
+
+    /**
+     * @return The transitions observable by model checking as computed by
+     * {@link TransitionRelation#ofObservableSuccessors}. Frozen state spaces compute them only once.
+     */
+    TransitionRelation getObservableTransitions();
 
 }
@@ -1,7 +1,12 @@
 package de.rwth.i2.attestor.stateSpaceGeneration;
 
 
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
+
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Deque;
 
 /**
  * A StateSpaceGenerator takes an analysis and generates a
@@ -84,6 +89,13 @@ public class StateSpaceGenerator {
 
     boolean alwaysCanonicalize = false;
 
+    /**
+     * If enabled, states produced by straight-line statements are executed further right away instead of
+     * being stored in the state space. States that are labeled with atomic propositions, i.e. states of the
+     * top-level state space, are never skipped since they may be observed by LTL formulae.
+     */
+    boolean straightLineCompression = false;
+
     protected StateSpaceGenerator() {
     }
 
@@ -110,6 +122,7 @@ public class StateSpaceGenerator {
                 .setStateCounter(stateSpaceGenerator.getTotalStatesCounter())
                 .setFinalStateStrategy(stateSpaceGenerator.getFinalStateStrategy())
                 .setAlwaysCanonicalize(stateSpaceGenerator.isAlwaysCanonicalize())
+                .setStraightLineCompression(stateSpaceGenerator.isStraightLineCompression())
                 .setPostProcessingStrategy(stateSpaceGenerator.getPostProcessingStrategy());
     }
 
@@ -117,6 +130,10 @@ public class StateSpaceGenerator {
         return alwaysCanonicalize;
     }
 
+    public boolean isStraightLineCompression() {
+        return straightLineCompression;
+    }
+
     /**
      * @return The strategy determining when state space generation is aborted.
      */
@@ -202,9 +219,14 @@ public class StateSpaceGenerator {
      */
     public StateSpace generate() throws StateSpaceGenerationAbortedException {
 
+        abortStrategy.startGeneration(stateSpace);
         while (stateExplorationStrategy.hasUnexploredStates()) {
 
             ProgramState state = stateExplorationStrategy.getNextUnexploredState();
+            if(stateSpace.isSubsumed(state)) {
+                continue;
+            }
+            stateSpace.setExplored(state);
             state.setContainingStateSpace( this.stateSpace );
 
             if(!checkAbortCriteria(state)) {
@@ -253,7 +275,9 @@ public class StateSpaceGenerator {
 
         while (stateExplorationStrategy.hasUnexploredStates()) {
             ProgramState unexploredState = stateExplorationStrategy.getNextUnexploredState();
-            stateSpace.setAborted(unexploredState);
+            if(!stateSpace.isSubsumed(unexploredState)) {
+                stateSpace.setAborted(unexploredState);
+            }
         }
         assert !stateExplorationStrategy.hasUnexploredStates();
     }
@@ -281,13 +305,18 @@ public class StateSpaceGenerator {
                 semanticsCommand.getPotentialViolationPoints()
         );
 
+        addMaterializedStates(state, materialized);
+        return materialized.isEmpty();
+    }
+
+    private void addMaterializedStates(ProgramState state, Collection<ProgramState> materialized) {
+
         for (ProgramState m : materialized) {
             // performance optimization that prevents isomorphism checks against states in the state space.
             stateSpace.addState(m);
             stateExplorationStrategy.addUnexploredState(m, true);
             stateSpace.addMaterializationTransition(state, m);
         }
-        return materialized.isEmpty();
     }
 
     private void labelWithAtomicPropositions(ProgramState state) {
@@ -297,29 +326,107 @@ public class StateSpaceGenerator {
         }
     }
 
-    private void handleSuccessorState(ProgramState state, ProgramState nextState) {
+    private void handleSuccessorState(ProgramState state, ProgramState nextState)
+            throws StateSpaceGenerationAbortedException {
 
-        SemanticsCommand semanticsCommand = semanticsOf(nextState);
-        nextState = stateRefinementStrategy.refine(semanticsCommand, nextState);
+        // successors of fused states are handled as further successors of the given state
+        Deque<ProgramState> unhandledStates = new ArrayDeque<>();
+        unhandledStates.push(nextState);
+        TIntSet fusedProgramCounters = new TIntHashSet();
 
-        if(needsCanonicalization(semanticsCommand, nextState)) {
-            ProgramState abstractedState = canonicalizationStrategy.canonicalize(nextState);
-            for(ProgramState rectifiedState : stateRectificationStrategy.rectify(abstractedState)) {
-                addOrMergeState(state, rectifiedState);
-            }
-        } else if(state.isContinueState()) {
-            // if the previous state is a procedure invocation continued during fixpoint iteration, 
-        	//we check whether the next state already exists; even if no canonicalization is performed.
-            for(ProgramState rectifiedState : stateRectificationStrategy.rectify(nextState)) {
-                addOrMergeState(state, rectifiedState);
-            }
-        } else {
-            for(ProgramState rectifiedState : stateRectificationStrategy.rectify(nextState)) {
-                addState(state, rectifiedState);
+        while(!unhandledStates.isEmpty()) {
+            ProgramState successorState = unhandledStates.pop();
+            SemanticsCommand semanticsCommand = semanticsOf(successorState);
+            successorState = stateRefinementStrategy.refine(semanticsCommand, successorState);
+
+            if(needsCanonicalization(semanticsCommand, successorState)) {
+                ProgramState abstractedState = canonicalizationStrategy.canonicalize(successorState);
+                for(ProgramState rectifiedState : stateRectificationStrategy.rectify(abstractedState)) {
+                    addOrMergeState(state, rectifiedState);
+                }
+            } else if(state.isContinueState()) {
+                // if the previous state is a procedure invocation continued during fixpoint iteration,
+                //we check whether the next state already exists; even if no canonicalization is performed.
+                for(ProgramState rectifiedState : stateRectificationStrategy.rectify(successorState)) {
+                    addOrMergeState(state, rectifiedState);
+                }
+            } else {
+                for(ProgramState rectifiedState : stateRectificationStrategy.rectify(successorState)) {
+                    if(!fuseStraightLineState(state, rectifiedState, fusedProgramCounters, unhandledStates)) {
+                        addState(state, rectifiedState);
+                    }
+                }
             }
         }
     }
 
+    /**
+     * Executes the statement of a state located inside a basic block right away such that the state itself is
+     * never stored in the state space. The resulting successors are added to the unhandled states and
+     * are then handled as if they were direct successors of the given predecessor state.
+     * Final states, states that may be observed by LTL formulae and states whose program counter has already been
+     * fused since the predecessor state are not fused. The latter ensures that loops consisting of straight-line
+     * statements only still store a state per iteration.
+     * A state requiring materialization is stored together with its materialized states, which are thus
+     * not recomputed once the state is explored.
+     *
+     * @param predecessorState The last state stored in the state space.
+     * @param state The state that would otherwise be stored as successor of predecessorState.
+     * @param fusedProgramCounters The program counters of all states fused since the predecessor state.
+     * @param unhandledStates The states that still have to be handled as successors of predecessorState.
+     * @return True if and only if the state has been handled and thus must not be added to the state space.
+     */
+    private boolean fuseStraightLineState(ProgramState predecessorState, ProgramState state,
+                                          TIntSet fusedProgramCounters, Deque<ProgramState> unhandledStates)
+            throws StateSpaceGenerationAbortedException {
+
+        int programCounter = state.getProgramCounter();
+        if(!straightLineCompression || state.isFromTopLevelStateSpace()
+                || !program.isStraightLine(programCounter) || !fusedProgramCounters.add(programCounter)) {
+            return false;
+        }
+
+        checkAbortDuringFusion(predecessorState);
+
+        state.setContainingStateSpace(stateSpace);
+        SemanticsCommand semanticsCommand = semanticsOf(state);
+        Collection<ProgramState> materialized = materializationStrategy.materialize(
+                state,
+                semanticsCommand.getPotentialViolationPoints()
+        );
+        if(!materialized.isEmpty()) {
+            // the state is stored as if it had been explored already
+            labelWithAtomicPropositions(state);
+            stateSpace.addState(state);
+            stateSpace.addControlFlowTransition(predecessorState, state);
+            addMaterializedStates(state, materialized);
+            return true;
+        }
+
+        Collection<ProgramState> successorStates = semanticsCommand.computeSuccessors(state);
+        if(finalStateStrategy.isFinalState(state, successorStates, semanticsCommand)) {
+            return false;
+        }
+
+        unhandledStates.addAll(successorStates);
+        return true;
+    }
+
+    /**
+     * Fused states are never explored and are thus not checked by {@link #checkAbortCriteria(ProgramState)}.
+     * Since fused states never belong to the top-level state space, an abort is always propagated.
+     */
+    private void checkAbortDuringFusion(ProgramState predecessorState) throws StateSpaceGenerationAbortedException {
+
+        try {
+            abortStrategy.checkAbort(stateSpace);
+        } catch (StateSpaceGenerationAbortedException e) {
+            stateSpace.setAborted(predecessorState);
+            abortRemainingStates();
+            throw e;
+        }
+    }
+
     private boolean needsCanonicalization(SemanticsCommand semanticsCommand, ProgramState state) {
         return alwaysCanonicalize || semanticsCommand.needsCanonicalization()
                 || program.countPredecessors(state.getProgramCounter()) > 1;
@@ -275,4 +275,15 @@ public class StateSpaceGeneratorBuilder {
         return this;
     }
 
+    /**
+     * @param straightLineCompression True if states inside basic blocks should not be stored in
+     *                                the generated state space.
+     * @return The builder.
+     */
+    public StateSpaceGeneratorBuilder setStraightLineCompression(boolean straightLineCompression) {
+
+        generator.straightLineCompression = straightLineCompression;
+        return this;
+    }
+
 }
@@ -0,0 +1,177 @@
+package de.rwth.i2.attestor.stateSpaceGeneration;
+
+import gnu.trove.list.array.TIntArrayList;
+
+/**
+ * A read-only transition relation of a state space stored in compressed sparse row format.
+ * The successors of the state with id s are the targets at positions
+ * begin(s) (inclusive) to end(s) (exclusive).
+ * States with an id that exceeds the largest id known at construction time have no successors.
+ */
+public final class TransitionRelation {
+
+    private final int[] offsets;
+    private final int[] targets;
+
+    private TransitionRelation(int[] offsets, int[] targets) {
+
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    /**
+     * @param stateIdBound   An upper bound (exclusive) on the ids of all states that have successors.
+     * @param successorsOfId A function yielding the successor ids of each state id or null if there are none.
+     * @return The transition relation determined by the given successor function.
+     */
+    public static TransitionRelation of(int stateIdBound, SuccessorFunction successorsOfId) {
+
+        int[] offsets = new int[stateIdBound + 1];
+        TIntArrayList[] successors = new TIntArrayList[stateIdBound];
+        int numberOfTransitions = 0;
+        for (int id = 0; id < stateIdBound; id++) {
+            successors[id] = successorsOfId.get(id);
+            offsets[id] = numberOfTransitions;
+            if (successors[id] != null) {
+                numberOfTransitions += successors[id].size();
+            }
+        }
+        offsets[stateIdBound] = numberOfTransitions;
+
+        int[] targets = new int[numberOfTransitions];
+        for (int id = 0; id < stateIdBound; id++) {
+            if (successors[id] != null) {
+                successors[id].toArray(targets, 0, offsets[id], successors[id].size());
+            }
+        }
+
+        return new TransitionRelation(offsets, targets);
+    }
+
+    /**
+     * Computes the successors observable by model checking, i.e. materialization steps are collapsed into
+     * the control flow steps following them. States without materialization successors keep their control flow
+     * successors and artificial self-loops. The successors of every state are sorted and free of duplicates.
+     *
+     * @param materialization    The materialization transitions of a state space.
+     * @param controlFlow        The control flow transitions of the same state space.
+     * @param artificialInfPaths The artificial transitions of final states of the same state space.
+     * @return The observable transition relation.
+     */
+    public static TransitionRelation ofObservableSuccessors(TransitionRelation materialization,
+                                                            TransitionRelation controlFlow,
+                                                            TransitionRelation artificialInfPaths) {
+
+        int stateIdBound = Math.max(materialization.getStateIdBound(),
+                Math.max(controlFlow.getStateIdBound(), artificialInfPaths.getStateIdBound()));
+
+        return of(stateIdBound, stateId -> {
+            TIntArrayList successors = new TIntArrayList();
+            if (materialization.hasSuccessors(stateId)) {
+                // Every materialization state is followed by a control flow state
+                for (int m = materialization.begin(stateId); m < materialization.end(stateId); m++) {
+                    controlFlow.addSuccessorsTo(successors, materialization.target(m));
+                }
+            } else {
+                controlFlow.addSuccessorsTo(successors, stateId);
+                // In case the state is final
+                artificialInfPaths.addSuccessorsTo(successors, stateId);
+            }
+            if (successors.isEmpty()) {
+                return null;
+            }
+            successors.sort();
+            int size = 1;
+            for (int i = 1; i < successors.size(); i++) {
+                if (successors.get(i) != successors.get(size - 1)) {
+                    successors.set(size++, successors.get(i));
+                }
+            }
+            successors.remove(size, successors.size() - size);
+            return successors;
+        });
+    }
+
+    /**
+     * @param stateId The id of a state.
+     * @return The position of the first successor of the given state.
+     */
+    public int begin(int stateId) {
+
+        if (stateId >= offsets.length - 1) {
+            return targets.length;
+        }
+        return offsets[stateId];
+    }
+
+    /**
+     * @param stateId The id of a state.
+     * @return The position after the last successor of the given state.
+     */
+    public int end(int stateId) {
+
+        if (stateId >= offsets.length - 1) {
+            return targets.length;
+        }
+        return offsets[stateId + 1];
+    }
+
+    /**
+     * @param position A position between begin(s) and end(s) for some state s.
+     * @return The id of the successor state stored at the given position.
+     */
+    public int target(int position) {
+
+        return targets[position];
+    }
+
+    /**
+     * @param stateId The id of a state.
+     * @return True if and only if the given state has at least one successor.
+     */
+    public boolean hasSuccessors(int stateId) {
+
+        return begin(stateId) < end(stateId);
+    }
+
+    /**
+     * @param stateId The id of a state.
+     * @return A fresh list containing all successor ids of the given state.
+     */
+    public TIntArrayList successorsOf(int stateId) {
+
+        int begin = begin(stateId);
+        int end = end(stateId);
+        TIntArrayList result = new TIntArrayList(end - begin);
+        result.add(targets, begin, end - begin);
+        return result;
+    }
+
+    private void addSuccessorsTo(TIntArrayList successors, int stateId) {
+
+        int begin = begin(stateId);
+        successors.add(targets, begin, end(stateId) - begin);
+    }
+
+    /**
+     * @return An upper bound (exclusive) on the ids of all states with successors.
+     */
+    public int getStateIdBound() {
+
+        return offsets.length - 1;
+    }
+
+    /**
+     * @return The total number of transitions.
+     */
+    public int size() {
+
+        return targets.length;
+    }
+
+    @FunctionalInterface
+    public interface SuccessorFunction {
+
+        TIntArrayList get(int stateId);
+    }
+}
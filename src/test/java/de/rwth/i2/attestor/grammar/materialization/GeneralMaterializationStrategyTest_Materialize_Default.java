@@ -18,6 +18,9 @@ import org.junit.Test;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -77,4 +80,31 @@ public class GeneralMaterializationStrategyTest_Materialize_Default {
         assertTrue("second expected materialization", resHCs.contains(hcFactory.getMaterializationRes2()));
     }
 
+    @Test
+    public void testConcurrentMaterialization() throws Exception {
+
+        HeapConfiguration testInput = hcFactory.getMaterializationTest();
+        HeapConfiguration expectedFirst = hcFactory.getMaterializationRes1();
+        HeapConfiguration expectedSecond = hcFactory.getMaterializationRes2();
+        ViolationPoints vio = new ViolationPoints("x", "next");
+
+        // procedure calls analyzed in parallel share a single materialization strategy
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Collection<HeapConfiguration>>> tasks = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                tasks.add(executor.submit(() -> materializer.materialize(testInput, vio)));
+            }
+            for (Future<Collection<HeapConfiguration>> task : tasks) {
+                Collection<HeapConfiguration> res = task.get();
+                assertEquals(2, res.size());
+                assertTrue(res.contains(expectedFirst));
+                assertTrue(res.contains(expectedSecond));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals("input graph should not change", hcFactory.getMaterializationTest(), testInput);
+    }
+
 }
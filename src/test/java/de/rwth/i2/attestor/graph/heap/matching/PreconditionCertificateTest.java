@@ -0,0 +1,52 @@
+package de.rwth.i2.attestor.graph.heap.matching;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.graph.SelectorLabel;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.heap.internal.ExampleHcImplFactory;
+import de.rwth.i2.attestor.graph.heap.internal.InternalHeapConfiguration;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.types.Type;
+import gnu.trove.list.array.TIntArrayList;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PreconditionCertificateTest {
+
+    private final SceneObject sceneObject = new MockupSceneObject();
+    private final ExampleHcImplFactory hcFactory = new ExampleHcImplFactory(sceneObject);
+    private final Type type = sceneObject.scene().getType("type");
+
+    @Test
+    public void testIsomorphicHeapsHaveEqualCertificates() {
+
+        HeapConfiguration first = twoNodes(0, 1, "next");
+        HeapConfiguration second = twoNodes(1, 0, "next");
+
+        assertTrue(new PreconditionChecker(first, second).hasMatching());
+        assertEquals(PreconditionCertificate.of(first), PreconditionCertificate.of(second));
+        assertEquals(PreconditionCertificate.of(hcFactory.getList()), PreconditionCertificate.of(hcFactory.getList()));
+    }
+
+    @Test
+    public void testDifferentHeapsHaveDifferentCertificates() {
+
+        assertNotEquals(PreconditionCertificate.of(twoNodes(0, 1, "next")),
+                PreconditionCertificate.of(twoNodes(0, 1, "prev")));
+        assertNotEquals(PreconditionCertificate.of(hcFactory.getList()),
+                PreconditionCertificate.of(hcFactory.getCyclicList()));
+    }
+
+    private HeapConfiguration twoNodes(int source, int target, String selectorName) {
+
+        SelectorLabel selector = sceneObject.scene().getSelectorLabel(selectorName);
+        TIntArrayList nodes = new TIntArrayList();
+        return new InternalHeapConfiguration().builder()
+                .addNodes(type, 2, nodes)
+                .addSelector(nodes.get(source), selector, nodes.get(target))
+                .addVariableEdge("x", nodes.get(source))
+                .setExternal(nodes.get(target))
+                .build();
+    }
+}
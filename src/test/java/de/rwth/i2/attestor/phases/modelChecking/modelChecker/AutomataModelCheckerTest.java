@@ -0,0 +1,166 @@
+package de.rwth.i2.attestor.phases.modelChecking.modelChecker;
+
+import de.rwth.i2.attestor.LTLFormula;
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl.InternalStateSpace;
+import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
+import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class AutomataModelCheckerTest {
+
+    private SceneObject sceneObject;
+    private HeapConfiguration hc;
+    private AutomataModelChecker modelChecker;
+
+    @Before
+    public void setup() {
+
+        sceneObject = new MockupSceneObject();
+        hc = sceneObject.scene().createHeapConfiguration();
+        modelChecker = new AutomataModelChecker();
+    }
+
+    @Test
+    public void testAndStateform() throws Exception {
+
+        StateSpace stateSpace = createChain("{ dll }", "{ tree }");
+
+        ModelCheckingProof proof = check(stateSpace, "({dll} & {tree})");
+        assertFalse(proof.isSuccessful());
+        assertEquals(Integer.valueOf(0), proof.getFailureTrace().getStateIdTrace().get(0));
+    }
+
+    @Test
+    public void testOrStateform() throws Exception {
+
+        StateSpace stateSpace = createChain("{ dll }", "{ tree }");
+
+        assertTrue(check(stateSpace, "({dll} | {tree})").isSuccessful());
+    }
+
+    @Test
+    public void testNextLtlform() throws Exception {
+
+        assertTrue(check(createChain("{ sll }", "{ dll }"), "X {dll}").isSuccessful());
+        assertFalse(check(createChain("{ dll }", "{ sll }"), "X {dll}").isSuccessful());
+    }
+
+    @Test
+    public void testUntilLtlform() throws Exception {
+
+        StateSpace stateSpace = createChain("{ sll }", "{ sll }", "{ dll }");
+
+        assertTrue(check(stateSpace, "({sll} U {dll})").isSuccessful());
+        assertFalse(check(stateSpace, "({sll} U {tree})").isSuccessful());
+    }
+
+    @Test
+    public void testGloballyOnRing() throws Exception {
+
+        StateSpace stateSpace = createRing("{ dll }", 10);
+
+        assertTrue(check(stateSpace, "G {dll}").isSuccessful());
+    }
+
+    @Test
+    public void testEventuallyOnRing() throws Exception {
+
+        StateSpace stateSpace = createRing("{ dll }", 10);
+
+        ModelCheckingProof proof = check(stateSpace, "F {tree}");
+        assertFalse(proof.isSuccessful());
+
+        // the counterexample is a lasso returning to a state it visited before
+        List<Integer> trace = proof.getFailureTrace().getStateIdTrace();
+        int last = trace.get(trace.size() - 1);
+        assertTrue(trace.subList(0, trace.size() - 1).contains(last));
+    }
+
+    @Test
+    public void testFormulaeNotInPositiveNormalForm() throws Exception {
+
+        StateSpace ring = createRing("{ dll }", 10);
+        StateSpace chain = createChain("{ sll }", "{ dll }");
+
+        String[] formulae = {"G {dll}", "F {tree}", "F {dll}", "! G {sll}", "({sll} -> X {dll})",
+                "! ({sll} -> X {dll})", "G ({dll} -> F {dll})"};
+        for (String formula : formulae) {
+            boolean expected = check(ring, formula).isSuccessful();
+            assertEquals(formula, expected, modelChecker.check(ring, new LTLFormula(formula)).isSuccessful());
+            expected = check(chain, formula).isSuccessful();
+            assertEquals(formula, expected, modelChecker.check(chain, new LTLFormula(formula)).isSuccessful());
+        }
+    }
+
+    /**
+     * Checks the formula by the automata-based model checker and ensures that proof structures yield the same result.
+     * As on the command line, the formula is converted to positive normal form first.
+     */
+    private ModelCheckingProof check(StateSpace stateSpace, String formulaString) throws Exception {
+
+        LTLFormula formula = new LTLFormula(formulaString);
+        formula.toPNF();
+
+        ModelCheckingProof proof = modelChecker.check(stateSpace, formula);
+        ProofStructure proofStructure = new ProofStructure();
+        proofStructure.build(stateSpace, formula);
+
+        assertEquals(proofStructure.isSuccessful(), proof.isSuccessful());
+        assertEquals(proof.isSuccessful(), proof.getFailureTrace() == null);
+        return proof;
+    }
+
+    private StateSpace createChain(String... aps) {
+
+        StateSpace stateSpace = new InternalStateSpace(aps.length);
+        ProgramState previous = null;
+        for (int i = 0; i < aps.length; i++) {
+            ProgramState state = createState(aps[i], i);
+            stateSpace.addStateIfAbsent(state);
+            if (previous == null) {
+                stateSpace.addInitialState(state);
+            } else {
+                stateSpace.addControlFlowTransition(previous, state);
+            }
+            previous = state;
+        }
+        stateSpace.addArtificialInfPathsTransition(previous);
+        return stateSpace;
+    }
+
+    private StateSpace createRing(String ap, int length) {
+
+        StateSpace stateSpace = new InternalStateSpace(length);
+        ProgramState first = null;
+        ProgramState previous = null;
+        for (int i = 0; i < length; i++) {
+            ProgramState state = createState(ap, i);
+            stateSpace.addStateIfAbsent(state);
+            if (previous == null) {
+                first = state;
+                stateSpace.addInitialState(state);
+            } else {
+                stateSpace.addControlFlowTransition(previous, state);
+            }
+            previous = state;
+        }
+        stateSpace.addControlFlowTransition(previous, first);
+        return stateSpace;
+    }
+
+    private ProgramState createState(String ap, int programCounter) {
+
+        ProgramState state = sceneObject.scene().createProgramState(hc);
+        state.addAP(ap);
+        state.setProgramCounter(programCounter);
+        return state;
+    }
+}
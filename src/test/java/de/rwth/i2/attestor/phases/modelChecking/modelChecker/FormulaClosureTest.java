@@ -0,0 +1,71 @@
+package de.rwth.i2.attestor.phases.modelChecking.modelChecker;
+
+import de.rwth.i2.attestor.LTLFormula;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FormulaClosureTest {
+
+    @Test
+    public void testUntilIsUnrolledByNext() throws Exception {
+
+        FormulaClosure closure = new FormulaClosure(new LTLFormula("({sll} U {dll})"));
+
+        int until = closure.getRoot();
+        assertEquals(FormulaClosure.Rule.UNTIL, closure.getRule(until));
+        assertEquals(FormulaClosure.Rule.PROPOSITION, closure.getRule(closure.getLeft(until)));
+        assertEquals(FormulaClosure.Rule.PROPOSITION, closure.getRule(closure.getRight(until)));
+
+        int next = closure.getUnrolled(until);
+        assertEquals(FormulaClosure.Rule.NEXT, closure.getRule(next));
+        assertEquals(until, closure.getLeft(next));
+        assertArrayEquals(new int[]{until}, closure.nextFormulae(new int[]{next}));
+    }
+
+    @Test
+    public void testSuccessorFormulaeAppendNextFormulae() throws Exception {
+
+        FormulaClosure closure = new FormulaClosure(new LTLFormula("({sll} U {dll})"));
+
+        int until = closure.getRoot();
+        int left = closure.getLeft(until);
+        int next = closure.getUnrolled(until);
+
+        // next formulae are appended, all other formulae are prepended
+        assertArrayEquals(new int[]{left, next}, closure.successorFormulae(new int[]{until}, 1, left, next));
+        // formulae that are already contained are skipped
+        assertArrayEquals(new int[]{left, next}, closure.successorFormulae(new int[]{until, left, next}, 1, left));
+    }
+
+    @Test
+    public void testSubformulaeAreShared() throws Exception {
+
+        FormulaClosure closure = new FormulaClosure(new LTLFormula("X ({dll} & {tree})"));
+
+        int next = closure.getRoot();
+        assertEquals(FormulaClosure.Rule.NEXT, closure.getRule(next));
+
+        int[] arguments = closure.nextFormulae(new int[]{next, next});
+        assertEquals(1, arguments.length);
+        assertEquals(FormulaClosure.Rule.AND, closure.getRule(arguments[0]));
+    }
+
+    @Test
+    public void testFormulaeNotInPositiveNormalFormAreRejected() throws Exception {
+
+        for (String formula : new String[]{"G {dll}", "F {dll}", "X ({sll} -> {dll})"}) {
+            try {
+                new FormulaClosure(new LTLFormula(formula));
+                fail("Expected " + formula + " to be rejected.");
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage().contains("positive normal form"));
+            }
+        }
+
+        LTLFormula formula = new LTLFormula("G {dll}");
+        formula.toPNF();
+        FormulaClosure closure = new FormulaClosure(formula);
+        assertEquals(FormulaClosure.Rule.RELEASE, closure.getRule(closure.getRoot()));
+    }
+}
@@ -409,6 +409,64 @@ public class ProofStructureTest extends InternalStateSpace {
         assertFalse(proofStruct.isSuccessful());
     }
 
+    @Test
+    public void buildProofStructureTestUntilWithLongCycle() {
+
+        LTLFormula formula = null;
+        try {
+            formula = new LTLFormula("({dll} U {tree})");
+        } catch (Exception e) {
+            fail("Formula should parse correctly. No Parser and Lexer exception expected!");
+        }
+
+        addRing("{ dll }", 5);
+
+        ProofStructure proofStruct = new ProofStructure();
+        proofStruct.build(this, formula);
+
+        assertFalse(proofStruct.isSuccessful());
+        assertNotNull(proofStruct.getFailureTrace());
+    }
+
+    @Test
+    public void buildProofStructureTestReleaseWithLongCycle() {
+
+        LTLFormula formula = null;
+        try {
+            formula = new LTLFormula("({dll} R {sll})");
+        } catch (Exception e) {
+            fail("Formula should parse correctly. No Parser and Lexer exception expected!");
+        }
+
+        addRing("{ sll }", 5);
+
+        ProofStructure proofStruct = new ProofStructure();
+        proofStruct.setBuildFullStructure();
+        proofStruct.build(this, formula);
+
+        assertTrue(proofStruct.isSuccessful());
+    }
+
+    private void addRing(String ap, int length) {
+
+        ProgramState first = null;
+        ProgramState previous = null;
+        for (int i = 0; i < length; i++) {
+            ProgramState state = sceneObject.scene().createProgramState(hc);
+            state.addAP(ap);
+            state.setProgramCounter(i);
+            this.addStateIfAbsent(state);
+            if (previous == null) {
+                first = state;
+                this.addInitialState(state);
+            } else {
+                this.addControlFlowTransition(previous, state);
+            }
+            previous = state;
+        }
+        this.addControlFlowTransition(previous, first);
+    }
+
     @Test
     public void buildProofStructureTestUntilOrRelease() {
 
@@ -14,6 +14,10 @@ import org.junit.Test;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.Assert.*;
 
@@ -70,6 +74,45 @@ public class InternalContractCollectionTest {
 
     }
 
+    @Test
+    public void testConcurrentlyAddedContractsAreMerged() throws Exception {
+
+        InternalContractCollection contractCollection = new InternalContractCollection(
+                new InternalPreconditionMatchingStrategy()
+        );
+        int numberOfTasks = 8;
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> tasks = new ArrayList<>();
+            for (int i = 0; i < numberOfTasks; i++) {
+                Collection<HeapConfiguration> postconditions = new ArrayList<>();
+                postconditions.add(postconditionWithNodes(i + 1));
+                Contract contract = new InternalContract(simpleGraph(), postconditions);
+                tasks.add(executor.submit(() -> {
+                    contractCollection.addContract(contract);
+                    return contractCollection.matchContract(simpleGraph()).hasMatch();
+                }));
+            }
+            for (Future<Boolean> task : tasks) {
+                assertTrue(task.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Collection<Contract> contracts = contractCollection.getContractsForExport();
+        assertEquals(1, contracts.size());
+        assertEquals(numberOfTasks, contracts.iterator().next().getPostconditions().size());
+    }
+
+    private HeapConfiguration postconditionWithNodes(int numberOfNodes) {
+
+        HeapConfiguration hc = new InternalHeapConfiguration();
+        TIntArrayList nodes = new TIntArrayList();
+        return hc.builder().addNodes(type, numberOfNodes, nodes).build();
+    }
+
     private HeapConfiguration otherSimpleGraphWithSameHash() {
 
         HeapConfiguration hc = new InternalHeapConfiguration();
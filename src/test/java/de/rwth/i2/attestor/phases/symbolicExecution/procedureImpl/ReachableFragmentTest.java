@@ -13,6 +13,7 @@ import de.rwth.i2.attestor.procedures.Contract;
 import de.rwth.i2.attestor.procedures.ContractCollection;
 import de.rwth.i2.attestor.procedures.ContractMatch;
 import de.rwth.i2.attestor.procedures.ScopeExtractor;
+import de.rwth.i2.attestor.procedures.ScopedHeap;
 import de.rwth.i2.attestor.types.Type;
 import de.rwth.i2.attestor.types.Types;
 import gnu.trove.list.array.TIntArrayList;
@@ -21,6 +22,7 @@ import org.junit.Test;
 import java.util.Collections;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class ReachableFragmentTest {
@@ -195,6 +197,17 @@ public class ReachableFragmentTest {
     }
 
 
+    @Test
+    public void testExtractScope_isomorphicInputsShareScope() {
+
+        String variableName = "x";
+        ScopedHeap first = scopeExtractor.extractScope(reachableList(3, variableName));
+        ScopedHeap second = scopeExtractor.extractScope(reachableList(3, variableName));
+        assertSame(first, second);
+
+        performTest(reachableList(3, variableName), reachableList_HeadExternal(3), singleNodeAttached(variableName));
+    }
+
     private void performTest(HeapConfiguration input, HeapConfiguration expectedFragment,
                              HeapConfiguration expectedReplace) {
 
@@ -0,0 +1,144 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.recursive;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.grammar.Grammar;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.heap.internal.ExampleHcImplFactory;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl.InternalContract;
+import de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl.InternalContractCollection;
+import de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl.InternalPreconditionMatchingStrategy;
+import de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl.scopes.DefaultScopeExtractor;
+import de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis.NonRecursiveMethodExecutor;
+import de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis.ProcedureCall;
+import de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl.ProgramImpl;
+import de.rwth.i2.attestor.procedures.Contract;
+import de.rwth.i2.attestor.procedures.Method;
+import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.statements.Skip;
+import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
+import de.rwth.i2.attestor.stateSpaceGeneration.SemanticsCommand;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ContractCheckpointTest {
+
+    private final Grammar grammar = Grammar.builder().build();
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+
+        file = File.createTempFile("attestor-checkpoint", ".bin");
+        file.deleteOnExit();
+        saveFirstRun(false);
+    }
+
+    private void saveFirstRun(boolean isCompleted) {
+
+        SceneObject firstRun = new MockupSceneObject();
+        ExampleHcImplFactory firstFactory = new ExampleHcImplFactory(firstRun);
+        Method firstMethod = registerMethod(firstRun, 1);
+        List<HeapConfiguration> postconditions = new ArrayList<>();
+        postconditions.add(firstFactory.getSimpleDLL());
+        postconditions.add(firstFactory.getTwoElementDLL());
+        HeapConfiguration precondition = firstFactory.getList();
+        firstMethod.addContract(new InternalContract(precondition, postconditions));
+        firstRun.scene().addNumberOfGeneratedStates(42);
+
+        Collection<ProcedureCall> completedCalls = new ArrayList<>();
+        if (isCompleted) {
+            ProgramState input = mock(ProgramState.class);
+            when(input.getHeap()).thenReturn(precondition);
+            ProcedureCall call = mock(ProcedureCall.class);
+            when(call.getMethod()).thenReturn(firstMethod);
+            when(call.getInput()).thenReturn(input);
+            completedCalls.add(call);
+        }
+        new ContractCheckpoint(firstRun, file.getPath(), grammar).save(completedCalls);
+    }
+
+    @Test
+    public void testSaveAndRestore() {
+
+        SceneObject secondRun = new MockupSceneObject();
+        ExampleHcImplFactory secondFactory = new ExampleHcImplFactory(secondRun);
+        HeapConfiguration expectedPrecondition = secondFactory.getList();
+        HeapConfiguration expectedDLL = secondFactory.getSimpleDLL();
+        Method secondMethod = registerMethod(secondRun, 1);
+
+        ContractCheckpoint checkpoint = new ContractCheckpoint(secondRun, file.getPath(), grammar);
+        assertTrue(checkpoint.exists());
+        assertTrue(checkpoint.isCompatible());
+        Map<Method, List<HeapConfiguration>> restored = checkpoint.restore();
+
+        assertEquals(Collections.singletonList(expectedPrecondition), restored.get(secondMethod));
+        // the restored procedure calls are executed again and thus count their states themselves
+        assertEquals(0, secondRun.scene().getNumberOfGeneratedStates());
+
+        Collection<Contract> contracts = secondMethod.getContractsForExport();
+        assertEquals(1, contracts.size());
+        Contract contract = contracts.iterator().next();
+        assertEquals(expectedPrecondition, contract.getPrecondition());
+        assertEquals(2, contract.getPostconditions().size());
+        assertTrue(contract.getPostconditions().contains(expectedDLL));
+    }
+
+    @Test
+    public void testCompletedCallsAreNotExecutedAgain() {
+
+        saveFirstRun(true);
+
+        SceneObject secondRun = new MockupSceneObject();
+        ExampleHcImplFactory secondFactory = new ExampleHcImplFactory(secondRun);
+        HeapConfiguration expectedPrecondition = secondFactory.getList();
+        secondFactory.getSimpleDLL();
+        Method secondMethod = registerMethod(secondRun, 1);
+
+        Map<Method, List<HeapConfiguration>> restored =
+                new ContractCheckpoint(secondRun, file.getPath(), grammar).restore();
+
+        // the contract is restored, but its procedure call is not scheduled again
+        assertTrue(restored.get(secondMethod).isEmpty());
+        Collection<Contract> contracts = secondMethod.getContractsForExport();
+        assertEquals(1, contracts.size());
+        assertEquals(expectedPrecondition, contracts.iterator().next().getPrecondition());
+    }
+
+    @Test
+    public void testChangedProgramIsNotRestored() {
+
+        SceneObject secondRun = new MockupSceneObject();
+        Method secondMethod = registerMethod(secondRun, 2);
+
+        ContractCheckpoint checkpoint = new ContractCheckpoint(secondRun, file.getPath(), grammar);
+        assertFalse(checkpoint.isCompatible());
+        assertTrue(checkpoint.restore().isEmpty());
+        assertTrue(secondMethod.getContractsForExport().isEmpty());
+    }
+
+    private Method registerMethod(SceneObject sceneObject, int numberOfStatements) {
+
+        Method method = sceneObject.scene().getOrCreateMethod("method");
+        List<SemanticsCommand> body = new ArrayList<>();
+        for (int pc = 1; pc < numberOfStatements; pc++) {
+            body.add(new Skip(sceneObject, pc));
+        }
+        body.add(new Skip(sceneObject, -1));
+        method.setBody(new ProgramImpl(body));
+        method.setMethodExecution(new NonRecursiveMethodExecutor(
+                method,
+                new DefaultScopeExtractor(sceneObject, method.getName()),
+                new InternalContractCollection(new InternalPreconditionMatchingStrategy()),
+                null
+        ));
+        return method;
+    }
+}
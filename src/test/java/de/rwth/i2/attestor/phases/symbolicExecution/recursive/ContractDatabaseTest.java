@@ -0,0 +1,165 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.recursive;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.grammar.Grammar;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.heap.internal.ExampleHcImplFactory;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl.InternalContract;
+import de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl.InternalContractCollection;
+import de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl.InternalPreconditionMatchingStrategy;
+import de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl.scopes.DefaultScopeExtractor;
+import de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis.NonRecursiveMethodExecutor;
+import de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl.ProgramImpl;
+import de.rwth.i2.attestor.procedures.Contract;
+import de.rwth.i2.attestor.procedures.Method;
+import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.statements.Skip;
+import de.rwth.i2.attestor.stateSpaceGeneration.SemanticsCommand;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ContractDatabaseTest {
+
+    private final Grammar grammar = Grammar.builder().build();
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+
+        file = File.createTempFile("attestor-contracts", ".bin");
+        file.deleteOnExit();
+
+        SceneObject firstRun = new MockupSceneObject();
+        ExampleHcImplFactory firstFactory = new ExampleHcImplFactory(firstRun);
+        Method firstMethod = registerMethod(firstRun, 1);
+        List<HeapConfiguration> postconditions = new ArrayList<>();
+        postconditions.add(firstFactory.getSimpleDLL());
+        postconditions.add(firstFactory.getTwoElementDLL());
+        firstMethod.addContract(new InternalContract(firstFactory.getList(), postconditions));
+
+        new ContractDatabase(firstRun, file.getPath(), grammar).save();
+    }
+
+    @Test
+    public void testLoadUnchangedMethod() {
+
+        SceneObject secondRun = new MockupSceneObject();
+        ExampleHcImplFactory secondFactory = new ExampleHcImplFactory(secondRun);
+        HeapConfiguration expectedPrecondition = secondFactory.getList();
+        HeapConfiguration expectedDLL = secondFactory.getSimpleDLL();
+        Method secondMethod = registerMethod(secondRun, 1);
+
+        ContractDatabase database = new ContractDatabase(secondRun, file.getPath(), grammar);
+        assertTrue(database.exists());
+        assertEquals(1, database.load());
+        assertEquals(0, database.getNumberOfChangedMethods());
+
+        Collection<Contract> contracts = secondMethod.getContractsForExport();
+        assertEquals(1, contracts.size());
+        Contract contract = contracts.iterator().next();
+        assertEquals(expectedPrecondition, contract.getPrecondition());
+        assertEquals(2, contract.getPostconditions().size());
+        assertTrue(contract.getPostconditions().contains(expectedDLL));
+    }
+
+    @Test
+    public void testChangedMethodIsNotLoaded() {
+
+        SceneObject secondRun = new MockupSceneObject();
+        Method secondMethod = registerMethod(secondRun, 2);
+
+        ContractDatabase database = new ContractDatabase(secondRun, file.getPath(), grammar);
+        assertEquals(0, database.load());
+        assertEquals(1, database.getNumberOfChangedMethods());
+        assertTrue(secondMethod.getContractsForExport().isEmpty());
+    }
+
+    @Test
+    public void testForeignMethodsAreKept() {
+
+        SceneObject otherProgram = new MockupSceneObject();
+        otherProgram.scene().getOrCreateMethod("other").setMethodExecution(
+                new NonRecursiveMethodExecutor(
+                        otherProgram.scene().getOrCreateMethod("other"),
+                        new DefaultScopeExtractor(otherProgram, "other"),
+                        new InternalContractCollection(new InternalPreconditionMatchingStrategy()),
+                        null
+                ));
+        ContractDatabase otherDatabase = new ContractDatabase(otherProgram, file.getPath(), grammar);
+        assertEquals(0, otherDatabase.load());
+        otherDatabase.save();
+
+        SceneObject thirdRun = new MockupSceneObject();
+        // registers the nonterminals occurring in the stored contracts
+        new ExampleHcImplFactory(thirdRun).getSimpleDLL();
+        Method thirdMethod = registerMethod(thirdRun, 1);
+        assertEquals(1, new ContractDatabase(thirdRun, file.getPath(), grammar).load());
+        assertEquals(1, thirdMethod.getContractsForExport().size());
+    }
+
+    @Test
+    public void testContractsWithUnknownNonterminalsAreSkipped() {
+
+        SceneObject secondRun = new MockupSceneObject();
+        Method secondMethod = registerMethod(secondRun, 1);
+
+        ContractDatabase database = new ContractDatabase(secondRun, file.getPath(), grammar);
+        assertEquals(0, database.load());
+        assertEquals(0, database.getNumberOfChangedMethods());
+        assertTrue(secondMethod.getContractsForExport().isEmpty());
+    }
+
+    @Test
+    public void testSatisfiedFormulaeOfUnchangedTopLevel() {
+
+        SceneObject secondRun = new MockupSceneObject();
+        Method secondMethod = registerMethod(secondRun, 1);
+        ContractDatabase secondDatabase = new ContractDatabase(secondRun, file.getPath(), grammar);
+        secondDatabase.load();
+        secondDatabase.setTopLevel(secondMethod, Collections.singleton(new ExampleHcImplFactory(secondRun).getList()));
+        assertFalse(secondDatabase.isSatisfied("G { true }"));
+        secondDatabase.addSatisfied("G { true }");
+        secondDatabase.save();
+
+        SceneObject thirdRun = new MockupSceneObject();
+        Method thirdMethod = registerMethod(thirdRun, 1);
+        ContractDatabase thirdDatabase = new ContractDatabase(thirdRun, file.getPath(), grammar);
+        thirdDatabase.load();
+        thirdDatabase.setTopLevel(thirdMethod, Collections.singleton(new ExampleHcImplFactory(thirdRun).getList()));
+        assertTrue(thirdDatabase.isSatisfied("G { true }"));
+        assertFalse(thirdDatabase.isSatisfied("F { true }"));
+        thirdDatabase.setTopLevel(thirdMethod, Collections.singleton(new ExampleHcImplFactory(thirdRun).getSimpleDLL()));
+        assertFalse(thirdDatabase.isSatisfied("G { true }"));
+
+        SceneObject fourthRun = new MockupSceneObject();
+        Method fourthMethod = registerMethod(fourthRun, 2);
+        ContractDatabase fourthDatabase = new ContractDatabase(fourthRun, file.getPath(), grammar);
+        fourthDatabase.load();
+        fourthDatabase.setTopLevel(fourthMethod, Collections.singleton(new ExampleHcImplFactory(fourthRun).getList()));
+        assertFalse(fourthDatabase.isSatisfied("G { true }"));
+    }
+
+    private Method registerMethod(SceneObject sceneObject, int numberOfStatements) {
+
+        Method method = sceneObject.scene().getOrCreateMethod("method");
+        List<SemanticsCommand> body = new ArrayList<>();
+        for (int i = 1; i < numberOfStatements; i++) {
+            body.add(new Skip(sceneObject, i));
+        }
+        body.add(new Skip(sceneObject, -1));
+        method.setBody(new ProgramImpl(body));
+        method.setMethodExecution(new NonRecursiveMethodExecutor(
+                method,
+                new DefaultScopeExtractor(sceneObject, method.getName()),
+                new InternalContractCollection(new InternalPreconditionMatchingStrategy()),
+                null
+        ));
+        return method;
+    }
+}
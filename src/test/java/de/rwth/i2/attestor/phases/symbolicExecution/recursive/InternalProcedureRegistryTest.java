@@ -0,0 +1,57 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.recursive;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.graph.heap.internal.ExampleHcImplFactory;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl.StateSpaceGeneratorFactory;
+import de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis.InterproceduralAnalysis;
+import de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis.ProcedureCall;
+import de.rwth.i2.attestor.procedures.Method;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class InternalProcedureRegistryTest {
+
+    private final SceneObject sceneObject = new MockupSceneObject();
+    private final ExampleHcImplFactory hcFactory = new ExampleHcImplFactory(sceneObject);
+
+    private InternalProcedureRegistry registry;
+
+    @Before
+    public void setUp() {
+
+        StateSpaceGeneratorFactory factory = mock(StateSpaceGeneratorFactory.class);
+        when(factory.scene()).thenReturn(sceneObject.scene());
+        registry = new InternalProcedureRegistry(new InterproceduralAnalysis(), factory);
+    }
+
+    @Test
+    public void testIsomorphicCallsAreReused() {
+
+        Method method = sceneObject.scene().getOrCreateMethod("method");
+
+        ProcedureCall first = registry.getProcedureCall(method, hcFactory.getList());
+        ProcedureCall second = registry.getProcedureCall(method, hcFactory.getList());
+
+        assertSame(first, second);
+        assertEquals(2, registry.getNumberOfRequestedProcedureCalls());
+        assertEquals(1, registry.getNumberOfReusedProcedureCalls());
+    }
+
+    @Test
+    public void testDifferentCallsAreNotReused() {
+
+        Method method = sceneObject.scene().getOrCreateMethod("method");
+        Method otherMethod = sceneObject.scene().getOrCreateMethod("otherMethod");
+
+        ProcedureCall call = registry.getProcedureCall(method, hcFactory.getList());
+        assertNotSame(call, registry.getProcedureCall(method, hcFactory.getCyclicList()));
+        assertNotSame(call, registry.getProcedureCall(otherMethod, hcFactory.getList()));
+        assertEquals(3, registry.getNumberOfRequestedProcedureCalls());
+        assertEquals(0, registry.getNumberOfReusedProcedureCalls());
+    }
+}
@@ -1,8 +1,10 @@
 package de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
@@ -12,8 +14,14 @@ import static org.mockito.Mockito.when;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
 import de.rwth.i2.attestor.main.scene.Scene;
 import de.rwth.i2.attestor.procedures.ContractCollection;
 import de.rwth.i2.attestor.procedures.ContractMatch;
@@ -97,4 +105,31 @@ public class AbstractInterproceduralMethodExecutorTest {
 		
 	}
 
+	@Test
+	public void testGetPostconditions_WhenContinued_OnlyNewPostconditionsAreMerged() {
+	//given
+		HeapConfiguration post1 = new HeapConfigurationDummy("post1");
+		HeapConfiguration post2 = new HeapConfigurationDummy("post2");
+		HeapConfiguration post3 = new HeapConfigurationDummy("post3");
+		List<HeapConfiguration> postconditions = new ArrayList<>(Arrays.asList(post1, post2));
+		ContractMatch match = mock( ContractMatch.class );
+		when( match.hasMatch() ).thenReturn( true );
+		when( match.getPostconditions() ).thenAnswer( invocation -> new ArrayList<>(postconditions) );
+		when( contractCollection.matchContract(heapInScope)).thenReturn( match );
+
+	//when
+		testSubject.getPostconditions(callingState, scopedHeap );
+		postconditions.add(post3);
+		callingState.flagAsContinueState();
+		testSubject.getPostconditions(callingState, scopedHeap );
+		callingState.unflagContinueState();
+
+	//then
+		ArgumentCaptor<ContractMatch> mergedMatches = ArgumentCaptor.forClass(ContractMatch.class);
+		verify( scopedHeap, times(2) ).merge( mergedMatches.capture() );
+		assertEquals( match, mergedMatches.getAllValues().get(0) );
+		assertEquals( Arrays.asList(post3),
+				new ArrayList<>(mergedMatches.getAllValues().get(1).getPostconditions()) );
+	}
+
 }
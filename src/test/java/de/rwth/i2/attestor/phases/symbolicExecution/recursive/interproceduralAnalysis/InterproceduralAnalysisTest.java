@@ -3,11 +3,19 @@ package de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAn
 import de.rwth.i2.attestor.MockupSceneObject;
 import de.rwth.i2.attestor.main.scene.Scene;
 import de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl.InternalStateSpace;
+import de.rwth.i2.attestor.procedures.Method;
 import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
 import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.*;
 
@@ -92,4 +100,54 @@ public class InterproceduralAnalysisTest {
 		verify( testSubject ).notifyDependencies( any() );
 	}
 
+	@Test
+	public void testRun_CallsOfInnerComponentsAreExecutedFirst() {
+		//given
+		Method caller = SCENE.getOrCreateMethod("caller");
+		Method callee = SCENE.getOrCreateMethod("callee");
+		Map<Method, Integer> componentIndices = new HashMap<>();
+		componentIndices.put(callee, 0);
+		componentIndices.put(caller, 1);
+		testSubject.setComponentIndices(componentIndices);
+
+		ProcedureCall calleeCall = mock(ProcedureCall.class);
+		when( calleeCall.getMethod() ).thenReturn( callee );
+		when( calleeCall.execute() ).thenReturn( ssWithoutFinalStates );
+		ProcedureCall callerCall = mock(ProcedureCall.class);
+		when( callerCall.getMethod() ).thenReturn( caller );
+		when( callerCall.execute() ).thenReturn( ssWithoutFinalStates );
+
+		testSubject.registerProcedureCall(calleeCall);
+		testSubject.registerProcedureCall(callerCall);
+
+		//when
+		testSubject.run();
+
+		//then
+		InOrder inOrder = inOrder( calleeCall, callerCall );
+		inOrder.verify( calleeCall ).execute();
+		inOrder.verify( callerCall ).execute();
+	}
+
+	@Test
+	public void testGetCompletedProcedureCalls_CallersOfPendingCallsAreIncomplete() {
+		//given
+		ProcedureCall pendingCall = mock(ProcedureCall.class);
+		ProcedureCall callerCall = mock(ProcedureCall.class);
+		ProcedureCall completedCall = mock(ProcedureCall.class);
+		StateSpace callerStateSpace = new InternalStateSpace(1);
+
+		testSubject.registerStateSpace(callerCall, callerStateSpace);
+		testSubject.registerStateSpace(completedCall, ssWithFinalStates);
+		testSubject.registerDependency(pendingCall,
+				new FakePartialStateSpace(callerStateSpace, callerStateSpace));
+		testSubject.registerProcedureCall(pendingCall);
+
+		//when
+		Set<ProcedureCall> completedCalls = testSubject.getCompletedProcedureCalls();
+
+		//then
+		assertEquals( Collections.singleton(completedCall), completedCalls );
+	}
+
 }
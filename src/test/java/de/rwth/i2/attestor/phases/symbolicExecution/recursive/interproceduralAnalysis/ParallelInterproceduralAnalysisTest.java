@@ -0,0 +1,92 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.main.scene.Scene;
+import de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl.InternalStateSpace;
+import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
+import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class ParallelInterproceduralAnalysisTest {
+
+	static final Scene SCENE = new MockupSceneObject().scene();
+
+	ParallelInterproceduralAnalysis testSubject;
+	StateSpace ssWithoutFinalStates;
+	private InternalStateSpace ssWithFinalStates;
+
+	@Before
+	public void setUp() throws Exception {
+		testSubject = new ParallelInterproceduralAnalysis(4);
+		ssWithoutFinalStates = new InternalStateSpace(5);
+		ssWithFinalStates = new InternalStateSpace(2);
+		ProgramState state = SCENE.createProgramState();
+		ssWithFinalStates.addState(state);
+		ssWithFinalStates.setFinal(state);
+	}
+
+	@Test
+	public void testRun_IndependentCallsAreExecutedOnce() {
+		//given
+		List<ProcedureCall> calls = new ArrayList<>();
+		for(int i = 0; i < 20; i++) {
+			ProcedureCall call = mock(ProcedureCall.class);
+			when( call.execute() ).thenReturn( new InternalStateSpace(1) );
+			calls.add(call);
+			testSubject.registerProcedureCall(call);
+		}
+
+		//when
+		testSubject.run();
+
+		//then
+		for(ProcedureCall call : calls) {
+			verify( call, times(1) ).execute();
+		}
+	}
+
+	@Test
+	public void testRun_WhenCallGeneratesFinalStates_DependencyIsContinued() {
+		//given
+		ProcedureCall call = mock(ProcedureCall.class);
+		when( call.execute() ).thenReturn( ssWithFinalStates );
+		ProcedureCall caller = mock(ProcedureCall.class);
+		FakePartialStateSpace dependency = new FakePartialStateSpace( ssWithoutFinalStates, ssWithoutFinalStates );
+
+		testSubject.registerStateSpace(caller, ssWithoutFinalStates);
+		testSubject.registerDependency(call, dependency);
+		testSubject.registerProcedureCall(call);
+
+		//when
+		testSubject.run();
+
+		//then
+		assertTrue( dependency.didContinue );
+	}
+
+	@Test
+	public void testRun_WhenCallGeneratesNoFinalStates_DependencyIsNotContinued() {
+		//given
+		ProcedureCall call = mock(ProcedureCall.class);
+		when( call.execute() ).thenReturn( new InternalStateSpace(1) );
+		ProcedureCall caller = mock(ProcedureCall.class);
+		FakePartialStateSpace dependency = new FakePartialStateSpace( ssWithoutFinalStates, ssWithoutFinalStates );
+
+		testSubject.registerStateSpace(caller, ssWithoutFinalStates);
+		testSubject.registerDependency(call, dependency);
+		testSubject.registerProcedureCall(call);
+
+		//when
+		testSubject.run();
+
+		//then
+		assertFalse( dependency.didContinue );
+	}
+}
@@ -0,0 +1,147 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.graph.heap.internal.ExampleHcImplFactory;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
+import de.rwth.i2.attestor.stateSpaceGeneration.TransitionRelation;
+import gnu.trove.list.array.TIntArrayList;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class InternalStateSpaceTest {
+
+    private SceneObject sceneObject;
+    private ExampleHcImplFactory hcFactory;
+
+    @Before
+    public void setup() {
+
+        sceneObject = new MockupSceneObject();
+        hcFactory = new ExampleHcImplFactory(sceneObject);
+    }
+
+    @Test
+    public void testFreeze() {
+
+        InternalStateSpace stateSpace = new InternalStateSpace(10);
+
+        ProgramState initial = sceneObject.scene().createProgramState(hcFactory.getList());
+        initial.setProgramCounter(0);
+        ProgramState materialized = sceneObject.scene().createProgramState(hcFactory.getTwoElementDLL());
+        materialized.setProgramCounter(0);
+        ProgramState last = sceneObject.scene().createProgramState(hcFactory.getSimpleDLL());
+        last.setProgramCounter(1);
+
+        stateSpace.addInitialState(initial);
+        stateSpace.addStateIfAbsent(materialized);
+        stateSpace.addStateIfAbsent(last);
+        stateSpace.addMaterializationTransition(initial, materialized);
+        stateSpace.addControlFlowTransition(materialized, last);
+        stateSpace.addControlFlowTransition(materialized, last);
+        stateSpace.addControlFlowTransition(initial, last);
+        stateSpace.setFinal(last);
+        stateSpace.addArtificialInfPathsTransition(last);
+
+        assertEquals(1, stateSpace.getControlFlowSuccessorsIdsOf(materialized.getStateSpaceId()).size());
+
+        stateSpace.freeze();
+        assertTrue(stateSpace.isFrozen());
+
+        TransitionRelation controlFlow = stateSpace.getControlFlowTransitions();
+        assertEquals(2, controlFlow.size());
+        int materializedId = materialized.getStateSpaceId();
+        assertEquals(1, controlFlow.end(materializedId) - controlFlow.begin(materializedId));
+        assertEquals(last.getStateSpaceId(), controlFlow.target(controlFlow.begin(materializedId)));
+        assertFalse(controlFlow.hasSuccessors(last.getStateSpaceId()));
+
+        TransitionRelation materialization = stateSpace.getMaterializationTransitions();
+        assertEquals(1, materialization.size());
+        assertTrue(materialization.hasSuccessors(initial.getStateSpaceId()));
+
+        TIntArrayList selfLoop = stateSpace.getArtificialInfPathsSuccessorsIdsOf(last.getStateSpaceId());
+        assertEquals(1, selfLoop.size());
+        assertEquals(last.getStateSpaceId(), selfLoop.get(0));
+        assertEquals(1, stateSpace.getControlFlowSuccessorsOf(initial).size());
+    }
+
+    @Test
+    public void testObservableTransitions() {
+
+        InternalStateSpace stateSpace = new InternalStateSpace(10);
+
+        ProgramState initial = sceneObject.scene().createProgramState(hcFactory.getList());
+        initial.setProgramCounter(0);
+        ProgramState firstMaterialized = sceneObject.scene().createProgramState(hcFactory.getTwoElementDLL());
+        firstMaterialized.setProgramCounter(0);
+        ProgramState secondMaterialized = sceneObject.scene().createProgramState(hcFactory.getSimpleDLL());
+        secondMaterialized.setProgramCounter(0);
+        ProgramState last = sceneObject.scene().createProgramState(hcFactory.getList());
+        last.setProgramCounter(1);
+
+        stateSpace.addInitialState(initial);
+        stateSpace.addStateIfAbsent(firstMaterialized);
+        stateSpace.addStateIfAbsent(secondMaterialized);
+        stateSpace.addStateIfAbsent(last);
+        stateSpace.addMaterializationTransition(initial, firstMaterialized);
+        stateSpace.addMaterializationTransition(initial, secondMaterialized);
+        stateSpace.addControlFlowTransition(firstMaterialized, last);
+        stateSpace.addControlFlowTransition(secondMaterialized, last);
+        stateSpace.setFinal(last);
+        stateSpace.addArtificialInfPathsTransition(last);
+
+        // reading transitions does not prevent adding further states
+        TransitionRelation snapshot = stateSpace.getObservableTransitions();
+        assertFalse(stateSpace.isFrozen());
+        assertEquals(4, snapshot.size());
+
+        stateSpace.freeze();
+        TransitionRelation observable = stateSpace.getObservableTransitions();
+        assertSame(observable, stateSpace.getObservableTransitions());
+
+        // both materializations lead to the same state
+        assertEquals(1, observable.successorsOf(initial.getStateSpaceId()).size());
+        assertEquals(last.getStateSpaceId(), observable.successorsOf(initial.getStateSpaceId()).get(0));
+        assertEquals(1, observable.successorsOf(firstMaterialized.getStateSpaceId()).size());
+        // the final state loops
+        assertEquals(last.getStateSpaceId(), observable.successorsOf(last.getStateSpaceId()).get(0));
+        assertEquals(4, observable.size());
+    }
+
+    @Test
+    public void testStateLookupWhileAddingStates() {
+
+        InternalStateSpace stateSpace = new InternalStateSpace(1);
+        List<ProgramState> states = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            ProgramState state = sceneObject.scene().createProgramState(hcFactory.getList());
+            state.setProgramCounter(i);
+            stateSpace.addStateIfAbsent(state);
+            states.add(state);
+            assertSame(state, stateSpace.getState(state.getStateSpaceId()));
+        }
+
+        stateSpace.setFinal(states.get(39));
+        for (ProgramState state : states) {
+            assertSame(state, stateSpace.getState(state.getStateSpaceId()));
+        }
+        assertEquals(Collections.singleton(states.get(39)), stateSpace.getFinalStates());
+        assertNull(stateSpace.getState(40));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testModificationAfterFreeze() {
+
+        InternalStateSpace stateSpace = new InternalStateSpace(10);
+        ProgramState initial = sceneObject.scene().createProgramState(hcFactory.getList());
+        stateSpace.addInitialState(initial);
+        stateSpace.freeze();
+        stateSpace.addControlFlowTransition(initial, initial);
+    }
+}
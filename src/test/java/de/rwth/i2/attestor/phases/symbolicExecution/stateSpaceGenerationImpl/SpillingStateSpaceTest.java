@@ -0,0 +1,155 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.graph.heap.internal.ExampleHcImplFactory;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SpillingStateSpaceTest {
+
+    private SceneObject sceneObject;
+    private ExampleHcImplFactory hcFactory;
+    private SpilledStateStore store;
+
+    @Before
+    public void setup() {
+
+        sceneObject = new MockupSceneObject();
+        hcFactory = new ExampleHcImplFactory(sceneObject);
+        store = new SpilledStateStore(sceneObject);
+    }
+
+    @Test
+    public void testStoreRoundTrip() {
+
+        ProgramState withConstants = sceneObject.scene().createProgramState(hcFactory.getListAndConstants());
+        withConstants.setProgramCounter(7);
+        ProgramState withNonterminals = sceneObject.scene().createProgramState(hcFactory.getSimpleDLL());
+        withNonterminals.setProgramCounter(3);
+
+        long first = store.write(withConstants);
+        long second = store.write(withNonterminals);
+
+        assertEquals(withConstants, store.read(first));
+        assertEquals(withNonterminals, store.read(second));
+        assertEquals(7, store.read(first).getProgramCounter());
+    }
+
+    @Test
+    public void testStoreKeepsContinueFlag() {
+
+        ProgramState state = sceneObject.scene().createProgramState(hcFactory.getList());
+        state.flagAsContinueState();
+
+        assertTrue(store.read(store.write(state)).isContinueState());
+    }
+
+    @Test
+    public void testStoreKeepsNumberOfAppliedPostconditions() {
+
+        ProgramState state = sceneObject.scene().createProgramState(hcFactory.getList());
+        state.setNumberOfAppliedPostconditions(3);
+
+        assertEquals(3, store.read(store.write(state)).getNumberOfAppliedPostconditions());
+    }
+
+    @Test
+    public void testLookupsOfSpilledStatesPreserveIdentity() {
+
+        SpillingStateSpace stateSpace = new SpillingStateSpace(10, 1, store);
+
+        ProgramState initial = sceneObject.scene().createProgramState(hcFactory.getList());
+        initial.setProgramCounter(0);
+        ProgramState next = sceneObject.scene().createProgramState(hcFactory.getTwoElementDLL());
+        next.setProgramCounter(1);
+
+        stateSpace.addInitialState(initial);
+        stateSpace.addStateIfAbsent(next);
+        stateSpace.addControlFlowTransition(initial, next);
+        stateSpace.addControlFlowTransition(next, initial);
+        assertEquals(1, stateSpace.countSpilledStates());
+
+        // the spilled state is still referenced and thus returned itself
+        assertSame(initial, stateSpace.getState(initial.getStateSpaceId()));
+
+        stateSpace.close();
+        // the store is usable again once all of its state spaces have been closed
+        assertEquals(initial, store.read(store.write(initial)));
+    }
+
+    @Test
+    public void testStatesAreNotSpilledDuringTheirExpansion() {
+
+        SpillingStateSpace stateSpace = new SpillingStateSpace(10, 1, store);
+
+        ProgramState initial = sceneObject.scene().createProgramState(hcFactory.getList());
+        initial.setProgramCounter(0);
+        ProgramState next = sceneObject.scene().createProgramState(hcFactory.getTwoElementDLL());
+        next.setProgramCounter(1);
+        ProgramState last = sceneObject.scene().createProgramState(hcFactory.getSimpleDLL());
+        last.setProgramCounter(2);
+
+        stateSpace.addInitialState(initial);
+        stateSpace.setExplored(initial);
+        stateSpace.addStateIfAbsent(next);
+        stateSpace.addControlFlowTransition(initial, next);
+        assertEquals(0, stateSpace.countSpilledStates());
+
+        stateSpace.setExplored(next);
+        assertEquals(1, stateSpace.countSpilledStates());
+
+        // the expanded state is kept in memory although the bound is exceeded
+        next.flagAsContinueState();
+        stateSpace.addStateIfAbsent(last);
+        stateSpace.addControlFlowTransition(next, last);
+        assertEquals(1, stateSpace.countSpilledStates());
+
+        stateSpace.setExplored(last);
+        assertEquals(2, stateSpace.countSpilledStates());
+        assertTrue(stateSpace.getState(next.getStateSpaceId()).isContinueState());
+    }
+
+    @Test
+    public void testSpilledStatesAreRestored() {
+
+        SpillingStateSpace stateSpace = new SpillingStateSpace(10, 1, store);
+
+        ProgramState initial = sceneObject.scene().createProgramState(hcFactory.getList());
+        initial.setProgramCounter(0);
+        initial.addAP("{ sll }");
+        ProgramState middle = sceneObject.scene().createProgramState(hcFactory.getTwoElementDLL());
+        middle.setProgramCounter(1);
+        ProgramState last = sceneObject.scene().createProgramState(hcFactory.getSimpleDLL());
+        last.setProgramCounter(2);
+
+        stateSpace.addInitialState(initial);
+        assertTrue(stateSpace.addStateIfAbsent(middle));
+        stateSpace.addControlFlowTransition(initial, middle);
+        assertTrue(stateSpace.addStateIfAbsent(last));
+        stateSpace.addControlFlowTransition(middle, last);
+        stateSpace.setFinal(last);
+
+        assertEquals(3, stateSpace.size());
+        assertTrue(stateSpace.countSpilledStates() > 0);
+
+        ProgramState restored = stateSpace.getState(initial.getStateSpaceId());
+        assertEquals(initial, restored);
+        assertTrue(restored.getAPs().contains("{ sll }"));
+        assertTrue(stateSpace.satisfiesAP(last.getStateSpaceId(), "{ terminated }"));
+
+        ProgramState copy = sceneObject.scene().createProgramState(hcFactory.getList());
+        copy.setProgramCounter(0);
+        copy.addAP("{ sll }");
+        assertFalse(stateSpace.addStateIfAbsent(copy));
+        assertEquals(initial.getStateSpaceId(), copy.getStateSpaceId());
+
+        assertEquals(3, stateSpace.getStates().size());
+        assertTrue(stateSpace.getStates().contains(initial));
+        assertEquals(1, stateSpace.getControlFlowSuccessorsOf(initial).size());
+        assertTrue(stateSpace.getControlFlowSuccessorsOf(initial).contains(middle));
+    }
+}
@@ -0,0 +1,112 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.heap.internal.ExampleHcImplFactory;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
+import de.rwth.i2.attestor.stateSpaceGeneration.StateCanonicalizationStrategy;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SubsumingStateSpaceTest {
+
+    private SceneObject sceneObject;
+    private ExampleHcImplFactory hcFactory;
+    private SubsumingStateSpace stateSpace;
+
+    @Before
+    public void setup() {
+
+        sceneObject = new MockupSceneObject();
+        hcFactory = new ExampleHcImplFactory(sceneObject);
+
+        // program states extend their heaps by constants; hence, the strategy compares heaps of program states
+        HeapConfiguration concreteHeap = createState(hcFactory.getListRule2()).getHeap();
+        HeapConfiguration abstractHeap = createState(hcFactory.getListRule3()).getHeap();
+        StateCanonicalizationStrategy strategy = new StateCanonicalizationStrategy(null) {
+            @Override
+            public ProgramState canonicalize(ProgramState state) {
+
+                if (state.getHeap().equals(concreteHeap)) {
+                    return state.shallowCopyWithUpdateHeap(abstractHeap);
+                }
+                return state;
+            }
+        };
+        stateSpace = new SubsumingStateSpace(10, strategy);
+    }
+
+    private ProgramState createState(HeapConfiguration heap) {
+
+        ProgramState state = sceneObject.scene().createProgramState(heap);
+        state.setProgramCounter(1);
+        return state;
+    }
+
+    @Test
+    public void testSubsumedStateIsMerged() {
+
+        ProgramState abstractState = createState(hcFactory.getListRule3());
+        assertTrue(stateSpace.addStateIfAbsent(abstractState));
+
+        ProgramState concreteState = createState(hcFactory.getListRule2());
+        assertFalse(stateSpace.addStateIfAbsent(concreteState));
+        assertEquals(abstractState.getStateSpaceId(), concreteState.getStateSpaceId());
+        assertEquals(1, stateSpace.size());
+    }
+
+    @Test
+    public void testSubsumingStateReplacesStoredState() {
+
+        ProgramState initialState = createState(hcFactory.getListRule1());
+        stateSpace.addInitialState(initialState);
+
+        ProgramState concreteState = createState(hcFactory.getListRule2());
+        assertTrue(stateSpace.addStateIfAbsent(concreteState));
+        stateSpace.addControlFlowTransition(initialState, concreteState);
+
+        ProgramState abstractState = createState(hcFactory.getListRule3());
+        assertTrue(stateSpace.addStateIfAbsent(abstractState));
+
+        assertEquals(concreteState.getStateSpaceId(), abstractState.getStateSpaceId());
+        assertTrue(stateSpace.isSubsumed(concreteState));
+        assertFalse(stateSpace.isSubsumed(abstractState));
+        assertEquals(2, stateSpace.size());
+        assertSame(abstractState, stateSpace.getState(abstractState.getStateSpaceId()));
+        assertTrue(stateSpace.getControlFlowSuccessorsOf(initialState).contains(abstractState));
+        assertEquals(1, stateSpace.getNumberOfReplacedStates());
+    }
+
+    @Test
+    public void testExploredStatesAreNotReplaced() {
+
+        ProgramState concreteState = createState(hcFactory.getListRule2());
+        assertTrue(stateSpace.addStateIfAbsent(concreteState));
+        stateSpace.setExplored(concreteState);
+
+        ProgramState abstractState = createState(hcFactory.getListRule3());
+        assertTrue(stateSpace.addStateIfAbsent(abstractState));
+
+        assertNotEquals(concreteState.getStateSpaceId(), abstractState.getStateSpaceId());
+        assertFalse(stateSpace.isSubsumed(concreteState));
+        assertEquals(2, stateSpace.size());
+        assertEquals(0, stateSpace.getNumberOfReplacedStates());
+    }
+
+    @Test
+    public void testInitialStatesAreNotReplaced() {
+
+        ProgramState initialState = createState(hcFactory.getListRule2());
+        stateSpace.addInitialState(initialState);
+
+        ProgramState abstractState = createState(hcFactory.getListRule3());
+        assertTrue(stateSpace.addStateIfAbsent(abstractState));
+
+        assertNotEquals(initialState.getStateSpaceId(), abstractState.getStateSpaceId());
+        assertFalse(stateSpace.isSubsumed(initialState));
+        assertEquals(2, stateSpace.size());
+    }
+}
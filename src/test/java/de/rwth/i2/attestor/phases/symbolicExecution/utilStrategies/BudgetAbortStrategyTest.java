@@ -0,0 +1,76 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.utilStrategies;
+
+import de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl.InternalStateSpace;
+import de.rwth.i2.attestor.stateSpaceGeneration.AbortStrategy;
+import de.rwth.i2.attestor.stateSpaceGeneration.ProcedureCallAbortedException;
+import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
+import de.rwth.i2.attestor.stateSpaceGeneration.StateSpaceGenerationAbortedException;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BudgetAbortStrategyTest {
+
+    @Test
+    public void testNoBudget() throws StateSpaceGenerationAbortedException {
+
+        BudgetAbortStrategy strategy = new BudgetAbortStrategy(new NoAbortStrategy(), 0, 0, 0);
+        StateSpace stateSpace = new InternalStateSpace(10);
+        strategy.startGeneration(stateSpace);
+        for (int i = 0; i < 1000; i++) {
+            strategy.checkAbort(stateSpace);
+        }
+        assertEquals(0, strategy.getNumberOfMemoryAborts());
+        assertEquals(0, strategy.getNumberOfTimeAborts());
+    }
+
+    @Test
+    public void testGenerationTimeBudget() throws InterruptedException, StateSpaceGenerationAbortedException {
+
+        BudgetAbortStrategy strategy = new BudgetAbortStrategy(new NoAbortStrategy(), 0, 5, 0);
+        StateSpace slowStateSpace = new InternalStateSpace(10);
+        strategy.startGeneration(slowStateSpace);
+        Thread.sleep(20);
+
+        StateSpace fastStateSpace = new InternalStateSpace(10);
+        strategy.startGeneration(fastStateSpace);
+        strategy.checkAbort(fastStateSpace);
+
+        try {
+            strategy.checkAbort(slowStateSpace);
+            fail("Expected the generation of the slow state space to be aborted.");
+        } catch (ProcedureCallAbortedException e) {
+            assertEquals(1, strategy.getNumberOfTimeAborts());
+            assertTrue(strategy.getLongestGenerationTime() >= 20);
+        }
+    }
+
+    @Test(expected = ProcedureCallAbortedException.class)
+    public void testTotalTimeBudget() throws InterruptedException, StateSpaceGenerationAbortedException {
+
+        BudgetAbortStrategy strategy = new BudgetAbortStrategy(new NoAbortStrategy(), 0, 0, 5);
+        strategy.startGeneration(new InternalStateSpace(10));
+        Thread.sleep(20);
+
+        StateSpace stateSpace = new InternalStateSpace(10);
+        strategy.startGeneration(stateSpace);
+        strategy.checkAbort(stateSpace);
+    }
+
+    @Test
+    public void testAbortsOfDelegateStopTheAnalysis() {
+
+        AbortStrategy delegate = stateSpace -> {
+            throw new StateSpaceGenerationAbortedException();
+        };
+        BudgetAbortStrategy strategy = new BudgetAbortStrategy(delegate, 0, 0, 0);
+        StateSpace stateSpace = new InternalStateSpace(10);
+        strategy.startGeneration(stateSpace);
+        try {
+            strategy.checkAbort(stateSpace);
+            fail("Expected the delegate to abort.");
+        } catch (StateSpaceGenerationAbortedException e) {
+            assertFalse(e instanceof ProcedureCallAbortedException);
+        }
+    }
+}
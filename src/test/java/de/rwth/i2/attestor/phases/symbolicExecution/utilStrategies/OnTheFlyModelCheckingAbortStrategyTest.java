@@ -0,0 +1,118 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.utilStrategies;
+
+import de.rwth.i2.attestor.LTLFormula;
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl.InternalStateSpace;
+import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
+import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
+import de.rwth.i2.attestor.stateSpaceGeneration.StateSpaceGenerationAbortedException;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class OnTheFlyModelCheckingAbortStrategyTest {
+
+    private final SceneObject sceneObject = new MockupSceneObject();
+    private final HeapConfiguration hc = sceneObject.scene().createHeapConfiguration();
+
+    @Test
+    public void testSatisfiedPartialStateSpace() throws Exception {
+
+        OnTheFlyModelCheckingAbortStrategy strategy = createStrategy("G { dll }");
+        StateSpace stateSpace = new InternalStateSpace(100);
+        strategy.setTopLevelStateSpace(stateSpace);
+        addChain(stateSpace, 100, 100);
+
+        strategy.checkAbort(stateSpace);
+        assertNull(strategy.getViolatedFormula());
+    }
+
+    @Test
+    public void testUnexploredStatesAreNotEvaluated() throws Exception {
+
+        // the last state is neither labeled with dll nor known to be final, because it has not been explored yet
+        OnTheFlyModelCheckingAbortStrategy strategy = createStrategy("({ dll } U { terminated })");
+        StateSpace stateSpace = new InternalStateSpace(100);
+        strategy.setTopLevelStateSpace(stateSpace);
+        addChain(stateSpace, 100, 99);
+
+        strategy.checkAbort(stateSpace);
+        assertNull(strategy.getViolatedFormula());
+    }
+
+    @Test
+    public void testViolationAbortsAllStateSpaces() throws Exception {
+
+        OnTheFlyModelCheckingAbortStrategy strategy = createStrategy("G { dll }");
+        StateSpace stateSpace = new InternalStateSpace(100);
+        strategy.setTopLevelStateSpace(stateSpace);
+        addChain(stateSpace, 100, 50);
+
+        try {
+            strategy.checkAbort(stateSpace);
+            fail("Expected the generation of the top-level state space to be aborted.");
+        } catch (StateSpaceGenerationAbortedException e) {
+            assertNotNull(strategy.getViolatedFormula());
+        }
+
+        try {
+            strategy.checkAbort(new InternalStateSpace(10));
+            fail("Expected the generation of all further state spaces to be aborted.");
+        } catch (StateSpaceGenerationAbortedException e) {
+            assertNotNull(strategy.getViolatedFormula());
+        }
+    }
+
+    @Test
+    public void testFormulaeAreConvertedToPositiveNormalForm() throws Exception {
+
+        LTLFormula formula = new LTLFormula("G { dll }");
+        OnTheFlyModelCheckingAbortStrategy strategy = new OnTheFlyModelCheckingAbortStrategy(new NoAbortStrategy(),
+                Collections.singleton(formula));
+        StateSpace stateSpace = new InternalStateSpace(100);
+        strategy.setTopLevelStateSpace(stateSpace);
+        addChain(stateSpace, 100, 50);
+
+        try {
+            strategy.checkAbort(stateSpace);
+            fail("Expected the generation of the top-level state space to be aborted.");
+        } catch (StateSpaceGenerationAbortedException e) {
+            assertSame(formula, strategy.getViolatedFormula());
+        }
+    }
+
+    private OnTheFlyModelCheckingAbortStrategy createStrategy(String formulaString) throws Exception {
+
+        // formulae passed on the command line are converted to positive normal form
+        LTLFormula formula = new LTLFormula(formulaString);
+        formula.toPNF();
+        return new OnTheFlyModelCheckingAbortStrategy(new NoAbortStrategy(), Collections.singleton(formula));
+    }
+
+    /**
+     * Adds a sequence of states to the given state space. Only the states before the given index are labeled
+     * with the atomic proposition dll.
+     */
+    private void addChain(StateSpace stateSpace, int length, int labeledStates) {
+
+        ProgramState previous = null;
+        for (int i = 0; i < length; i++) {
+            ProgramState state = sceneObject.scene().createProgramState(hc);
+            if (i < labeledStates) {
+                state.addAP("{ dll }");
+            }
+            state.setProgramCounter(i);
+            stateSpace.addStateIfAbsent(state);
+            if (previous == null) {
+                stateSpace.addInitialState(state);
+            } else {
+                stateSpace.addControlFlowTransition(previous, state);
+            }
+            previous = state;
+        }
+    }
+}
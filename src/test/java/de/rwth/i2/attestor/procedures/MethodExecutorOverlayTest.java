@@ -0,0 +1,61 @@
+package de.rwth.i2.attestor.procedures;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+public class MethodExecutorOverlayTest {
+
+    private Method method;
+    private MethodExecutor originalExecutor;
+
+    @Before
+    public void setUp() {
+
+        SceneObject sceneObject = new MockupSceneObject();
+        method = sceneObject.scene().getOrCreateMethod("overlaid");
+        originalExecutor = mock(MethodExecutor.class);
+        method.setMethodExecution(originalExecutor);
+    }
+
+    @Test
+    public void testOverlayIsRestored() {
+
+        MethodExecutor overlaidExecutor = mock(MethodExecutor.class);
+        MethodExecutorOverlay overlay = new MethodExecutorOverlay().put(method, overlaidExecutor);
+
+        MethodExecutor executorInTask = overlay.apply(method::getMethodExecutor);
+
+        assertSame(overlaidExecutor, executorInTask);
+        assertSame(originalExecutor, method.getMethodExecutor());
+    }
+
+    @Test
+    public void testOverlaysOfConcurrentTasks() throws Exception {
+
+        MethodExecutor firstExecutor = mock(MethodExecutor.class);
+        MethodExecutor secondExecutor = mock(MethodExecutor.class);
+        MethodExecutorOverlay first = new MethodExecutorOverlay().put(method, firstExecutor);
+        MethodExecutorOverlay second = new MethodExecutorOverlay().put(method, secondExecutor);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<MethodExecutor> firstTask = executor.submit(() -> first.apply(method::getMethodExecutor));
+            MethodExecutor executorInSecondTask = second.apply(method::getMethodExecutor);
+
+            assertSame(firstExecutor, firstTask.get());
+            assertSame(secondExecutor, executorInSecondTask);
+            assertSame(originalExecutor, method.getMethodExecutor());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -37,4 +37,9 @@ public class ProcedureRegistryStub implements ProcedureRegistry {
 	public void registerStateSpace(ProcedureCall call, StateSpace generatedStateSpace) {
 	}
 
+	@Override
+	public boolean isAborted(ProcedureCall call) {
+		return false;
+	}
+
 }
@@ -6,6 +6,11 @@ import de.rwth.i2.attestor.procedures.Method;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -123,4 +128,61 @@ public class TarjanAlgorithmTest {
 
     }
 
+    @Test
+    public void testTransitiveCallers() {
+
+        TarjanAlgorithm algorithm = new TarjanAlgorithm();
+
+        Method m1 = sceneObject.scene().getOrCreateMethod("caller 1");
+        algorithm.addMethodAsVertex(m1);
+
+        Method m2 = sceneObject.scene().getOrCreateMethod("caller 2");
+        algorithm.addMethodAsVertex(m2);
+        algorithm.addCallEdge(m1, m2);
+        algorithm.addCallEdge(m2, m1);
+
+        Method m3 = sceneObject.scene().getOrCreateMethod("callee");
+        algorithm.addMethodAsVertex(m3);
+        algorithm.addCallEdge(m2, m3);
+
+        Method m4 = sceneObject.scene().getOrCreateMethod("top-level");
+        algorithm.addMethodAsVertex(m4);
+        algorithm.addCallEdge(m4, m1);
+
+        Set<Method> callers = algorithm.getTransitiveCallers(Collections.singleton(m3));
+        assertEquals(4, callers.size());
+
+        callers = algorithm.getTransitiveCallers(Collections.singleton(m4));
+        assertEquals(Collections.singleton(m4), callers);
+    }
+
+    @Test
+    public void testComponentIndices() {
+
+        TarjanAlgorithm algorithm = new TarjanAlgorithm();
+
+        Method m1 = sceneObject.scene().getOrCreateMethod("main");
+        algorithm.addMethodAsVertex(m1);
+
+        Method m2 = sceneObject.scene().getOrCreateMethod("recursive 1");
+        algorithm.addMethodAsVertex(m2);
+        algorithm.addCallEdge(m1, m2);
+
+        Method m3 = sceneObject.scene().getOrCreateMethod("recursive 2");
+        algorithm.addMethodAsVertex(m3);
+        algorithm.addCallEdge(m2, m3);
+        algorithm.addCallEdge(m3, m2);
+
+        Method m4 = sceneObject.scene().getOrCreateMethod("leaf");
+        algorithm.addMethodAsVertex(m4);
+        algorithm.addCallEdge(m3, m4);
+
+        algorithm.markRecursiveMethods();
+        Map<Method, Integer> components = algorithm.getComponentIndices();
+
+        assertEquals(components.get(m2), components.get(m3));
+        assertTrue(components.get(m4) < components.get(m2));
+        assertTrue(components.get(m2) < components.get(m1));
+    }
+
 }
@@ -0,0 +1,48 @@
+package de.rwth.i2.attestor.semantics.util;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class LiveVariablesTest {
+
+    @Test
+    public void testDeadVariables() {
+
+        LiveVariables liveVariables = LiveVariables.of(new HashSet<>(Arrays.asList("x", "y")));
+
+        assertTrue(liveVariables.isLive("x"));
+        assertFalse(liveVariables.isLive("z"));
+
+        Set<String> dead = liveVariables.deadVariablesOf("x.next", "z == y", "w");
+        assertEquals(new HashSet<>(Arrays.asList("z", "w")), dead);
+    }
+
+    @Test
+    public void testLookupsDoNotExtendIndex() {
+
+        VariableIndex index = new VariableIndex();
+        BitSet live = new BitSet();
+        live.set(index.indexOf("x"));
+        index.indexOf("y");
+        LiveVariables liveVariables = new LiveVariables(index, live);
+
+        assertEquals(new HashSet<>(Arrays.asList("y", "z")), liveVariables.deadVariablesOf("x = y", "z"));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void testConstantsAreNeverDead() {
+
+        LiveVariables liveVariables = LiveVariables.of(Collections.emptySet());
+
+        assertEquals(Collections.emptySet(), liveVariables.deadVariablesOf("null"));
+        assertEquals(Collections.singleton("x"), liveVariables.deadVariablesOf("null", "x != null"));
+    }
+}
@@ -0,0 +1,48 @@
+package de.rwth.i2.attestor.stateSpace;
+
+import de.rwth.i2.attestor.stateSpaceGeneration.AtomicPropositionLabel;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AtomicPropositionLabelTest {
+
+    @Test
+    public void testInterning() {
+
+        AtomicPropositionLabel first = AtomicPropositionLabel.EMPTY.with("{ sll }").with("{ terminated }");
+        AtomicPropositionLabel second = AtomicPropositionLabel.EMPTY.with("{ terminated }").with("{ sll }");
+
+        assertSame(first, second);
+        assertSame(first, first.with("{ sll }"));
+        assertEquals(2, first.size());
+        assertTrue(first.toSet().contains("{ sll }"));
+        assertTrue(first.toSet().contains("{ terminated }"));
+    }
+
+    @Test
+    public void testContains() {
+
+        AtomicPropositionLabel label = AtomicPropositionLabel.EMPTY.with("{ dll }");
+
+        assertTrue(label.contains("{ dll }"));
+        assertTrue(label.contains(AtomicPropositionLabel.lookup("{ dll }")));
+        assertFalse(label.contains("{ never used proposition }"));
+        assertEquals(-1, AtomicPropositionLabel.lookup("{ never used proposition }"));
+        assertFalse(label.contains(-1));
+        assertFalse(AtomicPropositionLabel.EMPTY.contains("{ dll }"));
+    }
+
+    @Test
+    public void testManyPropositions() {
+
+        AtomicPropositionLabel label = AtomicPropositionLabel.EMPTY;
+        for (int i = 0; i < 130; i++) {
+            label = label.with("{ ap" + i + " }");
+        }
+
+        assertEquals(130, label.size());
+        assertTrue(label.contains("{ ap0 }"));
+        assertTrue(label.contains("{ ap129 }"));
+    }
+}
@@ -204,4 +204,65 @@ public class StateSpaceGeneratorTest {
             }
         }
     }
+
+    @Test
+    public void testStraightLineCompression() {
+
+        HeapConfiguration initialGraph = hcFactory.getTwoElementDLL();
+
+        List<SemanticsCommand> programInstructions = new ArrayList<>();
+        programInstructions.add(new Skip(sceneObject, 1));
+        programInstructions.add(new Skip(sceneObject, 2));
+        programInstructions.add(new Skip(sceneObject, 3));
+        programInstructions.add(new ReturnVoidStmt(sceneObject));
+        ProgramImpl mainProgram = new ProgramImpl(programInstructions);
+
+        assertTrue(mainProgram.isStraightLine(1));
+        assertFalse(mainProgram.isStraightLine(3));
+
+        ProgramState initialState = new DefaultProgramState(initialGraph);
+        StateSpace res = null;
+        try {
+            res = stateSpaceGeneratorBuilder
+                    .setProgram(mainProgram)
+                    .setStraightLineCompression(true)
+                    .addInitialState(initialState)
+                    .build()
+                    .generate();
+        } catch (StateSpaceGenerationAbortedException e) {
+            fail("State space generation aborted");
+        }
+
+        // only the initial state, the state before returning and the final state are stored
+        assertEquals(3, res.getStates().size());
+        assertEquals(1, res.getFinalStates().size());
+        assertEquals(initialGraph, res.getFinalStates().iterator().next().getHeap());
+
+        ProgramState initial = res.getInitialStates().iterator().next();
+        ProgramState successor = res.getControlFlowSuccessorsOf(initial).iterator().next();
+        assertEquals(3, successor.getProgramCounter());
+    }
+
+    @Test(expected = StateSpaceGenerationAbortedException.class)
+    public void testStraightLineCompressionOfLoop() throws StateSpaceGenerationAbortedException {
+
+        HeapConfiguration initialGraph = hcFactory.getTwoElementDLL();
+
+        // both statements are straight-line statements, but form an infinite loop
+        List<SemanticsCommand> programInstructions = new ArrayList<>();
+        programInstructions.add(new Skip(sceneObject, 1));
+        programInstructions.add(new Skip(sceneObject, 0));
+        ProgramImpl mainProgram = new ProgramImpl(programInstructions);
+
+        assertTrue(mainProgram.isStraightLine(0));
+        assertTrue(mainProgram.isStraightLine(1));
+
+        stateSpaceGeneratorBuilder
+                .setProgram(mainProgram)
+                .setStraightLineCompression(true)
+                .setAbortStrategy(new StateSpaceBoundedAbortStrategy(10, 100))
+                .addInitialState(new DefaultProgramState(initialGraph))
+                .build()
+                .generate();
+    }
 }